@@ -0,0 +1,119 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks.crypto;
+
+import com.itextpdf.kernel.crypto.securityhandler.StandardHandlerUsingAes256;
+import com.itextpdf.kernel.pdf.EncryptionConstants;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the key derivation of {@link StandardHandlerUsingAes256}, which is done once per document,
+ * both when a document is encrypted and when an encrypted document is opened with a password.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class Aes256KeyDerivationBenchmark {
+
+    private byte[] userPassword;
+    private byte[] ownerPassword;
+    private PdfDictionary encryptionDictionary;
+
+    @Setup
+    public void setup() throws IOException {
+        userPassword = EncryptionFactory.USER_PASSWORD.getBytes();
+        ownerPassword = EncryptionFactory.OWNER_PASSWORD.getBytes();
+
+        // the encryption dictionary shall be read from a document, the one being written holds literals instead of strings
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WriterProperties writerProperties = new WriterProperties()
+                .setStandardEncryption(userPassword, ownerPassword, EncryptionConstants.ALLOW_PRINTING, EncryptionConstants.ENCRYPTION_AES_256);
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, writerProperties));
+        pdfDocument.addNewPage();
+        pdfDocument.close();
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray()), new ReaderProperties().setPassword(userPassword)));
+        encryptionDictionary = pdfDocument.getTrailer().getAsDictionary(PdfName.Encrypt);
+        new StandardHandlerUsingAes256(encryptionDictionary, userPassword);
+        pdfDocument.close();
+    }
+
+    @Benchmark
+    public StandardHandlerUsingAes256 encryptDocument() {
+        return new StandardHandlerUsingAes256(new PdfDictionary(), userPassword, ownerPassword, EncryptionConstants.ALLOW_PRINTING, true, false);
+    }
+
+    @Benchmark
+    public StandardHandlerUsingAes256 openWithUserPassword() {
+        return new StandardHandlerUsingAes256(encryptionDictionary, userPassword);
+    }
+
+    @Benchmark
+    public StandardHandlerUsingAes256 openWithOwnerPassword() {
+        return new StandardHandlerUsingAes256(encryptionDictionary, ownerPassword);
+    }
+}
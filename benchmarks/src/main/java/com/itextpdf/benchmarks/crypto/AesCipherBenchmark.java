@@ -0,0 +1,140 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks.crypto;
+
+import com.itextpdf.kernel.crypto.AESCipher;
+import com.itextpdf.kernel.crypto.BouncyCastleAesCipherBackend;
+import com.itextpdf.kernel.crypto.IAesCipherBackend;
+import com.itextpdf.kernel.crypto.JceAesCipherBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the {@link AESCipher} backends.
+ * <p>
+ * One operation processes {@link #CHUNK_SIZE one MiB} of a document, so the score in ops/s is the
+ * throughput in MiB/s. The cipher is recreated after every {@code documentSize} MiB, as it would be
+ * for the next stream of the document.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class AesCipherBenchmark {
+
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    @Param({"BOUNCY_CASTLE", "JCE"})
+    public String backend;
+
+    @Param({"128", "256"})
+    public int keyLength;
+
+    /**
+     * The size of a document in MiB.
+     */
+    @Param({"1024"})
+    public int documentSize;
+
+    private IAesCipherBackend cipherBackend;
+    private byte[] key;
+    private byte[] iv;
+    private byte[] input;
+    private byte[] output;
+    private AESCipher encryptor;
+    private AESCipher decryptor;
+    private int processedChunks;
+
+    @Setup
+    public void setup() {
+        cipherBackend = "JCE".equals(backend) ? new JceAesCipherBackend() : new BouncyCastleAesCipherBackend();
+        Random random = new Random(42);
+        key = new byte[keyLength / 8];
+        random.nextBytes(key);
+        iv = new byte[16];
+        random.nextBytes(iv);
+        input = new byte[CHUNK_SIZE];
+        random.nextBytes(input);
+        output = new byte[CHUNK_SIZE + 32];
+    }
+
+    @Benchmark
+    public int encrypt() {
+        if (encryptor == null || nextChunk()) {
+            encryptor = new AESCipher(true, key, iv, cipherBackend);
+        }
+        return encryptor.update(input, 0, CHUNK_SIZE, output, 0);
+    }
+
+    @Benchmark
+    public int decrypt() {
+        if (decryptor == null || nextChunk()) {
+            decryptor = new AESCipher(false, key, iv, cipherBackend);
+        }
+        // CBC decryption doesn't depend on the validity of the data, so the random chunk serves as the cipher text
+        return decryptor.update(input, 0, CHUNK_SIZE, output, 0);
+    }
+
+    private boolean nextChunk() {
+        if (++processedChunks == documentSize) {
+            processedChunks = 0;
+            return true;
+        }
+        return false;
+    }
+}
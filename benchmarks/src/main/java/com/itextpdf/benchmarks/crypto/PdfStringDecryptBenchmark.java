@@ -0,0 +1,129 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks.crypto;
+
+import com.itextpdf.kernel.pdf.PdfEncryption;
+import com.itextpdf.kernel.pdf.PdfString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PdfString} decryption, which the parser performs for every string of an encrypted document.
+ * The encryption and the encrypted string are prepared once, so only the decryption of the string,
+ * including the computation of its object key, is timed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PdfStringDecryptBenchmark {
+
+    private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes();
+
+    @Param({"STANDARD_ENCRYPTION_40", "STANDARD_ENCRYPTION_128", "ENCRYPTION_AES_128", "ENCRYPTION_AES_256"})
+    public String encryption;
+
+    @Param({"16", "256"})
+    public int stringLength;
+
+    private PdfEncryption pdfEncryption;
+    private byte[] encryptedContent;
+    private EncryptedString string;
+
+    @Setup
+    public void setup() {
+        pdfEncryption = EncryptionFactory.createEncryption(encryption);
+        byte[] value = new byte[stringLength];
+        new Random(stringLength).nextBytes(value);
+        // the string is decrypted as a direct object, i.e. with the key of object 0 0
+        pdfEncryption.setHashKeyForNextObject(0, 0);
+        encryptedContent = toHex(pdfEncryption.encryptByteArray(value));
+        string = new EncryptedString(encryptedContent);
+    }
+
+    @Benchmark
+    public PdfString decrypt() {
+        return string.decrypt(pdfEncryption, encryptedContent);
+    }
+
+    private static byte[] toHex(byte[] bytes) {
+        byte[] hex = new byte[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+        return hex;
+    }
+
+    /**
+     * Gives access to the decryption the parser uses, which is not public API. The same instance is
+     * decrypted again and again by restoring its encrypted content.
+     */
+    private static class EncryptedString extends PdfString {
+
+        EncryptedString(byte[] encryptedContent) {
+            super(encryptedContent, true);
+        }
+
+        PdfString decrypt(PdfEncryption pdfEncryption, byte[] encryptedContent) {
+            content = encryptedContent;
+            value = null;
+            return decrypt(pdfEncryption);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks.parser;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PdfCanvasProcessor} on a page of text and path operators. One operation is one operator,
+ * so with {@code -prof gc} the {@code gc.alloc.rate.norm} metric is the number of bytes allocated per operator.
+ * <p>
+ * {@code reuseOperands=false} is the allocation profile of the classic operand list, {@code reuseOperands=true}
+ * the one of the reused number operands. Comparing the results of {@link com.itextpdf.benchmarks.BenchmarkRunner}
+ * across releases shows the effect of the operator dispatch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PdfCanvasProcessorBenchmark {
+
+    /**
+     * The number of lines on the page. Every line consists of {@link #OPERATORS_PER_LINE} operators.
+     */
+    static final int LINES = 1000;
+    static final int OPERATORS_PER_LINE = 11;
+
+    @Param({"false", "true"})
+    public boolean reuseOperands;
+
+    private PdfDocument pdfDocument;
+    private byte[] content;
+    private PdfResources resources;
+    private PdfCanvasProcessor processor;
+
+    @Setup
+    public void setup() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos));
+        PdfPage page = document.addNewPage();
+        PdfName font = page.getResources().addFont(document, PdfFontFactory.createFont(FontConstants.HELVETICA));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            int y = 800 - i % 130 * 6;
+            text.append("q 0.5 0 0 0.5 10 10 cm 0 0 1 rg 36 ").append(y).append(" 200 5 re f Q ")
+                    .append("BT /").append(font.getValue()).append(" 6 Tf 36 ").append(y)
+                    .append(" Td (Line number ").append(i).append(") Tj ET\n");
+        }
+        page.getFirstContentStream().getOutputStream().writeString(text.toString());
+        document.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        page = pdfDocument.getPage(1);
+        content = page.getContentBytes();
+        resources = page.getResources();
+        processor = new PdfCanvasProcessor(new CountingEventListener()).setReuseOperands(reuseOperands);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pdfDocument.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES * OPERATORS_PER_LINE)
+    public void processContent() {
+        processor.reset();
+        processor.processContent(content, resources);
+    }
+
+    private static class CountingEventListener implements IEventListener {
+
+        private int events;
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            events++;
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.forms;
+
+import com.itextpdf.forms.fields.PdfFormField;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.color.Color;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills many documents that are made from the same template form.
+ * <br><br>
+ * The template is read once: its bytes are shared by all the documents, and the
+ * appearance layout of every text and choice field, i.e. the font, font size and
+ * color of its default appearance string, is parsed up front. When a document is
+ * filled, the layouts are used instead of parsing <code>/DA</code> again, and each
+ * font is created once per document instead of once per field. Values that are equal
+ * to the value of the field in the template are skipped, so their appearances are
+ * kept as they are.
+ * <br><br>
+ * Independent documents can be filled on several threads with {@link #fillAll(Map)}.
+ */
+public class BulkFormFiller {
+
+    private final byte[] template;
+
+    private final Map<String, FieldLayout> layouts;
+
+    private final Map<String, String> templateValues;
+
+    private boolean flatten;
+
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a filler for the template form in the given file.
+     *
+     * @param templatePath the path of the template form
+     * @throws IOException if the template cannot be read
+     */
+    public BulkFormFiller(String templatePath) throws IOException {
+        this(readFile(templatePath));
+    }
+
+    /**
+     * Creates a filler for the given template form.
+     *
+     * @param template the bytes of the template form, which shall not be changed afterwards
+     * @throws IOException if the template cannot be read
+     */
+    public BulkFormFiller(byte[] template) throws IOException {
+        this.template = template;
+        Map<String, FieldLayout> layouts = new HashMap<>();
+        Map<String, String> templateValues = new HashMap<>();
+        PdfDocument document = new PdfDocument(createReader());
+        PdfAcroForm form = PdfAcroForm.getAcroForm(document, false);
+        if (form != null) {
+            for (Map.Entry<String, PdfFormField> entry : form.getFormFields().entrySet()) {
+                PdfFormField field = entry.getValue();
+                templateValues.put(entry.getKey(), field.getValueAsString());
+                FieldLayout layout = createLayout(field);
+                if (layout != null) {
+                    layouts.put(entry.getKey(), layout);
+                }
+            }
+        }
+        document.close();
+        this.layouts = Collections.unmodifiableMap(layouts);
+        this.templateValues = Collections.unmodifiableMap(templateValues);
+    }
+
+    /**
+     * Sets whether the fields are flattened after filling, see {@link PdfAcroForm#flattenFieldsPageByPage()}.
+     *
+     * @param flatten true to flatten the filled form
+     * @return this filler
+     */
+    public BulkFormFiller setFlatten(boolean flatten) {
+        this.flatten = flatten;
+        return this;
+    }
+
+    /**
+     * Sets the number of documents that are filled at the same time by {@link #fillAll(Map)}. By default it is
+     * the number of available processors.
+     *
+     * @param threadCount the number of threads
+     * @return this filler
+     */
+    public BulkFormFiller setThreadCount(int threadCount) {
+        this.threadCount = Math.max(threadCount, 1);
+        return this;
+    }
+
+    /**
+     * Fills a copy of the template and writes it to the given stream, which is closed afterwards,
+     * also when the filling fails.
+     * Fields which are not present in the template are ignored.
+     *
+     * @param values the field names mapped to their new values
+     * @param os the stream to write the filled document to
+     * @throws IOException if the document cannot be written
+     */
+    public void fill(Map<String, String> values, OutputStream os) throws IOException {
+        try {
+            PdfDocument document = new PdfDocument(createReader(), new PdfWriter(os));
+            PdfAcroForm form = PdfAcroForm.getAcroForm(document, false);
+            if (form != null) {
+                Map<PdfDictionary, PdfFont> fonts = new HashMap<>();
+                for (Map.Entry<String, String> entry : values.entrySet()) {
+                    String value = entry.getValue();
+                    PdfFormField field = form.getField(entry.getKey());
+                    if (field == null || value == null || value.equals(templateValues.get(entry.getKey()))) {
+                        continue;
+                    }
+                    FieldLayout layout = layouts.get(entry.getKey());
+                    PdfFont font = layout != null ? getFont(field, layout, fonts) : null;
+                    if (font != null) {
+                        field.setValue(value, font, layout.fontSize, layout.color);
+                    } else {
+                        field.setValue(value);
+                    }
+                }
+                if (flatten) {
+                    form.flattenFieldsPageByPage();
+                }
+            }
+            document.close();
+        } finally {
+            // closing the document closes the stream too, but not when opening or filling it fails
+            os.close();
+        }
+    }
+
+    /**
+     * Fills a batch of documents.
+     *
+     * @param documents the names of the filled files mapped to the values of their fields
+     * @return the names of the files that could not be filled mapped to the cause, empty if all the
+     * documents were filled
+     */
+    public Map<String, Exception> fillAll(Map<String, Map<String, String>> documents) {
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(Math.min(threadCount, documents.size()), 1));
+        try {
+            Map<String, Future<Object>> futures = new LinkedHashMap<>();
+            for (final Map.Entry<String, Map<String, String>> document : documents.entrySet()) {
+                futures.put(document.getKey(), executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        fill(document.getValue(), new FileOutputStream(document.getKey()));
+                        return null;
+                    }
+                }));
+            }
+            for (Map.Entry<String, Future<Object>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (ExecutionException e) {
+                    failures.put(future.getKey(), e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.IoException, e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures;
+    }
+
+    private PdfReader createReader() throws IOException {
+        // the array source does not copy the template, so all the documents share it
+        return new PdfReader(new RandomAccessSourceFactory().createSource(template), new ReaderProperties());
+    }
+
+    /**
+     * Gets the font of a field as {@link PdfFormField#regenerateField()} would choose it, but creates each font
+     * only once per document.
+     */
+    private static PdfFont getFont(PdfFormField field, FieldLayout layout, Map<PdfDictionary, PdfFont> fonts) throws IOException {
+        PdfDictionary fontDictionary = null;
+        if (layout.fontName != null) {
+            PdfDictionary fontResources = getFontResources(field);
+            fontDictionary = fontResources != null ? fontResources.getAsDictionary(layout.fontName) : null;
+            if (fontDictionary == null) {
+                return null;
+            }
+        }
+        PdfFont font = fonts.get(fontDictionary);
+        if (font == null) {
+            font = fontDictionary != null ? PdfFontFactory.createFont(fontDictionary) : PdfFontFactory.createFont();
+            fonts.put(fontDictionary, font);
+        }
+        return font;
+    }
+
+    private static FieldLayout createLayout(PdfFormField field) {
+        PdfName formType = field.getFormType();
+        if (!PdfName.Tx.equals(formType) && !PdfName.Ch.equals(formType) || field.getKids() != null) {
+            return null;
+        }
+        if (getFontResources(field) == null) {
+            return new FieldLayout(null, PdfFormField.DEFAULT_FONT_SIZE, null);
+        }
+        PdfString da = field.getDefaultAppearance();
+        if (da == null) {
+            return null;
+        }
+        Object[] elements = PdfFormField.splitDAelements(da.toUnicodeString());
+        if (elements[PdfFormField.DA_FONT] == null) {
+            return null;
+        }
+        return new FieldLayout(new PdfName(elements[PdfFormField.DA_FONT].toString()),
+                (int) elements[PdfFormField.DA_SIZE], (Color) elements[PdfFormField.DA_COLOR]);
+    }
+
+    private static PdfDictionary getFontResources(PdfFormField field) {
+        PdfDictionary ap = field.getPdfObject().getAsDictionary(PdfName.AP);
+        PdfStream normal = ap != null ? ap.getAsStream(PdfName.N) : null;
+        PdfDictionary resources = normal != null ? normal.getAsDictionary(PdfName.Resources) : null;
+        return resources != null ? resources.getAsDictionary(PdfName.Font) : null;
+    }
+
+    private static byte[] readFile(String path) throws IOException {
+        InputStream is = new FileInputStream(path);
+        try {
+            return StreamUtil.inputStreamToArray(is);
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * The font, font size and color of the default appearance of a field in the template.
+     */
+    private static class FieldLayout {
+
+        private final PdfName fontName;
+
+        private final int fontSize;
+
+        private final Color color;
+
+        FieldLayout(PdfName fontName, int fontSize, Color color) {
+            this.fontName = fontName;
+            this.fontSize = fontSize;
+            this.color = color;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.forms;
+
+import com.itextpdf.forms.fields.PdfFormField;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hierarchical index of the fully qualified names of form fields. The names are split into
+ * their partial names, which form a tree, so that a field and all the fields below it are found
+ * by walking down as many nodes as the name has partial names, and enumerated in time proportional
+ * to their number. The fields are also indexed by their last partial name.
+ */
+class FieldNameIndex {
+
+    private static final char SEPARATOR = '.';
+
+    private final Node root = new Node(null, null);
+
+    private final Map<String, Set<Node>> partialNames = new HashMap<>();
+
+    /**
+     * Adds a field, replacing the field that was indexed under the same name, if any.
+     *
+     * @param name the fully qualified name of the field
+     * @param field the field
+     */
+    void add(String name, PdfFormField field) {
+        Node node = root;
+        int start = 0;
+        while (start <= name.length()) {
+            int end = name.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = name.length();
+            }
+            node = node.getOrCreateChild(name.substring(start, end));
+            start = end + 1;
+        }
+        if (node.field == null) {
+            Set<Node> nodes = partialNames.get(node.partialName);
+            if (nodes == null) {
+                nodes = new LinkedHashSet<>();
+                partialNames.put(node.partialName, nodes);
+            }
+            nodes.add(node);
+        }
+        node.name = name;
+        node.field = field;
+    }
+
+    /**
+     * Removes the field with the given name. The fields below it are kept.
+     *
+     * @param name the fully qualified name of the field
+     * @return the removed field, or <code>null</code> if there was none
+     */
+    PdfFormField remove(String name) {
+        Node node = find(name);
+        if (node == null || node.field == null) {
+            return null;
+        }
+        PdfFormField field = node.field;
+        node.field = null;
+        node.name = null;
+        Set<Node> nodes = partialNames.get(node.partialName);
+        nodes.remove(node);
+        if (nodes.isEmpty()) {
+            partialNames.remove(node.partialName);
+        }
+        while (node != root && node.field == null && (node.children == null || node.children.isEmpty())) {
+            node.parent.children.remove(node.partialName);
+            node = node.parent;
+        }
+        return field;
+    }
+
+    /**
+     * Gets the field with the given fully qualified name and all the fields below it, i.e. the fields
+     * whose names start with the given name followed by a period.
+     *
+     * @param name the fully qualified name of the topmost field, which does not need to be indexed itself
+     * @return the fully qualified names mapped to the fields, in depth-first order
+     */
+    Map<String, PdfFormField> getSubtree(String name) {
+        Node top = find(name);
+        if (top == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, PdfFormField> subtree = new LinkedHashMap<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(top);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node.field != null) {
+                subtree.put(node.name, node.field);
+            }
+            if (node.children != null) {
+                List<Node> children = new ArrayList<>(node.children.values());
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                }
+            }
+        }
+        return subtree;
+    }
+
+    /**
+     * Gets the fields whose last partial name is the given one.
+     *
+     * @param partialName the partial name
+     * @return the fields, in the order they were indexed
+     */
+    List<PdfFormField> getByPartialName(String partialName) {
+        Set<Node> nodes = partialNames.get(partialName);
+        if (nodes == null) {
+            return Collections.emptyList();
+        }
+        List<PdfFormField> fields = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            fields.add(node.field);
+        }
+        return fields;
+    }
+
+    private Node find(String name) {
+        Node node = root;
+        int start = 0;
+        while (node != null && start <= name.length()) {
+            int end = name.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = name.length();
+            }
+            node = node.children != null ? node.children.get(name.substring(start, end)) : null;
+            start = end + 1;
+        }
+        return node;
+    }
+
+    private static class Node {
+
+        private final Node parent;
+
+        private final String partialName;
+
+        private Map<String, Node> children;
+
+        private String name;
+
+        private PdfFormField field;
+
+        Node(Node parent, String partialName) {
+            this.parent = parent;
+            this.partialName = partialName;
+        }
+
+        Node getOrCreateChild(String partialName) {
+            if (children == null) {
+                children = new LinkedHashMap<>();
+            }
+            Node child = children.get(partialName);
+            if (child == null) {
+                child = new Node(this, partialName);
+                children.put(partialName, child);
+            }
+            return child;
+        }
+    }
+}
@@ -65,7 +65,12 @@ import com.itextpdf.kernel.pdf.tagutils.TagReference;
 import com.itextpdf.kernel.pdf.tagutils.TagTreePointer;
 import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -127,6 +132,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
     private PdfDictionary defaultResources;
     private Set<PdfFormField> fieldsForFlattening = new LinkedHashSet<>();
     private XfaForm xfaForm;
+    private FieldNameIndex fieldNameIndex;
 
     /**
      * Creates a PdfAcroForm as a wrapper of a dictionary.
@@ -218,7 +224,11 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         }
 
         getFields().add(fieldDic);
-        fields.put(field.getFieldName().toUnicodeString(), field);
+        String fieldName = field.getFieldName().toUnicodeString();
+        fields.put(fieldName, field);
+        if (fieldNameIndex != null) {
+            fieldNameIndex.add(fieldName, field);
+        }
 
         if (field.getFormType() != null && (field.getFormType().equals(PdfName.Tx) || field.getFormType().equals(PdfName.Ch))) {
             List<PdfDictionary> resources = getResources(field.getPdfObject());
@@ -260,16 +270,45 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
     }
 
     /**
-     * Gets the {@link PdfFormField form field}s as a {@link Map}.
+     * Gets the {@link PdfFormField form field}s as a {@link Map}. The map cannot be modified; fields are added
+     * and removed with {@link #addField(PdfFormField)} and {@link #removeField(String)}, so that the index used
+     * by {@link #getFieldsByNamePrefix(String)} and {@link #getFieldsByPartialName(String)} stays up to date.
      * 
-     * @return a map of field names and their associated {@link PdfFormField form field} objects
+     * @return an unmodifiable map of field names and their associated {@link PdfFormField form field} objects
      */
     public Map<String, PdfFormField> getFormFields() {
         if (fields.size() == 0) {
             fields = iterateFields(getFields());
-
+            fieldNameIndex = null;
         }
-        return fields;
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Gets the {@link PdfFormField form field} with the given fully qualified
+     * name and all the fields below it in the field hierarchy, e.g.
+     * <code>"person.name"</code> and <code>"person.name.first"</code> for the
+     * name <code>"person.name"</code>, but not <code>"person.names"</code>.
+     * The lookup takes time proportional to the number of partial names in
+     * the given name and the number of fields found.
+     *
+     * @param name the fully qualified name of the topmost field
+     * @return a map of field names and their associated {@link PdfFormField form field} objects
+     */
+    public Map<String, PdfFormField> getFieldsByNamePrefix(String name) {
+        return getFieldNameIndex().getSubtree(name);
+    }
+
+    /**
+     * Gets the {@link PdfFormField form field}s whose last partial name is
+     * the given one, e.g. <code>"first"</code> matches
+     * <code>"person.name.first"</code> and <code>"owner.first"</code>.
+     *
+     * @param partialName the partial name of the fields
+     * @return a list of {@link PdfFormField form field}s, empty if none was found
+     */
+    public List<PdfFormField> getFieldsByPartialName(String partialName) {
+        return getFieldNameIndex().getByPartialName(partialName);
     }
 
     /**
@@ -582,6 +621,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         Set<PdfFormField> fields;
         if (fieldsForFlattening.size() == 0) {
             this.fields.clear();
+            fieldNameIndex = null;
             fields = new LinkedHashSet<>(getFormFields().values());
         } else {
             fields = new LinkedHashSet<>();
@@ -594,107 +634,85 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         // the xObject to the page resources. So in that case we would copy page resources and use the copy for
         // xObject, so that circular reference is avoided.
         // We copy beforehand firstly not to produce a copy every time, and secondly not to copy all the
-        // xObjects that have already been added to the page resources.
-        Map<Integer, PdfObject> initialPageResourceClones = new LinkedHashMap<>();
-        for (int i = 1; i <= document.getNumberOfPages(); i++) {
-            PdfObject resources = document.getPage(i).getPdfObject().getAsDictionary(PdfName.Resources);
-            initialPageResourceClones.put(i, resources == null ? null : resources.clone());
-        }
-
-        PdfPage page;
+        // xObjects that have already been added to the page resources. Only pages which hold fields are copied.
+        Map<PdfFormField, PdfPage> fieldPages = new LinkedHashMap<>();
+        Map<PdfDictionary, PdfObject> initialPageResourceClones = new IdentityHashMap<>();
         for (PdfFormField field : fields) {
-            PdfDictionary fieldObject = field.getPdfObject();
-            page = getFieldPage(fieldObject);
+            PdfPage page = getFieldPage(field.getPdfObject());
             if (page == null) {
                 continue;
             }
-
-            PdfAnnotation annotation = PdfAnnotation.makeAnnotation(fieldObject);
-            TagTreePointer tagPointer = null;
-            if (annotation != null && document.isTagged()) {
-                tagPointer = document.getTagStructureContext().removeAnnotationTag(annotation);
-            }
-
-            PdfDictionary appDic = fieldObject.getAsDictionary(PdfName.AP);
-            PdfObject asNormal = null;
-            if (appDic != null) {
-                asNormal = appDic.getAsStream(PdfName.N);
-                if (asNormal == null) {
-                    asNormal = appDic.getAsDictionary(PdfName.N);
-                }
+            fieldPages.put(field, page);
+            if (!initialPageResourceClones.containsKey(page.getPdfObject())) {
+                initialPageResourceClones.put(page.getPdfObject(), cloneInitialPageResources(page));
             }
-            if (generateAppearance) {
-                if (appDic == null || asNormal == null) {
-                    field.regenerateField();
-                    appDic = fieldObject.getAsDictionary(PdfName.AP);
-                }
-            }
-            if (appDic != null) {
-                PdfObject normal = appDic.get(PdfName.N);
-                PdfFormXObject xObject = null;
-                if (normal.isStream()) {
-                    xObject = new PdfFormXObject((PdfStream) normal);
-                } else if (normal.isDictionary()) {
-                    PdfName as = fieldObject.getAsName(PdfName.AS);
-                    if (((PdfDictionary)normal).getAsStream(as) != null) {
-                        xObject = new PdfFormXObject(((PdfDictionary)normal).getAsStream(as));
-                        xObject.makeIndirect(document);
-                    }
-                }
+        }
 
-                if (xObject != null) {
-                    Rectangle box = fieldObject.getAsRectangle(PdfName.Rect);
-                    if (page.isFlushed()) {
-                        throw new PdfException(PdfException.PageWasAlreadyFlushedUseAddFieldAppearanceToPageMethodBeforePageFlushing);
-                    }
-                    PdfCanvas canvas = new PdfCanvas(page);
-
-                    // Here we avoid circular reference which might occur when page resources and the appearance xObject's
-                    // resources are the same object
-                    PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
-                    PdfObject pageResources = page.getResources().getPdfObject();
-                    if (xObjectResources != null && pageResources != null &&
-                            xObjectResources == pageResources) {
-                        xObject.getPdfObject().put(PdfName.Resources, initialPageResourceClones.get(document.getPageNumber(page)));
-                    }
+        FlattenedFields flattenedFields = new FlattenedFields();
+        for (Map.Entry<PdfFormField, PdfPage> entry : fieldPages.entrySet()) {
+            PdfPage page = entry.getValue();
+            flattenField(entry.getKey(), page, initialPageResourceClones.get(page.getPdfObject()), flattenedFields);
+        }
 
-                    if (tagPointer != null) {
-                        tagPointer.setPageForTagging(page);
-                        TagReference tagRef = tagPointer.getTagReference();
-                        canvas.openTag(tagRef);
-                    }
-                    canvas.addXObject(xObject, box.getX(), box.getY());
-                    if (document.isTagged()) {
-                        canvas.closeTag();
-                    }
+        completeFlattening(flattenedFields);
+    }
 
+    /**
+     * Flattens interactive {@link PdfFormField form field}s page by page. The
+     * widgets of each page are collected with a single pass over its
+     * <code>/Annots</code>, flattened, and the page is flushed right away, so
+     * that pages don't have to be kept in memory until the document is closed.
+     * Page resources are only copied for pages which actually hold widgets.
+     * <p>
+     * As with {@link #flattenFields()}, only the fields included via
+     * {@link #partialFormFlattening(String)} are flattened, if there are any.
+     * Widgets are drawn in the order they appear in <code>/Annots</code>;
+     * widgets which aren't listed in the <code>/Annots</code> of any page, and
+     * pages which have already been flushed, are left untouched.
+     */
+    public void flattenFieldsPageByPage() {
+        if (document.isAppendMode()) {
+            throw new PdfException(PdfException.FieldFlatteningIsNotSupportedInAppendMode);
+        }
+        Set<PdfDictionary> widgetsForFlattening = null;
+        if (fieldsForFlattening.size() != 0) {
+            widgetsForFlattening = new HashSet<>();
+            for (PdfFormField field : fieldsForFlattening) {
+                for (PdfFormField preparedField : prepareFieldsForFlattening(field)) {
+                    widgetsForFlattening.add(preparedField.getPdfObject());
                 }
             }
+        }
 
-            PdfArray fFields = getFields();
-            removeObjectFromArray(fFields, fieldObject);
-            if (annotation != null) {
-                page.removeAnnotation(annotation);
+        FlattenedFields flattenedFields = new FlattenedFields();
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            PdfPage page = document.getPage(i);
+            if (page.isFlushed()) {
+                continue;
             }
-            PdfDictionary parent = fieldObject.getAsDictionary(PdfName.Parent);
-            if (parent != null) {
-                PdfArray kids = parent.getAsArray(PdfName.Kids);
-                removeObjectFromArray(kids, fieldObject);
-                // TODO what if parent was in it's turn the only child of it's parent (parent of parent)?
-                // shouldn't we remove them recursively? check it
-                if (kids.isEmpty()) {
-                    removeObjectFromArray(fFields, parent);
+            List<PdfDictionary> pageWidgets = new ArrayList<>();
+            PdfArray annots = page.getPdfObject().getAsArray(PdfName.Annots);
+            if (annots != null) {
+                for (int j = 0; j < annots.size(); j++) {
+                    PdfDictionary annot = annots.getAsDictionary(j);
+                    if (annot != null && PdfName.Widget.equals(annot.getAsName(PdfName.Subtype))
+                            && (widgetsForFlattening == null || widgetsForFlattening.contains(annot))) {
+                        pageWidgets.add(annot);
+                    }
                 }
             }
+            if (!pageWidgets.isEmpty()) {
+                PdfObject initialPageResources = cloneInitialPageResources(page);
+                for (PdfDictionary widget : pageWidgets) {
+                    flattenField(PdfFormField.makeFormField(widget, document), page, initialPageResources, flattenedFields);
+                }
+            }
+            if (document.getWriter() != null) {
+                page.flush();
+            }
         }
 
-        getPdfObject().remove(PdfName.NeedAppearances);
-        if (fieldsForFlattening.size() == 0) {
-            getFields().clear();
-        }
-        if (getFields().isEmpty()) {
-            document.getCatalog().remove(PdfName.AcroForm);
-        }
+        completeFlattening(flattenedFields);
     }
 
     /**
@@ -721,12 +739,12 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         PdfDictionary parent = field.getParent();
         if (parent != null) {
             removeObjectFromArray(parent.getAsArray(PdfName.Kids), fieldObject);
-            fields.remove(fieldName);
+            removeFromFieldMaps(fieldName);
             return true;
         }
 
         if (removeObjectFromArray(getFields(), fieldObject)) {
-            fields.remove(fieldName);
+            removeFromFieldMaps(fieldName);
             return true;
         }
         return false;
@@ -752,15 +770,22 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
      * @param newName the new name of the field. Must not be used currently.
      */
     public void renameField(String oldName, String newName) {
-        Map<String, PdfFormField> fields = getFormFields();
+        getFormFields();
         if (fields.containsKey(newName)) {
             return;
         }
         PdfFormField field = fields.get(oldName);
         if (field != null) {
             field.setFieldName(newName);
-            fields.remove(oldName);
-            fields.put(newName, field);
+            // the fields below the renamed one are renamed as well
+            FieldNameIndex index = getFieldNameIndex();
+            for (Map.Entry<String, PdfFormField> entry : index.getSubtree(oldName).entrySet()) {
+                String name = newName + entry.getKey().substring(oldName.length());
+                fields.remove(entry.getKey());
+                fields.put(name, entry.getValue());
+                index.remove(entry.getKey());
+                index.add(name, entry.getValue());
+            }
         }
     }
 
@@ -809,34 +834,87 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
 
     private Map<String, PdfFormField> iterateFields(PdfArray array) {
         Map<String, PdfFormField> fields = new LinkedHashMap<>();
-
         int index = 1;
         for (PdfObject field : array) {
             PdfFormField formField = PdfFormField.makeFormField(field, document);
             PdfString fieldName = formField.getFieldName();
             String name;
+            String namedAncestorName = null;
             if (fieldName == null) {
                 PdfFormField parentField = PdfFormField.makeFormField(formField.getParent(), document);
-                while (fieldName == null) {
-                    fieldName = parentField.getFieldName();
-                    if (fieldName == null) {
+                PdfString parentName = null;
+                while (parentName == null) {
+                    parentName = parentField.getFieldName();
+                    if (parentName == null) {
                         parentField = PdfFormField.makeFormField(parentField.getParent(), document);
                     }
                 }
-                name = fieldName.toUnicodeString() + "." + index;
+                namedAncestorName = parentName.toUnicodeString();
+                name = namedAncestorName + "." + index;
                 index++;
             } else {
                 name = fieldName.toUnicodeString();
             }
             fields.put(name, formField);
             if (formField.getKids() != null) {
-                fields.putAll(iterateFields(formField.getKids()));
+                iterateKids(fields, formField.getKids(), fieldName != null ? name : null,
+                        fieldName != null ? name : namedAncestorName);
             }
         }
 
         return fields;
     }
 
+    /**
+     * Adds the kids of a field to the map of fields. The names of the kids are built from the name of
+     * their parent instead of walking up the hierarchy for each kid, see {@link PdfFormField#getFieldName()}.
+     *
+     * @param fields the map to add the kids to
+     * @param kids the kids of a field
+     * @param parentName the fully qualified name of the parent, <code>null</code> if the parent has no partial name
+     * @param namedAncestorName the fully qualified name of the closest ancestor with a partial name
+     */
+    private void iterateKids(Map<String, PdfFormField> fields, PdfArray kids, String parentName, String namedAncestorName) {
+        int index = 1;
+        for (PdfObject kid : kids) {
+            PdfFormField formField = PdfFormField.makeFormField(kid, document);
+            PdfString partialName = formField.getPdfObject().getAsString(PdfName.T);
+            String name;
+            if (partialName == null) {
+                name = namedAncestorName + "." + index;
+                index++;
+            } else if (parentName != null) {
+                name = parentName + "." + partialName.toUnicodeString();
+            } else {
+                name = partialName.toUnicodeString();
+            }
+            fields.put(name, formField);
+            if (formField.getKids() != null) {
+                iterateKids(fields, formField.getKids(), partialName != null ? name : null,
+                        partialName != null ? name : namedAncestorName);
+            }
+        }
+    }
+
+    private FieldNameIndex getFieldNameIndex() {
+        if (fieldNameIndex == null) {
+            fieldNameIndex = new FieldNameIndex();
+            for (Map.Entry<String, PdfFormField> entry : getFormFields().entrySet()) {
+                fieldNameIndex.add(entry.getKey(), entry.getValue());
+            }
+        }
+        return fieldNameIndex;
+    }
+
+    private void removeFromFieldMaps(String fieldName) {
+        // the fields below the removed one are not reachable anymore either
+        FieldNameIndex index = getFieldNameIndex();
+        for (String name : index.getSubtree(fieldName).keySet()) {
+            fields.remove(name);
+            index.remove(name);
+        }
+    }
+
     private PdfDictionary processKids(PdfArray kids, PdfDictionary parent, PdfPage page){
         if (kids.size() == 1){
             PdfDictionary kidDict = (PdfDictionary) kids.get(0);
@@ -1013,6 +1091,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             field.release();
         }
         fields = null;
+        fieldNameIndex = null;
     }
 
     private static PdfDictionary createAcroFormDictionaryByFields(PdfArray fields) {
@@ -1038,6 +1117,115 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         return null;
     }
 
+    /**
+     * Flattens a single widget onto its page and removes it from the form.
+     *
+     * @param field the {@link PdfFormField form field} or widget to flatten
+     * @param page the {@link PdfPage page} holding the widget
+     * @param initialPageResources a copy of the page resources taken before any flattening on this page,
+     *                             or <code>null</code> if the page has no resources
+     * @param flattenedFields the fields flattened so far, which are removed from the form by {@link #completeFlattening(FlattenedFields)}
+     */
+    private void flattenField(PdfFormField field, PdfPage page, PdfObject initialPageResources, FlattenedFields flattenedFields) {
+        PdfDictionary fieldObject = field.getPdfObject();
+        PdfAnnotation annotation = PdfAnnotation.makeAnnotation(fieldObject);
+        TagTreePointer tagPointer = null;
+        if (annotation != null && document.isTagged()) {
+            tagPointer = document.getTagStructureContext().removeAnnotationTag(annotation);
+        }
+
+        PdfDictionary appDic = fieldObject.getAsDictionary(PdfName.AP);
+        PdfObject asNormal = null;
+        if (appDic != null) {
+            asNormal = appDic.getAsStream(PdfName.N);
+            if (asNormal == null) {
+                asNormal = appDic.getAsDictionary(PdfName.N);
+            }
+        }
+        if (generateAppearance) {
+            if (appDic == null || asNormal == null) {
+                field.regenerateField();
+                appDic = fieldObject.getAsDictionary(PdfName.AP);
+            }
+        }
+        if (appDic != null) {
+            PdfObject normal = appDic.get(PdfName.N);
+            PdfFormXObject xObject = null;
+            if (normal.isStream()) {
+                xObject = new PdfFormXObject((PdfStream) normal);
+            } else if (normal.isDictionary()) {
+                PdfName as = fieldObject.getAsName(PdfName.AS);
+                if (((PdfDictionary)normal).getAsStream(as) != null) {
+                    xObject = new PdfFormXObject(((PdfDictionary)normal).getAsStream(as));
+                    xObject.makeIndirect(document);
+                }
+            }
+
+            if (xObject != null) {
+                Rectangle box = fieldObject.getAsRectangle(PdfName.Rect);
+                if (page.isFlushed()) {
+                    throw new PdfException(PdfException.PageWasAlreadyFlushedUseAddFieldAppearanceToPageMethodBeforePageFlushing);
+                }
+                PdfCanvas canvas = new PdfCanvas(page);
+
+                // Here we avoid circular reference which might occur when page resources and the appearance xObject's
+                // resources are the same object
+                PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
+                PdfObject pageResources = page.getResources().getPdfObject();
+                if (xObjectResources != null && pageResources != null &&
+                        xObjectResources == pageResources) {
+                    xObject.getPdfObject().put(PdfName.Resources, initialPageResources);
+                }
+
+                if (tagPointer != null) {
+                    tagPointer.setPageForTagging(page);
+                    TagReference tagRef = tagPointer.getTagReference();
+                    canvas.openTag(tagRef);
+                }
+                canvas.addXObject(xObject, box.getX(), box.getY());
+                if (document.isTagged()) {
+                    canvas.closeTag();
+                }
+
+            }
+        }
+
+        if (annotation != null) {
+            page.removeAnnotation(annotation);
+        }
+        flattenedFields.add(fieldObject);
+    }
+
+    private void completeFlattening(FlattenedFields flattenedFields) {
+        getPdfObject().remove(PdfName.NeedAppearances);
+        // a parent left without kids is removed as well, which may in turn empty its own parent
+        Deque<PdfDictionary> parents = new ArrayDeque<>(flattenedFields.parents);
+        while (!parents.isEmpty()) {
+            PdfDictionary parent = parents.poll();
+            PdfArray kids = parent.getAsArray(PdfName.Kids);
+            flattenedFields.removeFrom(kids);
+            if (kids.isEmpty() && !flattenedFields.contains(parent)) {
+                PdfDictionary grandParent = flattenedFields.add(parent);
+                if (grandParent != null) {
+                    parents.add(grandParent);
+                }
+            }
+        }
+        if (fieldsForFlattening.size() == 0) {
+            getFields().clear();
+        } else {
+            flattenedFields.removeFrom(getFields());
+        }
+        if (getFields().isEmpty()) {
+            document.getCatalog().remove(PdfName.AcroForm);
+        }
+    }
+
+    private PdfObject cloneInitialPageResources(PdfPage page) {
+        PdfObject resources = page.getPdfObject().getAsDictionary(PdfName.Resources);
+        return resources == null ? null : resources.clone();
+    }
+
     private Set<PdfFormField> prepareFieldsForFlattening(PdfFormField field) {
         Set<PdfFormField> preparedFields = new LinkedHashSet<>();
         preparedFields.add(field);
@@ -1070,4 +1258,53 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         }
         return false;
     }
+
+    /**
+     * The fields and widgets removed by flattening. They are taken out of the <code>/Fields</code>
+     * and <code>/Kids</code> arrays all at once when the flattening completes, so that these arrays
+     * don't have to be searched for every single field.
+     */
+    private static class FlattenedFields {
+        private final Set<PdfObject> removed = Collections.newSetFromMap(new IdentityHashMap<PdfObject, Boolean>());
+        private final Set<PdfDictionary> parents = Collections.newSetFromMap(new IdentityHashMap<PdfDictionary, Boolean>());
+
+        /**
+         * Marks the field as removed and remembers its parent, whose <code>/Kids</code> have to be cleaned up.
+         *
+         * @return the parent of the field, or null if it has none
+         */
+        PdfDictionary add(PdfDictionary fieldObject) {
+            removed.add(fieldObject);
+            if (fieldObject.getIndirectReference() != null) {
+                removed.add(fieldObject.getIndirectReference());
+            }
+            PdfDictionary parent = fieldObject.getAsDictionary(PdfName.Parent);
+            if (parent != null && parent.getAsArray(PdfName.Kids) != null) {
+                parents.add(parent);
+                return parent;
+            }
+            return null;
+        }
+
+        boolean contains(PdfDictionary fieldObject) {
+            return removed.contains(fieldObject);
+        }
+
+        void removeFrom(PdfArray array) {
+            List<PdfObject> kept = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                // the entries are not resolved, so the objects of flushed pages are not read again
+                PdfObject entry = array.get(i, false);
+                if (!removed.contains(entry)) {
+                    kept.add(entry);
+                }
+            }
+            if (kept.size() != array.size()) {
+                array.clear();
+                for (PdfObject entry : kept) {
+                    array.add(entry);
+                }
+            }
+        }
+    }
 }
@@ -980,6 +980,43 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         return put(PdfName.AP, ap);
     }
 
+    /**
+     * Sets a value to the field and generates its appearance in the same way as
+     * {@link #setValue(String)}, but with the given font, size and color instead
+     * of the ones of the default appearance string. This spares parsing
+     * <code>/DA</code> and creating a font for every field when many fields are
+     * filled with already known fonts. Kids get the same value and appearance
+     * parameters. Fields other than text and choice fields are filled with
+     * {@link #setValue(String)}.
+     *
+     * @param value    the value of the field
+     * @param font     a {@link PdfFont}
+     * @param fontSize the font size, the default one is used if 0
+     * @param color    the text color, or <code>null</code> to keep the current one
+     * @return the edited field
+     */
+    public PdfFormField setValue(String value, PdfFont font, int fontSize, Color color) {
+        PdfName formType = getFormType();
+        if (!PdfName.Tx.equals(formType) && !PdfName.Ch.equals(formType)) {
+            return setValue(value);
+        }
+        PdfArray kids = getKids();
+        if (kids != null) {
+            for (int i = 0; i < kids.size(); i++) {
+                PdfFormField.makeFormField(kids.get(i), getDocument()).setValue(value, font, fontSize, color);
+            }
+        }
+
+        this.font = font;
+        this.fontSize = fontSize;
+        if (color != null) {
+            this.color = color;
+        }
+        put(PdfName.V, new PdfString(value, PdfEncodings.UNICODE_BIG));
+        regenerateTextAppearance(getNormalAppearanceStream(), font, fontSize);
+        return this;
+    }
+
     /**
      * Sets the field value and the display string. The display string
      * is used to build the appearance.
@@ -1621,63 +1658,9 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
 
         if (PdfName.Tx.equals(type) || PdfName.Ch.equals(type)) {
             try {
-                PdfDictionary apDic = getPdfObject().getAsDictionary(PdfName.AP);
-                PdfStream asNormal = null;
-                if (apDic != null) {
-                    asNormal = apDic.getAsStream(PdfName.N);
-                }
-                PdfArray bBox = getPdfObject().getAsArray(PdfName.Rect);
-                if (bBox == null) {
-                    PdfArray kids = getKids();
-                    if (kids == null) {
-                        throw new PdfException(PdfException.WrongFormFieldAddAnnotationToTheField);
-                    }
-                    bBox = ((PdfDictionary) kids.get(0)).getAsArray(PdfName.Rect);
-                }
-
+                PdfStream asNormal = getNormalAppearanceStream();
                 Object[] fontAndSize = getFontAndSize(asNormal);
-                PdfFont localFont = (PdfFont) fontAndSize[0];
-                int fontSz = (int) fontAndSize[1];
-                if (fontSz == 0) {
-                    fontSz = DEFAULT_FONT_SIZE;
-                }
-
-                PdfFormXObject appearance = null;
-                if (asNormal != null) {
-                    appearance = new PdfFormXObject(asNormal);
-                    appearance.setBBox(new PdfArray(new float[]{0, 0, bBox.toRectangle().getWidth(), bBox.toRectangle().getHeight()}));
-                }
-                if (appearance == null) {
-                    appearance = new PdfFormXObject(new Rectangle(0, 0, bBox.toRectangle().getWidth(), bBox.toRectangle().getHeight()));
-                }
-
-                if (PdfName.Tx.equals(type)) {
-                    if (!isMultiline()) {
-                        drawTextAppearance(bBox.toRectangle(), localFont, fontSz, value, appearance);
-                    } else {
-                        drawMultiLineTextAppearance(bBox.toRectangle(), localFont, fontSz, value, appearance);
-                    }
-
-                } else {
-                    if (!getFieldFlag(PdfChoiceFormField.FF_COMBO)) {
-                        PdfNumber topIndex =((PdfChoiceFormField)this).getTopIndex();
-                        PdfArray options = (PdfArray) getOptions().clone();
-                        if (topIndex != null) {
-                            PdfObject object = options.get(topIndex.intValue());
-                            options.remove(topIndex.intValue());
-                            options.add(0, object);
-                        }
-                        value = optionsArrayToString(options);
-                    }
-                    drawMultiLineTextAppearance(bBox.toRectangle(), localFont, fontSz, value, appearance);
-                }
-
-                appearance.getResources().addFont(getDocument(), localFont);
-                PdfDictionary ap = new PdfDictionary();
-                ap.put(PdfName.N, appearance.getPdfObject());
-                put(PdfName.AP, ap);
-
-                return true;
+                return regenerateTextAppearance(asNormal, (PdfFont) fontAndSize[0], (int) fontAndSize[1]);
             } catch (IOException e) {
                 throw new PdfException(e);
             }
@@ -2097,7 +2080,15 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         return fontAndSize;
     }
 
-    protected static Object[] splitDAelements(String da) {
+    /**
+     * Splits a default appearance string into the font name, the font size and
+     * the text color, found at the indices {@link #DA_FONT}, {@link #DA_SIZE}
+     * and {@link #DA_COLOR} of the returned array.
+     *
+     * @param da the default appearance string
+     * @return the font name, the font size and the color, each <code>null</code> if not set
+     */
+    public static Object[] splitDAelements(String da) {
         PdfTokenizer tk = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(PdfEncodings.convertToBytes(da, null))));
         List<String> stack = new ArrayList<>();
         Object[] ret = new Object[3];
@@ -2594,6 +2585,79 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         canvas.restoreState();
     }
 
+    private PdfStream getNormalAppearanceStream() {
+        PdfDictionary apDic = getPdfObject().getAsDictionary(PdfName.AP);
+        return apDic != null ? apDic.getAsStream(PdfName.N) : null;
+    }
+
+    /**
+     * Regenerates the appearance of a text or choice field.
+     *
+     * @param asNormal the current normal appearance, reused if not <code>null</code>
+     * @param localFont the font of the text
+     * @param fontSz the font size, the default one is used if 0
+     * @return whether or not the regeneration was successful
+     */
+    private boolean regenerateTextAppearance(PdfStream asNormal, PdfFont localFont, int fontSz) {
+        String value = getValueAsString();
+        PdfName type = getFormType();
+        PdfArray bBox = getPdfObject().getAsArray(PdfName.Rect);
+        if (bBox == null) {
+            PdfArray kids = getKids();
+            if (kids == null) {
+                throw new PdfException(PdfException.WrongFormFieldAddAnnotationToTheField);
+            }
+            bBox = ((PdfDictionary) kids.get(0)).getAsArray(PdfName.Rect);
+        }
+
+        if (fontSz == 0) {
+            fontSz = DEFAULT_FONT_SIZE;
+        }
+
+        PdfFormXObject appearance = null;
+        if (asNormal != null) {
+            appearance = new PdfFormXObject(asNormal);
+            appearance.setBBox(new PdfArray(new float[]{0, 0, bBox.toRectangle().getWidth(), bBox.toRectangle().getHeight()}));
+        }
+        if (appearance == null) {
+            appearance = new PdfFormXObject(new Rectangle(0, 0, bBox.toRectangle().getWidth(), bBox.toRectangle().getHeight()));
+        }
+
+        if (PdfName.Tx.equals(type)) {
+            if (!isMultiline()) {
+                drawTextAppearance(bBox.toRectangle(), localFont, fontSz, value, appearance);
+            } else {
+                drawMultiLineTextAppearance(bBox.toRectangle(), localFont, fontSz, value, appearance);
+            }
+
+        } else {
+            if (!getFieldFlag(PdfChoiceFormField.FF_COMBO)) {
+                PdfNumber topIndex = getPdfObject().getAsNumber(PdfName.TI);
+                PdfArray options = getOptions();
+                if (options == null && getParent() != null) {
+                    // a widget kid shows the options of its parent field
+                    topIndex = getParent().getAsNumber(PdfName.TI);
+                    options = getParent().getAsArray(PdfName.Opt);
+                }
+                options = (PdfArray) options.clone();
+                if (topIndex != null) {
+                    PdfObject object = options.get(topIndex.intValue());
+                    options.remove(topIndex.intValue());
+                    options.add(0, object);
+                }
+                value = optionsArrayToString(options);
+            }
+            drawMultiLineTextAppearance(bBox.toRectangle(), localFont, fontSz, value, appearance);
+        }
+
+        appearance.getResources().addFont(getDocument(), localFont);
+        PdfDictionary ap = new PdfDictionary();
+        ap.put(PdfName.N, appearance.getPdfObject());
+        put(PdfName.AP, ap);
+
+        return true;
+    }
+
     private PdfName getTypeFromParent(PdfDictionary field) {
         PdfDictionary parent = field.getAsDictionary(PdfName.Parent);
         PdfName formType = field.getAsName(PdfName.FT);
@@ -200,6 +200,60 @@ public class XfaForm {
         af.setModified();
     }
 
+    /**
+     * Replaces the XFA data under datasets/data of a document without building
+     * a DOM of the XFA form. Only the <code>datasets</code> packet is parsed and
+     * rewritten, as a stream of StAX events, while the other packets are left as
+     * they are in the document; so the memory that is used depends on the size
+     * of the datasets rather than on the size of the whole XFA form. If the XFA
+     * form is stored as a single stream, that stream is rewritten as a whole,
+     * still without building a DOM.
+     * <br><br>
+     * Unlike {@link #fillXfaForm(InputStream, boolean)}, this method works on the
+     * document directly: an {@link XfaForm} of the document that was created
+     * before does not reflect the new data.
+     *
+     * @param pdfDocument the document whose XFA form is filled
+     * @param data        the new XFA data, whose root element replaces the first element under datasets/data
+     * @param readOnly    whether the fields of the template shall be made read only
+     * @throws IOException on IO error while reading the document or the data
+     */
+    public static void fillXfaForm(PdfDocument pdfDocument, InputStream data, boolean readOnly) throws IOException {
+        PdfObject xfa = getXfaObject(pdfDocument);
+        if (xfa == null) {
+            return;
+        }
+        XfaPacketRewriter rewriter = new XfaPacketRewriter();
+        if (xfa.isArray()) {
+            PdfArray ar = (PdfArray) xfa;
+            int d = -1;
+            for (int k = 0; k < ar.size(); k += 2) {
+                PdfString s = ar.getAsString(k);
+                if ("datasets".equals(s.toString())) {
+                    d = k + 1;
+                } else if (readOnly && "template".equals(s.toString())) {
+                    PdfStream template = ar.getAsStream(k + 1);
+                    replaceStreamData(template, rewriter.markFieldsReadOnly(template.getBytes()));
+                }
+            }
+            if (d > -1) {
+                PdfStream datasets = ar.getAsStream(d);
+                replaceStreamData(datasets, rewriter.replaceData(datasets.getBytes(), data, false));
+            } else {
+                // the datasets packet goes before the postamble, which closes the XDP document
+                int index = ar.size() >= 2 && "postamble".equals(ar.getAsString(ar.size() - 2).toString()) ? ar.size() - 2 : ar.size();
+                PdfStream datasets = new PdfStream(rewriter.createDatasets(data)).makeIndirect(pdfDocument);
+                ar.add(index, datasets);
+                ar.add(index, new PdfString("datasets"));
+                ar.setModified();
+            }
+        } else if (xfa instanceof PdfStream) {
+            PdfStream stream = (PdfStream) xfa;
+            replaceStreamData(stream, rewriter.replaceData(stream.getBytes(), data, readOnly));
+        }
+        pdfDocument.getCatalog().getPdfObject().getAsDictionary(PdfName.AcroForm).setModified();
+    }
+
     /**
      * Extracts DOM nodes from an XFA document.
      *
@@ -554,6 +608,12 @@ public class XfaForm {
         return fout.toByteArray();
     }
 
+    private static void replaceStreamData(PdfStream stream, byte[] bytes) {
+        stream.setData(bytes);
+        stream.remove(PdfName.DecodeParms);
+        stream.setModified();
+    }
+
     private void initXfaForm(PdfObject xfa) throws IOException, ParserConfigurationException, SAXException {
         ByteArrayOutputStream bout = new ByteArrayOutputStream();
         if (xfa.isArray()) {
@@ -0,0 +1,308 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.forms.xfa;
+
+import com.itextpdf.kernel.PdfException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Rewrites XFA packets with a StAX event stream instead of a DOM, so that only the events that are
+ * currently processed are held in memory.
+ */
+class XfaPacketRewriter {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+    private final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+
+    private final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+    private final XMLEventFactory eventFactory = XMLEventFactory.newInstance();
+
+    XfaPacketRewriter() {
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    }
+
+    /**
+     * Replaces the first element under <code>datasets/data</code> by the root element of the given data.
+     * The packet may either be the <code>datasets</code> packet itself or a whole XDP document; in the
+     * latter case the <code>datasets</code> element is added to the root element if it is missing.
+     * Missing <code>data</code> elements are added to <code>datasets</code>.
+     *
+     * @param packet the serialized packet
+     * @param data the new XFA data
+     * @param readOnly whether <code>field</code> elements outside the datasets shall be made read only
+     * @return the rewritten packet
+     */
+    byte[] replaceData(byte[] packet, InputStream data, boolean readOnly) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(packet.length);
+        try {
+            XMLEventReader reader = createReader(packet, out);
+            XMLEventWriter writer = outputFactory.createXMLEventWriter(out, "UTF-8");
+            int depth = 0;
+            int datasetsDepth = -1;
+            int dataDepth = -1;
+            boolean inDatasets = false;
+            boolean inserted = false;
+            while (reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+                if (event.isStartDocument() || event.isEndDocument()) {
+                    continue;
+                }
+                if (event.isStartElement()) {
+                    depth++;
+                    StartElement element = event.asStartElement();
+                    if (datasetsDepth < 0 && isXfaDataElement(element, "datasets")) {
+                        datasetsDepth = depth;
+                        inDatasets = true;
+                    } else if (!inserted && dataDepth < 0 && depth == datasetsDepth + 1 && isXfaDataElement(element, "data")) {
+                        dataDepth = depth;
+                    } else if (!inserted && dataDepth > 0 && depth == dataDepth + 1) {
+                        skipElement(reader);
+                        depth--;
+                        copyRootElement(data, writer);
+                        inserted = true;
+                        continue;
+                    }
+                    writer.add(readOnly && !inDatasets ? markReadOnly(element) : element);
+                } else if (event.isEndElement()) {
+                    if (!inserted) {
+                        if (depth == dataDepth) {
+                            copyRootElement(data, writer);
+                            inserted = true;
+                        } else if (depth == datasetsDepth) {
+                            writeDataElement(data, writer);
+                            inserted = true;
+                        } else if (depth == 1 && datasetsDepth < 0) {
+                            writeDatasetsElement(data, writer);
+                            inserted = true;
+                        }
+                    }
+                    if (depth == datasetsDepth) {
+                        inDatasets = false;
+                    }
+                    depth--;
+                    writer.add(event);
+                } else {
+                    writer.add(event);
+                }
+            }
+            writer.close();
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new PdfException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Creates a <code>datasets</code> packet which holds the given data.
+     *
+     * @param data the XFA data
+     * @return the serialized packet
+     */
+    byte[] createDatasets(InputStream data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            XMLEventWriter writer = outputFactory.createXMLEventWriter(out, "UTF-8");
+            writeDatasetsElement(data, writer);
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new PdfException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Sets the <code>access</code> attribute of all the <code>field</code> elements of a packet to
+     * <code>readOnly</code>.
+     *
+     * @param packet the serialized packet
+     * @return the rewritten packet
+     */
+    byte[] markFieldsReadOnly(byte[] packet) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(packet.length);
+        try {
+            XMLEventReader reader = createReader(packet, out);
+            XMLEventWriter writer = outputFactory.createXMLEventWriter(out, "UTF-8");
+            while (reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    writer.add(markReadOnly(event.asStartElement()));
+                } else if (!event.isStartDocument() && !event.isEndDocument()) {
+                    writer.add(event);
+                }
+            }
+            writer.close();
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new PdfException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Creates a reader of the packet and writes the XML declaration to the output if the packet has one.
+     * The declaration is not taken from the event stream, because StAX reports a start of the document
+     * even if there is no declaration, which must not be added to packets in the middle of an XDP document.
+     */
+    private XMLEventReader createReader(byte[] packet, OutputStream out) throws XMLStreamException {
+        if (hasXmlDeclaration(packet)) {
+            try {
+                out.write(XML_DECLARATION.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new PdfException(e);
+            }
+        }
+        return inputFactory.createXMLEventReader(new ByteArrayInputStream(packet));
+    }
+
+    private void writeDatasetsElement(InputStream data, XMLEventWriter writer) throws XMLStreamException {
+        List<Namespace> namespaces = Collections.singletonList(eventFactory.createNamespace("xfa", XfaForm.XFA_DATA_SCHEMA));
+        writer.add(eventFactory.createStartElement("xfa", XfaForm.XFA_DATA_SCHEMA, "datasets",
+                Collections.<Attribute>emptyList().iterator(), namespaces.iterator()));
+        writeDataElement(data, writer);
+        writer.add(eventFactory.createEndElement("xfa", XfaForm.XFA_DATA_SCHEMA, "datasets", namespaces.iterator()));
+    }
+
+    private void writeDataElement(InputStream data, XMLEventWriter writer) throws XMLStreamException {
+        writer.add(eventFactory.createStartElement("xfa", XfaForm.XFA_DATA_SCHEMA, "data"));
+        copyRootElement(data, writer);
+        writer.add(eventFactory.createEndElement("xfa", XfaForm.XFA_DATA_SCHEMA, "data"));
+    }
+
+    /**
+     * Copies the root element of a document, without what precedes or follows it.
+     */
+    private void copyRootElement(InputStream data, XMLEventWriter writer) throws XMLStreamException {
+        XMLEventReader reader = inputFactory.createXMLEventReader(data);
+        int depth = 0;
+        while (reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+            if (event.isStartElement()) {
+                depth++;
+            }
+            if (depth > 0) {
+                writer.add(event);
+            }
+            if (event.isEndElement() && --depth == 0) {
+                break;
+            }
+        }
+        reader.close();
+    }
+
+    private StartElement markReadOnly(StartElement element) {
+        QName name = element.getName();
+        if (!"field".equals(name.getLocalPart()) || !XMLConstants.DEFAULT_NS_PREFIX.equals(name.getPrefix())) {
+            return element;
+        }
+        List<Attribute> attributes = new ArrayList<>();
+        Iterator<?> it = element.getAttributes();
+        while (it.hasNext()) {
+            Attribute attribute = (Attribute) it.next();
+            if (!"access".equals(attribute.getName().getLocalPart()) || !attribute.getName().getNamespaceURI().isEmpty()) {
+                attributes.add(attribute);
+            }
+        }
+        attributes.add(eventFactory.createAttribute("access", "readOnly"));
+        return eventFactory.createStartElement(name, attributes.iterator(), element.getNamespaces());
+    }
+
+    private static void skipElement(XMLEventReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            XMLEvent event = reader.nextEvent();
+            if (event.isStartElement()) {
+                depth++;
+            } else if (event.isEndElement()) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean isXfaDataElement(StartElement element, String localName) {
+        return localName.equals(element.getName().getLocalPart()) && XfaForm.XFA_DATA_SCHEMA.equals(element.getName().getNamespaceURI());
+    }
+
+    private static boolean hasXmlDeclaration(byte[] packet) {
+        int start = 0;
+        // skip a UTF-8 byte order mark
+        if (packet.length >= 3 && (packet[0] & 0xff) == 0xef && (packet[1] & 0xff) == 0xbb && (packet[2] & 0xff) == 0xbf) {
+            start = 3;
+        }
+        byte[] declarationStart = "<?xml".getBytes(StandardCharsets.US_ASCII);
+        if (packet.length < start + declarationStart.length) {
+            return false;
+        }
+        for (int i = 0; i < declarationStart.length; i++) {
+            if (packet[start + i] != declarationStart[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,152 @@
+package com.itextpdf.forms;
+
+import com.itextpdf.forms.fields.PdfChoiceFormField;
+import com.itextpdf.forms.fields.PdfFormField;
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.kernel.color.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Category(IntegrationTest.class)
+public class BulkFormFillerTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/forms/BulkFormFillerTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void fillMatchesSetValueTest() throws IOException {
+        byte[] template = createTemplate();
+        Map<String, String> values = new HashMap<>();
+        values.put("name", "John Doe");
+        values.put("address", "Street 1\nCity");
+        values.put("colored", "Red text");
+
+        ByteArrayOutputStream filled = new ByteArrayOutputStream();
+        new BulkFormFiller(template).fill(values, filled);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PdfDocument expectedDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(template)), new PdfWriter(expected));
+        PdfAcroForm expectedForm = PdfAcroForm.getAcroForm(expectedDoc, false);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            expectedForm.getField(entry.getKey()).setValue(entry.getValue());
+        }
+        expectedDoc.close();
+
+        PdfDocument filledDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(filled.toByteArray())));
+        PdfDocument cmpDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected.toByteArray())));
+        PdfAcroForm filledForm = PdfAcroForm.getAcroForm(filledDoc, false);
+        PdfAcroForm cmpForm = PdfAcroForm.getAcroForm(cmpDoc, false);
+        for (String name : values.keySet()) {
+            PdfFormField field = filledForm.getField(name);
+            Assert.assertEquals(values.get(name), field.getValueAsString());
+            Assert.assertArrayEquals(getNormalAppearance(cmpForm.getField(name)).getBytes(), getNormalAppearance(field).getBytes());
+            Assert.assertEquals(cmpForm.getField(name).getDefaultAppearance().toUnicodeString(), field.getDefaultAppearance().toUnicodeString());
+        }
+        filledDoc.close();
+        cmpDoc.close();
+    }
+
+    @Test
+    public void unchangedValueIsSkippedTest() throws IOException {
+        byte[] template = createTemplate();
+        Map<String, String> values = new HashMap<>();
+        values.put("name", "initial");
+        values.put("unknown", "ignored");
+
+        ByteArrayOutputStream filled = new ByteArrayOutputStream();
+        new BulkFormFiller(template).fill(values, filled);
+
+        PdfDocument templateDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(template)));
+        PdfDocument filledDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(filled.toByteArray())));
+        PdfFormField templateField = PdfAcroForm.getAcroForm(templateDoc, false).getField("name");
+        PdfFormField filledField = PdfAcroForm.getAcroForm(filledDoc, false).getField("name");
+        Assert.assertEquals("initial", filledField.getValueAsString());
+        Assert.assertArrayEquals(getNormalAppearance(templateField).getBytes(), getNormalAppearance(filledField).getBytes());
+        Assert.assertNull(PdfAcroForm.getAcroForm(filledDoc, false).getField("unknown"));
+        templateDoc.close();
+        filledDoc.close();
+    }
+
+    @Test
+    public void fillAllTest() throws IOException {
+        BulkFormFiller filler = new BulkFormFiller(createTemplate()).setThreadCount(3).setFlatten(true);
+        Map<String, Map<String, String>> documents = new LinkedHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            Map<String, String> values = new HashMap<>();
+            values.put("name", "Name " + i);
+            values.put("address", "Address " + i);
+            documents.put(destinationFolder + "fillAllTest" + i + ".pdf", values);
+        }
+
+        Map<String, Exception> failures = filler.fillAll(documents);
+        Assert.assertTrue(failures.isEmpty());
+
+        for (String dest : documents.keySet()) {
+            PdfDocument document = new PdfDocument(new PdfReader(dest));
+            Assert.assertNull(PdfAcroForm.getAcroForm(document, false));
+            Assert.assertTrue(document.getFirstPage().getAnnotations().isEmpty());
+            document.close();
+        }
+    }
+
+    @Test
+    public void setValueWithFontOnListWithKidsTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos));
+        document.addNewPage();
+        PdfAcroForm form = PdfAcroForm.getAcroForm(document, true);
+        String[] options = {"first", "second", "third"};
+        PdfChoiceFormField list = PdfFormField.createList(document, new Rectangle(36, 700, 200, 60), "list", "first", options);
+        PdfChoiceFormField kid = PdfFormField.createList(document, new Rectangle(36, 600, 200, 60), "kid", "first", options);
+        list.addKid(kid);
+        form.addField(list);
+
+        list.setValue("second", PdfFontFactory.createFont(FontConstants.HELVETICA), 12, null);
+        Assert.assertEquals("second", list.getValueAsString());
+        Assert.assertEquals("second", kid.getValueAsString());
+        Assert.assertNotNull(getNormalAppearance(kid));
+        document.close();
+    }
+
+    private static byte[] createTemplate() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos));
+        document.addNewPage();
+        PdfAcroForm form = PdfAcroForm.getAcroForm(document, true);
+        form.addField(PdfFormField.createText(document, new Rectangle(36, 700, 200, 20), "name", "initial"));
+        form.addField(PdfFormField.createMultilineText(document, new Rectangle(36, 600, 200, 60), "address", ""));
+        PdfFormField colored = PdfFormField.createText(document, new Rectangle(36, 500, 200, 20), "colored", "");
+        colored.setColor(new DeviceRgb(255, 0, 0));
+        form.addField(colored);
+        document.close();
+        return baos.toByteArray();
+    }
+
+    private static PdfStream getNormalAppearance(PdfFormField field) {
+        PdfDictionary ap = field.getPdfObject().getAsDictionary(PdfName.AP);
+        return ap.getAsStream(PdfName.N);
+    }
+}
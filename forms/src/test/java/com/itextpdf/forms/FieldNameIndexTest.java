@@ -0,0 +1,124 @@
+package com.itextpdf.forms;
+
+import com.itextpdf.forms.fields.PdfFormField;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@Category(UnitTest.class)
+public class FieldNameIndexTest extends ExtendedITextTest {
+
+    @Test
+    public void namesMatchFieldNamesTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(createHierarchicalForm())));
+        Map<String, PdfFormField> fields = PdfAcroForm.getAcroForm(document, false).getFormFields();
+        Assert.assertEquals(Arrays.asList("person", "person.name", "person.name.first", "person.name.last",
+                "person.names", "owner", "owner.first"), new ArrayList<>(fields.keySet()));
+        for (Map.Entry<String, PdfFormField> entry : fields.entrySet()) {
+            Assert.assertEquals(entry.getKey(), entry.getValue().getFieldName().toUnicodeString());
+        }
+        document.close();
+    }
+
+    @Test
+    public void prefixAndPartialNameQueriesTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(createHierarchicalForm())));
+        PdfAcroForm form = PdfAcroForm.getAcroForm(document, false);
+
+        Assert.assertEquals(Arrays.asList("person.name", "person.name.first", "person.name.last"),
+                new ArrayList<>(form.getFieldsByNamePrefix("person.name").keySet()));
+        Assert.assertEquals(5, form.getFieldsByNamePrefix("person").size());
+        Assert.assertTrue(form.getFieldsByNamePrefix("person.nam").isEmpty());
+
+        List<PdfFormField> firstFields = form.getFieldsByPartialName("first");
+        Assert.assertEquals(2, firstFields.size());
+        Assert.assertEquals("person.name.first", firstFields.get(0).getFieldName().toUnicodeString());
+        Assert.assertEquals("owner.first", firstFields.get(1).getFieldName().toUnicodeString());
+        Assert.assertTrue(form.getFieldsByPartialName("middle").isEmpty());
+        document.close();
+    }
+
+    @Test
+    public void indexIsUpdatedTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(createHierarchicalForm())),
+                new PdfWriter(new ByteArrayOutputStream()));
+        PdfAcroForm form = PdfAcroForm.getAcroForm(document, false);
+        Assert.assertEquals(1, form.getFieldsByPartialName("owner").size());
+
+        form.renameField("person", "customer");
+        Assert.assertTrue(form.getFieldsByNamePrefix("person").isEmpty());
+        Assert.assertEquals(5, form.getFieldsByNamePrefix("customer").size());
+        Assert.assertNotNull(form.getField("customer.name.last"));
+        Assert.assertNull(form.getField("person.name.last"));
+        Assert.assertEquals("customer.name.last", form.getField("customer.name.last").getFieldName().toUnicodeString());
+
+        Assert.assertTrue(form.removeField("owner"));
+        Assert.assertTrue(form.getFieldsByPartialName("owner").isEmpty());
+        Assert.assertEquals(1, form.getFieldsByPartialName("first").size());
+        Assert.assertNull(form.getField("owner.first"));
+
+        form.addField(PdfFormField.createText(document, new Rectangle(36, 500, 100, 20), "first", "value"));
+        Assert.assertEquals(2, form.getFieldsByPartialName("first").size());
+        Assert.assertNotNull(form.getFieldsByNamePrefix("first").get("first"));
+        document.close();
+    }
+
+    @Test
+    public void formFieldsCannotBeModifiedTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(createHierarchicalForm())));
+        PdfAcroForm form = PdfAcroForm.getAcroForm(document, false);
+        Assert.assertEquals(1, form.getFieldsByPartialName("owner").size());
+
+        Map<String, PdfFormField> fields = form.getFormFields();
+        try {
+            fields.remove("owner");
+            Assert.fail("The map of the form fields shall not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            fields.keySet().remove("owner.first");
+            Assert.fail("The map of the form fields shall not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+        }
+        Assert.assertNotNull(form.getField("owner"));
+        Assert.assertEquals(1, form.getFieldsByPartialName("owner").size());
+        Assert.assertEquals(2, form.getFieldsByPartialName("first").size());
+        document.close();
+    }
+
+    private static byte[] createHierarchicalForm() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfWriter(baos));
+        document.addNewPage();
+        PdfAcroForm form = PdfAcroForm.getAcroForm(document, true);
+
+        PdfFormField person = PdfFormField.createEmptyField(document).setFieldName("person");
+        PdfFormField name = PdfFormField.createEmptyField(document).setFieldName("name");
+        name.addKid(PdfFormField.createText(document, new Rectangle(36, 700, 100, 20), "first", "John"));
+        name.addKid(PdfFormField.createText(document, new Rectangle(150, 700, 100, 20), "last", "Doe"));
+        person.addKid(name);
+        person.addKid(PdfFormField.createText(document, new Rectangle(36, 650, 100, 20), "names", ""));
+        form.addField(person);
+
+        PdfFormField owner = PdfFormField.createEmptyField(document).setFieldName("owner");
+        owner.addKid(PdfFormField.createText(document, new Rectangle(36, 600, 100, 20), "first", "Jane"));
+        form.addField(owner);
+
+        document.close();
+        return baos.toByteArray();
+    }
+}
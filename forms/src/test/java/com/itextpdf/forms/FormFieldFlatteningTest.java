@@ -1,6 +1,10 @@
 package com.itextpdf.forms;
 
+import com.itextpdf.forms.fields.PdfFormField;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.utils.CompareTool;
@@ -11,7 +15,12 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 @Category(IntegrationTest.class)
 public class FormFieldFlatteningTest extends ExtendedITextTest {
@@ -42,4 +51,96 @@ public class FormFieldFlatteningTest extends ExtendedITextTest {
             Assert.fail(errorMessage);
         }
     }
+
+    @Test
+    public void formFlatteningPageByPageTest01() throws IOException, InterruptedException {
+        String srcFilename = sourceFolder + "formFlatteningSource.pdf";
+        String filename = destinationFolder + "formFlatteningPageByPageTest01.pdf";
+
+        PdfDocument doc = new PdfDocument(new PdfReader(srcFilename), new PdfWriter(filename));
+
+        PdfAcroForm form = PdfAcroForm.getAcroForm(doc, true);
+        form.flattenFieldsPageByPage();
+        for (int i = 1; i <= doc.getNumberOfPages(); i++) {
+            Assert.assertTrue(doc.getPage(i).isFlushed());
+        }
+
+        doc.close();
+
+        CompareTool compareTool = new CompareTool();
+        String errorMessage = compareTool.compareByContent(filename, sourceFolder + "cmp_formFlatteningTest01.pdf", destinationFolder, "diff_");
+        if (errorMessage != null) {
+            Assert.fail(errorMessage);
+        }
+    }
+
+    @Test
+    public void partialFormFlatteningTest() throws IOException {
+        for (boolean pageByPage : new boolean[] {false, true}) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PdfDocument doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(createForm(4))), new PdfWriter(baos));
+            PdfAcroForm form = PdfAcroForm.getAcroForm(doc, false);
+            form.partialFormFlattening("field2");
+            form.partialFormFlattening("field3");
+            if (pageByPage) {
+                form.flattenFieldsPageByPage();
+            } else {
+                form.flattenFields();
+            }
+            doc.close();
+
+            doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+            Set<String> names = PdfAcroForm.getAcroForm(doc, false).getFormFields().keySet();
+            Assert.assertEquals(new HashSet<>(Arrays.asList("field1", "field4")), names);
+            Assert.assertEquals(2, PdfAcroForm.getAcroForm(doc, false).getPdfObject().getAsArray(PdfName.Fields).size());
+            doc.close();
+        }
+    }
+
+    @Test
+    public void grandParentFieldFlatteningTest() throws IOException {
+        for (boolean pageByPage : new boolean[] {false, true}) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PdfDocument doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(createFieldHierarchy())), new PdfWriter(baos));
+            PdfAcroForm form = PdfAcroForm.getAcroForm(doc, false);
+            if (pageByPage) {
+                form.flattenFieldsPageByPage();
+            } else {
+                form.flattenFields();
+            }
+            doc.close();
+
+            doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+            Assert.assertNull(doc.getCatalog().getPdfObject().get(PdfName.AcroForm));
+            Assert.assertTrue(doc.getPage(1).getAnnotations().isEmpty());
+            doc.close();
+        }
+    }
+
+    private static byte[] createForm(int fieldCount) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument doc = new PdfDocument(new PdfWriter(baos));
+        PdfAcroForm form = PdfAcroForm.getAcroForm(doc, true);
+        for (int i = 1; i <= fieldCount; i++) {
+            form.addField(PdfFormField.createText(doc, new Rectangle(36, 700, 200, 20), "field" + i, "value" + i), doc.addNewPage());
+        }
+        doc.close();
+        return baos.toByteArray();
+    }
+
+    // a -> b -> {c, d}
+    private static byte[] createFieldHierarchy() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument doc = new PdfDocument(new PdfWriter(baos));
+        PdfPage page = doc.addNewPage();
+        PdfAcroForm form = PdfAcroForm.getAcroForm(doc, true);
+        PdfFormField a = PdfFormField.createEmptyField(doc).setFieldName("a");
+        PdfFormField b = PdfFormField.createEmptyField(doc).setFieldName("b");
+        b.addKid(PdfFormField.createText(doc, new Rectangle(36, 700, 200, 20), "c", "value c"));
+        b.addKid(PdfFormField.createText(doc, new Rectangle(36, 650, 200, 20), "d", "value d"));
+        a.addKid(b);
+        form.addField(a, page);
+        doc.close();
+        return baos.toByteArray();
+    }
 }
@@ -1,6 +1,13 @@
 package com.itextpdf.forms.xfa;
 
+import com.itextpdf.forms.PdfAcroForm;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
@@ -10,8 +17,14 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 @Category(IntegrationTest.class)
 public class XFAFormTest extends ExtendedITextTest {
@@ -67,5 +80,90 @@ public class XFAFormTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void streamingFillXfaStreamTest() throws IOException {
+        ByteArrayOutputStream source = new ByteArrayOutputStream();
+        PdfDocument doc = new PdfDocument(new PdfWriter(source));
+        new XfaForm(new FileInputStream(XML)).write(doc);
+        doc.addNewPage();
+        doc.close();
+
+        ByteArrayOutputStream filled = new ByteArrayOutputStream();
+        doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source.toByteArray())), new PdfWriter(filled));
+        XfaForm.fillXfaForm(doc, toStream("<form1><Number1>5</Number1><Number2>7</Number2></form1>"), true);
+        doc.close();
+
+        doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(filled.toByteArray())));
+        XfaForm xfa = new XfaForm(doc);
+        Node form1 = getFirstElement(getFirstElement(xfa.getDatasetsNode()));
+        Assert.assertEquals("form1", form1.getNodeName());
+        Assert.assertEquals("57", XfaForm.getNodeText(form1));
+        NodeList fields = xfa.getDomDocument().getElementsByTagName("field");
+        Assert.assertEquals(6, fields.getLength());
+        for (int i = 0; i < fields.getLength(); i++) {
+            Assert.assertEquals("readOnly", ((Element) fields.item(i)).getAttribute("access"));
+        }
+        Assert.assertEquals(1, xfa.getDomDocument().getElementsByTagNameNS(XfaForm.XFA_DATA_SCHEMA, "datasets").getLength());
+        doc.close();
+    }
+
+    @Test
+    public void streamingFillXfaPacketsTest() throws IOException {
+        byte[] template = "<template xmlns=\"http://www.xfa.org/schema/xfa-template/3.3/\"><subform name=\"form1\"><field name=\"Text1\"/></subform></template>".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream source = new ByteArrayOutputStream();
+        PdfDocument doc = new PdfDocument(new PdfWriter(source));
+        doc.addNewPage();
+        PdfArray packets = new PdfArray();
+        packets.add(new PdfString("preamble"));
+        packets.add(new PdfStream("<xdp:xdp xmlns:xdp=\"http://ns.adobe.com/xdp/\">".getBytes(StandardCharsets.UTF_8)).makeIndirect(doc));
+        packets.add(new PdfString("template"));
+        packets.add(new PdfStream(template).makeIndirect(doc));
+        packets.add(new PdfString("postamble"));
+        packets.add(new PdfStream("</xdp:xdp>".getBytes(StandardCharsets.UTF_8)).makeIndirect(doc));
+        PdfAcroForm.getAcroForm(doc, true).put(PdfName.XFA, packets);
+        doc.close();
 
+        ByteArrayOutputStream filled = new ByteArrayOutputStream();
+        doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source.toByteArray())), new PdfWriter(filled));
+        XfaForm.fillXfaForm(doc, toStream("<?xml version=\"1.0\"?><!-- data --><form1><Text1>text</Text1></form1>"), false);
+        doc.close();
+
+        doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(filled.toByteArray())));
+        PdfDictionary acroForm = doc.getCatalog().getPdfObject().getAsDictionary(PdfName.AcroForm);
+        PdfArray xfaArray = acroForm.getAsArray(PdfName.XFA);
+        Assert.assertEquals(8, xfaArray.size());
+        Assert.assertEquals("datasets", xfaArray.getAsString(4).toUnicodeString());
+        Assert.assertArrayEquals(template, xfaArray.getAsStream(3).getBytes());
+        Assert.assertEquals("<xfa:datasets xmlns:xfa=\"http://www.xfa.org/schema/xfa-data/1.0/\"><xfa:data><form1><Text1>text</Text1></form1></xfa:data></xfa:datasets>",
+                new String(xfaArray.getAsStream(5).getBytes(), StandardCharsets.UTF_8));
+
+        XfaForm xfa = new XfaForm(doc);
+        Assert.assertTrue(xfa.isXfaPresent());
+        Assert.assertEquals("text", XfaForm.getNodeText(getFirstElement(getFirstElement(xfa.getDatasetsNode()))));
+
+        ByteArrayOutputStream refilled = new ByteArrayOutputStream();
+        PdfDocument refilledDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(filled.toByteArray())), new PdfWriter(refilled));
+        XfaForm.fillXfaForm(refilledDoc, toStream("<form1><Text1>other</Text1></form1>"), false);
+        refilledDoc.close();
+        doc.close();
+
+        doc = new PdfDocument(new PdfReader(new ByteArrayInputStream(refilled.toByteArray())));
+        xfaArray = doc.getCatalog().getPdfObject().getAsDictionary(PdfName.AcroForm).getAsArray(PdfName.XFA);
+        Assert.assertEquals(8, xfaArray.size());
+        Assert.assertEquals("<xfa:datasets xmlns:xfa=\"http://www.xfa.org/schema/xfa-data/1.0/\"><xfa:data><form1><Text1>other</Text1></form1></xfa:data></xfa:datasets>",
+                new String(xfaArray.getAsStream(5).getBytes(), StandardCharsets.UTF_8));
+        doc.close();
+    }
+
+    private static ByteArrayInputStream toStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Node getFirstElement(Node node) {
+        Node child = node.getFirstChild();
+        while (child != null && child.getNodeType() != Node.ELEMENT_NODE) {
+            child = child.getNextSibling();
+        }
+        return child;
+    }
 }
@@ -110,6 +110,9 @@ public class PdfTokenizer implements Closeable, Serializable {
     public static final byte[] True = ByteUtils.getIsoBytes("true");
     public static final byte[] False = ByteUtils.getIsoBytes("false");
 
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
     protected TokenType type;
     protected int reference;
     protected int generation;
@@ -201,6 +204,63 @@ public class PdfTokenizer implements Closeable, Serializable {
         return true;
     }
 
+    /**
+     * Computes a hash code of the content of the current token without copying it.
+     *
+     * @return the hash code of the token content
+     */
+    public int getTokenHashCode() {
+        byte[] buf = outBuf.getInternalBuffer();
+        int size = outBuf.size();
+        int hash = 1;
+        for (int i = 0; i < size; i++)
+            hash = 31 * hash + buf[i];
+        return hash;
+    }
+
+    /**
+     * Gets the value of the current Number token. Plain decimal numbers are parsed straight
+     * from the token buffer, so no intermediate String or byte array is created for them.
+     *
+     * @return the value of the number, or NaN if the token content is not a valid number
+     */
+    public double getDoubleValue() {
+        byte[] buf = outBuf.getInternalBuffer();
+        int size = outBuf.size();
+        int i = 0;
+        boolean negative = false;
+        if (size > 0 && (buf[0] == '-' || buf[0] == '+')) {
+            negative = buf[0] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < size; i++) {
+            int ch = buf[i];
+            if (ch >= '0' && ch <= '9') {
+                mantissa = mantissa * 10 + (ch - '0');
+                digits++;
+                if (fractionDigits >= 0)
+                    fractionDigits++;
+            } else if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == size && digits > 0 && digits <= 15 && fractionDigits < POWERS_OF_TEN.length) {
+            // both operands are exact, so the division is correctly rounded like Double.parseDouble
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(getStringValue());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
     public int getObjNr() {
         return reference;
     }
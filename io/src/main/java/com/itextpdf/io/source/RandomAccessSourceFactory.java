@@ -54,6 +54,7 @@ import java.io.RandomAccessFile;
 import java.io.Serializable;
 import java.net.URL;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.text.MessageFormat;
 
 /**
@@ -122,6 +123,17 @@ public final class RandomAccessSourceFactory implements Serializable {
         return new RAFRandomAccessSource(raf);
     }
 
+    /**
+     * Creates a {@link IRandomAccessSource} that reads directly from a {@link java.nio.channels.SeekableByteChannel}.
+     * The content of the channel is neither mapped nor read into memory.
+     * @param channel the channel to read from
+     * @return the newly created {@link IRandomAccessSource}
+     * @throws java.io.IOException if the size of the channel can't be read
+     */
+    public IRandomAccessSource createSource(SeekableByteChannel channel) throws java.io.IOException {
+        return new SeekableByteChannelRandomAccessSource(channel);
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a URL.  The data available at the URL is read into memory and used
      * as the source for the {@link IRandomAccessSource}
@@ -0,0 +1,122 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * A RandomAccessSource that reads directly from a {@link java.nio.channels.SeekableByteChannel}, without mapping
+ * or buffering its content.
+ * Note: Unlike most of the RandomAccessSource implementations, this class is not thread safe
+ */
+class SeekableByteChannelRandomAccessSource implements IRandomAccessSource {
+    /**
+     * The source
+     */
+    private final SeekableByteChannel channel;
+
+    /**
+     * The length of the underlying channel. Note that the length is cached at construction time.
+     */
+    private final long length;
+
+    /**
+     * Creates this object
+     * @param channel the source for this RandomAccessSource
+     * @throws java.io.IOException if the size of the channel can't be read
+     */
+    public SeekableByteChannelRandomAccessSource(SeekableByteChannel channel) throws java.io.IOException {
+        this.channel = channel;
+        length = channel.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        byte[] b = new byte[1];
+        int n = get(position, b, 0, 1);
+        return n == 1 ? b[0] & 0xff : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (position >= length)
+            return -1;
+
+        // Not thread safe!
+        if (channel.position() != position) {
+            channel.position(position);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, off, (int) Math.min(len, length - position));
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer);
+            if (n < 0)
+                break;
+            total += n;
+        }
+        return total == 0 && len > 0 ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: the length is determined when the {@link SeekableByteChannelRandomAccessSource} is constructed.
+     * If the channel size changes after construction, that change will not be reflected in this call.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Closes the underlying channel
+     */
+    public void close() throws java.io.IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import java.io.InputStream;
+
+/**
+ * A RandomAccessSource that reads an {@link InputStream} front to back and keeps only a sliding window of it
+ * in memory. Positions may be revisited as long as they have not been released with {@link #discardBefore(long)},
+ * which makes the source suitable for tokenizers that read forward and only occasionally seek back over the last
+ * few tokens. The memory needed is therefore proportional to the amount of data kept between two discards
+ * rather than to the length of the whole stream.
+ */
+public class StreamingRandomAccessSource implements IRandomAccessSource {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * The stream the bytes are read from
+     */
+    private final InputStream source;
+
+    /**
+     * The window of the stream that is currently kept in memory
+     */
+    private byte[] buffer;
+
+    /**
+     * The stream position of the first byte of the buffer
+     */
+    private long bufferStart;
+
+    /**
+     * The number of valid bytes in the buffer
+     */
+    private int bufferLength;
+
+    /**
+     * The position before which the bytes may be dropped from the buffer
+     */
+    private long discardPosition;
+
+    private boolean endOfStream;
+
+    /**
+     * Constructs a new StreamingRandomAccessSource with the default window size
+     * @param source the stream to read from
+     */
+    public StreamingRandomAccessSource(InputStream source) {
+        this(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new StreamingRandomAccessSource
+     * @param source the stream to read from
+     * @param initialBufferSize the initial size of the window. The window grows if more bytes must be kept.
+     */
+    public StreamingRandomAccessSource(InputStream source, int initialBufferSize) {
+        this.source = source;
+        this.buffer = new byte[Math.max(initialBufferSize, 16)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        if (!fill(position)) {
+            return -1;
+        }
+        return buffer[(int) (position - bufferStart)] & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (!fill(position)) {
+            return -1;
+        }
+        int count = (int) Math.min(len, bufferStart + bufferLength - position);
+        System.arraycopy(buffer, (int) (position - bufferStart), bytes, off, count);
+        return count;
+    }
+
+    /**
+     * Returns the length of the stream, which is only known after its end has been reached.
+     * @return the length of the stream, or -1 if the end of the stream has not been reached yet
+     */
+    public long length() {
+        return endOfStream ? bufferStart + bufferLength : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close() throws java.io.IOException {
+        buffer = null;
+        source.close();
+    }
+
+    /**
+     * Allows the bytes before the given position to be dropped from memory. Reading these positions afterwards
+     * results in an exception.
+     * @param position the first position which must still be readable
+     */
+    public void discardBefore(long position) {
+        if (position > discardPosition) {
+            discardPosition = position;
+        }
+    }
+
+    /**
+     * Reads from the stream until the given position is in the buffer.
+     * @return false if the stream ends before the given position
+     */
+    private boolean fill(long position) throws java.io.IOException {
+        if (position < bufferStart) {
+            throw new java.io.IOException("Position " + position + " has already been discarded from the stream window.");
+        }
+        while (position >= bufferStart + bufferLength) {
+            if (endOfStream) {
+                return false;
+            }
+            if (bufferLength == buffer.length) {
+                makeRoom();
+            }
+            int read = source.read(buffer, bufferLength, buffer.length - bufferLength);
+            if (read < 0) {
+                endOfStream = true;
+            } else {
+                bufferLength += read;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops the discarded bytes from the buffer, or grows the buffer if nothing can be dropped.
+     */
+    private void makeRoom() {
+        int discardable = (int) Math.min(discardPosition - bufferStart, bufferLength);
+        if (discardable > 0) {
+            System.arraycopy(buffer, discardable, buffer, 0, bufferLength - discardable);
+            bufferStart += discardable;
+            bufferLength -= discardable;
+        }
+        if (bufferLength > buffer.length / 2) {
+            byte[] newBuffer = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, newBuffer, 0, bufferLength);
+            buffer = newBuffer;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ReadNumbersTest {
+
+    @Test
+    public void readRandomNumbersTest() throws IOException {
+        Random rnd = new Random(42);
+        StringBuilder content = new StringBuilder();
+        String[] numbers = new String[10000];
+        for (int i = 0; i < numbers.length; i++) {
+            double d = (rnd.nextDouble() - 0.5) * Math.pow(10, rnd.nextInt(12));
+            numbers[i] = rnd.nextBoolean() ? String.valueOf((long) d) : String.format(java.util.Locale.US, "%." + rnd.nextInt(8) + "f", d);
+            content.append(numbers[i]).append(' ');
+        }
+        PdfTokenizer tokenizer = createTokenizer(content.toString());
+        for (String number : numbers) {
+            Assert.assertTrue(tokenizer.nextToken());
+            Assert.assertEquals(PdfTokenizer.TokenType.Number, tokenizer.getTokenType());
+            Assert.assertEquals(number, Double.parseDouble(number), tokenizer.getDoubleValue(), 0);
+        }
+    }
+
+    @Test
+    public void readSpecialNumbersTest() throws IOException {
+        PdfTokenizer tokenizer = createTokenizer("-.5 +3 5. 0 -0 12345678901234567890.5 0.00000000000000000000000001 1.2.3");
+        double[] expected = {-0.5, 3, 5, 0, -0.0, 12345678901234567890.5, 1e-26, Double.NaN};
+        for (double value : expected) {
+            Assert.assertTrue(tokenizer.nextToken());
+            Assert.assertEquals(Double.valueOf(value), Double.valueOf(tokenizer.getDoubleValue()));
+        }
+    }
+
+    private static PdfTokenizer createTokenizer(String content) {
+        return new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(ByteUtils.getIsoBytes(content))));
+    }
+}
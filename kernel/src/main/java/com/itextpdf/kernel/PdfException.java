@@ -198,6 +198,7 @@ public class PdfException extends RuntimeException {
     public static final String ResourcesCannotBeNull = "resources.cannot.be.null";
     public static final String ResourcesDoNotContainExtgstateEntryUnableToProcessOperator1 = "resources.do.not.contain.extgstate.entry.unable.to.process.operator {0}";
     public static final String RoleIsNotMappedWithAnyStandardRole = "role.is.not.mapped.with.any.standard.role";
+    public static final String Section1CouldNotBeLaidOut = "section {0} could.not.be.laid.out";
     public static final String SignatureWithName1IsNotTheLastItDoesntCoverWholeDocument = "signature.with.name.1.is.not.the.last.it.doesnt.cover.whole.document";
     public static final String StdcfNotFoundEncryption = "stdcf.not.found.encryption";
     public static final String StructParentIndexNotFoundInTaggedObject = "struct.parent.index.not.found.in.tagged.object";
@@ -43,52 +43,101 @@
  */
 package com.itextpdf.kernel.crypto;
 
-import org.bouncycastle.crypto.BlockCipher;
-import org.bouncycastle.crypto.engines.AESFastEngine;
-import org.bouncycastle.crypto.modes.CBCBlockCipher;
-import org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher;
-import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.crypto.params.ParametersWithIV;
+import java.util.Arrays;
 
 /**
  * Creates an AES Cipher with CBC and padding PKCS5/7.
+ * <p>
+ * The actual encryption is done by an {@link IAesCipher} created by an {@link IAesCipherBackend}.
+ * By default the Bouncy Castle implementation is used, see {@link #setDefaultBackend(IAesCipherBackend)}.
  * @author Paulo Soares
  */
 public class AESCipher {
 
-    private PaddedBufferedBlockCipher bp;
+    private static volatile IAesCipherBackend defaultBackend = new BouncyCastleAesCipherBackend();
+
+    private IAesCipher cipher;
     
     /** Creates a new instance of AESCipher */
     public AESCipher(boolean forEncryption, byte[] key, byte[] iv) {
-        BlockCipher aes = new AESFastEngine();
-        BlockCipher cbc = new CBCBlockCipher(aes);
-        bp = new PaddedBufferedBlockCipher(cbc);
-        KeyParameter kp = new KeyParameter(key);
-        ParametersWithIV piv = new ParametersWithIV(kp, iv);
-        bp.init(forEncryption, piv);
+        this(forEncryption, key, iv, defaultBackend);
+    }
+
+    /**
+     * Creates a new instance of AESCipher which uses the specified backend.
+     * @param forEncryption true for encryption, false for decryption
+     * @param key the key
+     * @param iv the initialization vector
+     * @param backend the backend which creates the actual cipher
+     */
+    public AESCipher(boolean forEncryption, byte[] key, byte[] iv, IAesCipherBackend backend) {
+        cipher = backend.createCipher(forEncryption, key, iv);
+    }
+
+    /**
+     * Sets the backend used by the ciphers created without explicitly specified one, e.g. for
+     * the encryption and decryption of the documents. Use {@link JceAesCipherBackend} to make use
+     * of the JDK implementation of AES, which can benefit from the hardware support.
+     * @param backend the backend to be used by default
+     */
+    public static void setDefaultBackend(IAesCipherBackend backend) {
+        defaultBackend = backend;
+    }
+
+    /**
+     * Gets the backend used by the ciphers created without explicitly specified one.
+     * @return the default backend
+     */
+    public static IAesCipherBackend getDefaultBackend() {
+        return defaultBackend;
     }
     
     public byte[] update(byte[] inp, int inpOff, int inpLen) {
-        int neededLen = bp.getUpdateOutputSize(inpLen);
+        int neededLen = cipher.getUpdateOutputSize(inpLen);
         byte[] outp;
         if (neededLen > 0) {
             outp = new byte[neededLen];
         } else {
             outp = new byte[0];
         }
-        bp.processBytes(inp, inpOff, inpLen, outp, 0);
+        cipher.update(inp, inpOff, inpLen, outp, 0);
         return outp;
     }
+
+    /**
+     * Processes the input and writes the result into the supplied buffer.
+     * @param inp the input buffer
+     * @param inpOff the offset of the input in the buffer
+     * @param inpLen the length of the input
+     * @param outp the output buffer, which shall have at least {@link #getUpdateOutputSize(int)} bytes available
+     * @param outOff the offset in the output buffer
+     * @return the number of bytes written
+     */
+    public int update(byte[] inp, int inpOff, int inpLen, byte[] outp, int outOff) {
+        return cipher.update(inp, inpOff, inpLen, outp, outOff);
+    }
+
+    /**
+     * Gets the number of bytes {@link #update(byte[], int, int, byte[], int)} will write for the given input length.
+     * @param inpLen the length of the input
+     * @return the length of the output
+     */
+    public int getUpdateOutputSize(int inpLen) {
+        return cipher.getUpdateOutputSize(inpLen);
+    }
+
+    /**
+     * Gets the maximum number of bytes {@link #doFinal(byte[], int)} may write.
+     * @return the maximum length of the final output
+     */
+    public int getFinalOutputSize() {
+        return cipher.getFinalOutputSize();
+    }
     
     public byte[] doFinal() {
-        int neededLen = bp.getOutputSize(0);
+        int neededLen = cipher.getFinalOutputSize();
         byte[] outp = new byte[neededLen];
-        int n;
-        try {
-            n = bp.doFinal(outp, 0);
-        } catch (Exception ex) {
-            return outp;
-        }
+        int n = doFinal(outp, 0);
         if (n != outp.length) {
             byte[] outp2 = new byte[n];
             System.arraycopy(outp, 0, outp2, 0, n);
@@ -98,4 +147,22 @@ public class AESCipher {
             return outp;
     }
 
+    /**
+     * Finishes the processing and writes the result into the supplied buffer. If the decrypted data has
+     * wrong length or padding, {@link #getFinalOutputSize()} zero bytes are written instead,
+     * in the same way as {@link #doFinal()} returns them.
+     * @param outp the output buffer, which shall have at least {@link #getFinalOutputSize()} bytes available
+     * @param outOff the offset in the output buffer
+     * @return the number of bytes written
+     */
+    public int doFinal(byte[] outp, int outOff) {
+        int neededLen = cipher.getFinalOutputSize();
+        try {
+            return cipher.doFinal(outp, outOff);
+        } catch (Exception ex) {
+            Arrays.fill(outp, outOff, outOff + neededLen, (byte) 0);
+            return neededLen;
+        }
+    }
+
 }
@@ -77,6 +77,60 @@ public class AesDecryptor implements IDecryptor {
         }
     }
 
+    /**
+     * Decrypts the data and writes the result into the supplied buffer. The first 16 bytes of the data
+     * are the initialization vector, they are consumed without producing any output.
+     *
+     * @param b      the encrypted data
+     * @param off    the offset of the data
+     * @param len    the length of the data
+     * @param outp   the output buffer, which shall have at least {@link #getUpdateOutputSize(int)} bytes available.
+     *               This is at most {@code len + 16} bytes, because the cipher holds back up to one block
+     *               of the previous data
+     * @param outOff the offset in the output buffer
+     * @return the number of bytes written
+     */
+    public int update(byte[] b, int off, int len, byte[] outp, int outOff) {
+        if (!initiated) {
+            int left = Math.min(iv.length - ivptr, len);
+            System.arraycopy(b, off, iv, ivptr, left);
+            off += left;
+            len -= left;
+            ivptr += left;
+            if (ivptr < iv.length) {
+                return 0;
+            }
+            cipher = new AESCipher(false, key, iv);
+            initiated = true;
+        }
+        return len > 0 ? cipher.update(b, off, len, outp, outOff) : 0;
+    }
+
+    /**
+     * Gets the maximum number of bytes {@link #update(byte[], int, int, byte[], int)} will write for the given data length.
+     *
+     * @param len the length of the data
+     * @return the maximum length of the output, at most {@code len + 16}
+     */
+    public int getUpdateOutputSize(int len) {
+        if (!initiated) {
+            // the rest of the initialization vector produces no output, and a new cipher holds nothing back
+            return Math.max(len - (iv.length - ivptr), 0);
+        }
+        return cipher.getUpdateOutputSize(len);
+    }
+
+    /**
+     * Finishes the decryption and writes the rest of the decrypted data into the supplied buffer.
+     *
+     * @param outp   the output buffer, which shall have at least 16 bytes available
+     * @param outOff the offset in the output buffer
+     * @return the number of bytes written
+     */
+    public int finish(byte[] outp, int outOff) {
+        return cipher != null ? cipher.doFinal(outp, outOff) : 0;
+    }
+
     public byte[] finish() {
         if (cipher != null) {
             return cipher.doFinal();
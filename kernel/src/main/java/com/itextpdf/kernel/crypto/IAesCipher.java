@@ -0,0 +1,91 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.crypto;
+
+/**
+ * An AES cipher in CBC mode with PKCS#5/7 padding, which writes its output into the buffers supplied by the caller.
+ * <p>
+ * Like {@link org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher}, the cipher always keeps at least one
+ * byte of input (a whole block if the input is block-aligned) until {@link #doFinal(byte[], int)}, so the padding
+ * can be added or removed there.
+ */
+public interface IAesCipher {
+
+    /**
+     * Gets the number of bytes {@link #update(byte[], int, int, byte[], int)} will write for the given input length.
+     *
+     * @param inpLen the length of the input
+     * @return the length of the output
+     */
+    int getUpdateOutputSize(int inpLen);
+
+    /**
+     * Processes the input.
+     *
+     * @param inp    the input buffer
+     * @param inpOff the offset of the input in the buffer
+     * @param inpLen the length of the input
+     * @param outp   the output buffer, which shall have at least {@link #getUpdateOutputSize(int)} bytes available
+     * @param outOff the offset in the output buffer
+     * @return the number of bytes written to the output buffer
+     */
+    int update(byte[] inp, int inpOff, int inpLen, byte[] outp, int outOff);
+
+    /**
+     * Gets the maximum number of bytes {@link #doFinal(byte[], int)} may write.
+     *
+     * @return the maximum length of the final output
+     */
+    int getFinalOutputSize();
+
+    /**
+     * Processes the input kept by the cipher and adds or removes the padding.
+     *
+     * @param outp   the output buffer, which shall have at least {@link #getFinalOutputSize()} bytes available
+     * @param outOff the offset in the output buffer
+     * @return the number of bytes written to the output buffer
+     * @throws com.itextpdf.kernel.PdfException if the decrypted data has wrong length or padding
+     */
+    int doFinal(byte[] outp, int outOff);
+}
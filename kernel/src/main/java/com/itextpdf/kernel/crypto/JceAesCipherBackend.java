@@ -0,0 +1,172 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.crypto;
+
+import com.itextpdf.kernel.PdfException;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Creates AES ciphers based on the {@link Cipher} of the installed JCE providers, which
+ * use the hardware AES instructions where the JVM supports them. The padding is handled by iText,
+ * so the ciphers produce exactly the same output as the ones of {@link BouncyCastleAesCipherBackend}.
+ * <p>
+ * Note that 256-bit keys may require the unlimited strength jurisdiction policy files on older JREs.
+ */
+public class JceAesCipherBackend implements IAesCipherBackend {
+
+    private static final int BLOCK_SIZE = 16;
+
+    @Override
+    public IAesCipher createCipher(boolean forEncryption, byte[] key, byte[] iv) {
+        return new JceAesCipher(forEncryption, key, iv);
+    }
+
+    private static class JceAesCipher implements IAesCipher {
+
+        private final Cipher cipher;
+        private final boolean forEncryption;
+        private final byte[] buf = new byte[BLOCK_SIZE];
+        private int bufOff;
+
+        JceAesCipher(boolean forEncryption, byte[] key, byte[] iv) {
+            this.forEncryption = forEncryption;
+            try {
+                cipher = Cipher.getInstance("AES/CBC/NoPadding");
+                cipher.init(forEncryption ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+            } catch (GeneralSecurityException e) {
+                throw new PdfException(PdfException.PdfEncryption, e);
+            }
+        }
+
+        @Override
+        public int getUpdateOutputSize(int inpLen) {
+            int total = bufOff + inpLen;
+            int leftOver = total % BLOCK_SIZE;
+            if (leftOver == 0) {
+                return Math.max(0, total - BLOCK_SIZE);
+            }
+            return total - leftOver;
+        }
+
+        @Override
+        public int update(byte[] inp, int inpOff, int inpLen, byte[] outp, int outOff) {
+            int outLen = getUpdateOutputSize(inpLen);
+            int written = 0;
+            if (outLen > 0) {
+                if (bufOff > 0) {
+                    int fill = BLOCK_SIZE - bufOff;
+                    System.arraycopy(inp, inpOff, buf, bufOff, fill);
+                    inpOff += fill;
+                    inpLen -= fill;
+                    bufOff = 0;
+                    written = process(buf, 0, BLOCK_SIZE, outp, outOff);
+                }
+                int blocksLen = outLen - written;
+                if (blocksLen > 0) {
+                    written += process(inp, inpOff, blocksLen, outp, outOff + written);
+                    inpOff += blocksLen;
+                    inpLen -= blocksLen;
+                }
+            }
+            System.arraycopy(inp, inpOff, buf, bufOff, inpLen);
+            bufOff += inpLen;
+            return written;
+        }
+
+        @Override
+        public int getFinalOutputSize() {
+            int leftOver = bufOff % BLOCK_SIZE;
+            if (leftOver == 0) {
+                return forEncryption ? bufOff + BLOCK_SIZE : bufOff;
+            }
+            return bufOff - leftOver + BLOCK_SIZE;
+        }
+
+        @Override
+        public int doFinal(byte[] outp, int outOff) {
+            try {
+                if (forEncryption) {
+                    int written = 0;
+                    if (bufOff == BLOCK_SIZE) {
+                        written = process(buf, 0, BLOCK_SIZE, outp, outOff);
+                        bufOff = 0;
+                    }
+                    Arrays.fill(buf, bufOff, BLOCK_SIZE, (byte) (BLOCK_SIZE - bufOff));
+                    return written + process(buf, 0, BLOCK_SIZE, outp, outOff + written);
+                }
+                if (bufOff != BLOCK_SIZE) {
+                    throw new PdfException(PdfException.PdfEncryption);
+                }
+                process(buf, 0, BLOCK_SIZE, buf, 0);
+                int padCount = buf[BLOCK_SIZE - 1] & 0xff;
+                if (padCount < 1 || padCount > BLOCK_SIZE) {
+                    throw new PdfException(PdfException.PdfEncryption);
+                }
+                for (int i = BLOCK_SIZE - padCount; i < BLOCK_SIZE; i++) {
+                    if ((buf[i] & 0xff) != padCount) {
+                        throw new PdfException(PdfException.PdfEncryption);
+                    }
+                }
+                System.arraycopy(buf, 0, outp, outOff, BLOCK_SIZE - padCount);
+                return BLOCK_SIZE - padCount;
+            } finally {
+                bufOff = 0;
+            }
+        }
+
+        private int process(byte[] inp, int inpOff, int inpLen, byte[] outp, int outOff) {
+            try {
+                return cipher.update(inp, inpOff, inpLen, outp, outOff);
+            } catch (ShortBufferException e) {
+                throw new PdfException(PdfException.PdfEncryption, e);
+            }
+        }
+    }
+}
@@ -47,8 +47,11 @@ import com.itextpdf.kernel.PdfException;
 import java.io.IOException;
 
 public class OutputStreamAesEncryption extends OutputStreamEncryption {
+    private static final int MAX_CHUNK_SIZE = 8192;
+
     protected AESCipher cipher;
     private boolean finished;
+    private byte[] buffer;
 
     /**
      * Creates a new instance of OutputStreamCounter
@@ -99,22 +102,35 @@ public class OutputStreamAesEncryption extends OutputStreamEncryption {
      *                     stream is closed.
      */
     public void write(byte[] b, int off, int len) throws IOException {
-        byte[] b2 = cipher.update(b, off, len);
-        if (b2 == null || b2.length == 0)
-            return;
-        out.write(b2, 0, b2.length);
+        // the input is encrypted in chunks, so that the buffer for the output is bounded and can be reused
+        while (len > 0) {
+            int chunkLen = Math.min(len, MAX_CHUNK_SIZE);
+            int n = cipher.update(b, off, chunkLen, getBuffer(cipher.getUpdateOutputSize(chunkLen)), 0);
+            if (n > 0) {
+                out.write(buffer, 0, n);
+            }
+            off += chunkLen;
+            len -= chunkLen;
+        }
     }
 
     public void finish() {
         if (!finished) {
             finished = true;
 
-            byte[] b = cipher.doFinal();
+            int n = cipher.doFinal(getBuffer(cipher.getFinalOutputSize()), 0);
             try {
-                out.write(b, 0, b.length);
+                out.write(buffer, 0, n);
             } catch (IOException e) {
                 throw new PdfException(PdfException.PdfEncryption, e);
             }
         }
     }
+
+    private byte[] getBuffer(int size) {
+        if (buffer == null || buffer.length < size) {
+            buffer = new byte[Math.max(size, 16)];
+        }
+        return buffer;
+    }
 }
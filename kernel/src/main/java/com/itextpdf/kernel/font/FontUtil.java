@@ -58,7 +58,10 @@ import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfStream;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,14 +70,48 @@ class FontUtil {
 
     private static final HashMap<String, CMapToUnicode> uniMaps = new HashMap<>();
 
+    /**
+     * Parsed ToUnicode CMaps by the content of their streams, least recently used first.
+     */
+    private static final LinkedHashMap<ToUnicodeKey, CMapToUnicode> toUnicodeCache = new LinkedHashMap<ToUnicodeKey, CMapToUnicode>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ToUnicodeKey, CMapToUnicode> eldest) {
+            return size() > toUnicodeCacheSize;
+        }
+    };
+
+    private static volatile int toUnicodeCacheSize = 0;
+
+    static void setToUnicodeCacheSize(int size) {
+        synchronized (toUnicodeCache) {
+            toUnicodeCacheSize = Math.max(size, 0);
+            if (toUnicodeCache.size() > toUnicodeCacheSize) {
+                toUnicodeCache.clear();
+            }
+        }
+    }
+
     static CMapToUnicode processToUnicode(PdfObject toUnicode) {
         CMapToUnicode cMapToUnicode = null;
         if (toUnicode instanceof PdfStream) {
             try {
                 byte[] uniBytes = ((PdfStream) toUnicode).getBytes();
-                ICMapLocation lb = new CMapLocationFromBytes(uniBytes);
-                cMapToUnicode = new CMapToUnicode();
-                CMapParser.parseCid("", cMapToUnicode, lb);
+                ToUnicodeKey key = toUnicodeCacheSize > 0 ? new ToUnicodeKey(uniBytes) : null;
+                if (key != null) {
+                    synchronized (toUnicodeCache) {
+                        cMapToUnicode = toUnicodeCache.get(key);
+                    }
+                }
+                if (cMapToUnicode == null) {
+                    ICMapLocation lb = new CMapLocationFromBytes(uniBytes);
+                    cMapToUnicode = new CMapToUnicode();
+                    CMapParser.parseCid("", cMapToUnicode, lb);
+                    if (key != null) {
+                        synchronized (toUnicodeCache) {
+                            toUnicodeCache.put(key, cMapToUnicode);
+                        }
+                    }
+                }
             } catch (Exception e) {
                 Logger logger = LoggerFactory.getLogger(CMapToUnicode.class);
                 logger.error(LogMessageConstant.UNKNOWN_ERROR_WHILE_PROCESSING_CMAP);
@@ -154,4 +191,24 @@ class FontUtil {
         }
         return res;
     }
+
+    private static final class ToUnicodeKey {
+        private final byte[] content;
+        private final int hash;
+
+        ToUnicodeKey(byte[] content) {
+            this.content = content;
+            this.hash = Arrays.hashCode(content);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ToUnicodeKey && hash == ((ToUnicodeKey) o).hash && Arrays.equals(content, ((ToUnicodeKey) o).content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -270,6 +270,17 @@ public final class PdfFontFactory {
         return FontProgramFactory.isRegisteredFont(fontname);
     }
 
+    /**
+     * Sets the maximum number of parsed ToUnicode CMaps which are kept in a process-wide cache.
+     * Fonts created from font dictionaries with identical ToUnicode streams, even in different documents,
+     * share the cached CMap instead of parsing it again. The cache is disabled by default.
+     *
+     * @param size the maximum number of cached CMaps, or 0 to disable and clear the cache.
+     */
+    public static void setToUnicodeCacheSize(int size) {
+        FontUtil.setToUnicodeCacheSize(size);
+    }
+
     protected static boolean checkFontDictionary(PdfDictionary fontDic, PdfName fontType, boolean isException) {
         if (fontDic == null || fontDic.get(PdfName.Subtype) == null
                 || !fontDic.get(PdfName.Subtype).equals(fontType)) {
@@ -54,6 +54,7 @@ import com.itextpdf.kernel.events.IEventDispatcher;
 import com.itextpdf.kernel.events.IEventHandler;
 import com.itextpdf.kernel.events.PdfDocumentEvent;
 import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.log.Counter;
 import com.itextpdf.kernel.log.CounterFactory;
@@ -161,6 +162,11 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
 
     protected Set<PdfFont> documentFonts = new HashSet<>();
 
+    /**
+     * Fonts created from the font dictionaries of the document, by the indirect references of the dictionaries.
+     */
+    private final Map<PdfIndirectReference, PdfFont> loadedFonts = new HashMap<>();
+
     protected TagStructureContext tagStructureContext;
 
     /**
@@ -323,6 +329,29 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         return catalog.getPageTree().getPage(pageDictionary);
     }
 
+    /**
+     * Gets the {@link PdfFont} instance by the font {@link PdfDictionary} of the document.
+     * The font is created once per dictionary and shared, so pages using the same font don't parse
+     * its widths, encoding and ToUnicode CMap again. This method is thread-safe.
+     *
+     * @param fontDictionary indirect {@link PdfDictionary} that presents the font.
+     * @return the font, shared by all callers which ask for the same dictionary.
+     */
+    public PdfFont getFont(PdfDictionary fontDictionary) {
+        PdfIndirectReference reference = fontDictionary.getIndirectReference();
+        if (reference == null) {
+            return PdfFontFactory.createFont(fontDictionary);
+        }
+        synchronized (loadedFonts) {
+            PdfFont font = loadedFonts.get(reference);
+            if (font == null) {
+                font = PdfFontFactory.createFont(fontDictionary);
+                loadedFonts.put(reference, font);
+            }
+            return font;
+        }
+    }
+
     /**
      * Get the first page of the document.
      *
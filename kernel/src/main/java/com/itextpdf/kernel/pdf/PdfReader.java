@@ -298,6 +298,30 @@ public class PdfReader implements Closeable, Serializable {
         return bytes != null ? new ByteArrayInputStream(bytes) : null;
     }
 
+    /**
+     * Gets the input stream which reads the original, still encoded, bytes of the PdfStream.
+     * Unless the document is encrypted, the bytes are read straight from the source of the document
+     * while the stream is being read, so they are never kept in memory as a whole.
+     * User is responsible for closing returned stream.
+     *
+     * @return InputStream, or {@code null} if the PdfStream was not read from the document
+     * @throws IOException
+     */
+    public InputStream readStreamRaw(PdfStream stream) throws IOException {
+        if (decrypt != null) {
+            byte[] bytes = readStreamBytesRaw(stream);
+            return bytes != null ? new ByteArrayInputStream(bytes) : null;
+        }
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+        long offset = stream.getOffset();
+        if (offset <= 0)
+            return null;
+        int length = Math.max(stream.getLength(), 0);
+        return new RASInputStream(new WindowRandomAccessSource(tokens.getSafeFile().createSourceView(), offset, length));
+    }
+
     /**
      * Decode a byte[] applying the filters specified in the provided dictionary using default filter handlers.
      *
@@ -58,6 +58,7 @@ import com.itextpdf.kernel.pdf.canvas.parser.clipper.DefaultClipper;
 import com.itextpdf.kernel.pdf.canvas.parser.clipper.PolyTree;
 import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -67,7 +68,7 @@ import java.util.List;
  */
 public class ParserGraphicsState extends CanvasGraphicsState {
     // NOTE: From the spec default value of this field should be the boundary of the entire imageable portion of the output page.
-    private Path clippingPath;
+    private LazyClippingPath clippingPath;
 
     /**
      * Internal empty & default constructor.
@@ -78,14 +79,15 @@ public class ParserGraphicsState extends CanvasGraphicsState {
 
     /**
      * Copy constructor.
+     * <br/>
+     * The clipping path is shared with the source until one of the states changes it,
+     * so saving the graphics state doesn't copy it.
      * @param source the Graphics State to copy from
      */
     ParserGraphicsState(ParserGraphicsState source) {
         super(source);
 
-        if (source.clippingPath != null) {
-            clippingPath = new Path(source.clippingPath);
-        }
+        clippingPath = source.clippingPath;
     }
 
     /**
@@ -98,7 +100,7 @@ public class ParserGraphicsState extends CanvasGraphicsState {
     public void setClippingPath(Path clippingPath) {
         Path pathCopy = new Path(clippingPath);
         pathCopy.closeAllSubpaths();
-        this.clippingPath = pathCopy;
+        this.clippingPath = new LazyClippingPath(pathCopy);
     }
 
     @Override
@@ -106,13 +108,15 @@ public class ParserGraphicsState extends CanvasGraphicsState {
         super.updateCtm(newCtm);
 
         if (clippingPath != null) {
-            transformClippingPath(newCtm);
+            clippingPath = new LazyClippingPath(clippingPath, newCtm);
         }
     }
 
     /**
      * Intersects the current clipping path with the given path.
      * <br/>
+     * The intersection is computed when the clipping path is requested with {@link #getClippingPath()}.
+     * <br/>
      * <strong>Note:</strong> Coordinates of the given path should be in
      * the transformed user space.
      * @param path The path to be intersected with the current clipping path.
@@ -121,21 +125,14 @@ public class ParserGraphicsState extends CanvasGraphicsState {
      *                    {@link PdfCanvasConstants.FillingRule#NONZERO_WINDING}
      */
     public void clip(Path path, int fillingRule) {
-        if (clippingPath == null || clippingPath.isEmpty()) {
+        if (clippingPath == null || clippingPath.isResolvedToEmptyPath()) {
             return;
         }
 
         Path pathCopy = new Path(path);
         pathCopy.closeAllSubpaths();
 
-        IClipper clipper = new DefaultClipper();
-        ClipperBridge.addPath(clipper, clippingPath, IClipper.PolyType.SUBJECT);
-        ClipperBridge.addPath(clipper, pathCopy, IClipper.PolyType.CLIP);
-
-        PolyTree resultTree = new PolyTree();
-        clipper.execute(IClipper.ClipType.INTERSECTION, resultTree, IClipper.PolyFillType.NON_ZERO, ClipperBridge.getFillType(fillingRule));
-
-        clippingPath = ClipperBridge.convertToPath(resultTree);
+        clippingPath = new LazyClippingPath(clippingPath, pathCopy, fillingRule);
     }
 
     /**
@@ -143,13 +140,29 @@ public class ParserGraphicsState extends CanvasGraphicsState {
      * <br/>
      * <strong>Note:</strong> The returned clipping path is in the transformed user space, so
      * if you want to get it in default user space, apply transformation matrix ({@link CanvasGraphicsState#getCtm()}).
+     * The returned path may be shared with saved graphics states and must not be modified.
      * @return The current clipping path.
      */
     public Path getClippingPath() {
-        return clippingPath;
+        return clippingPath != null ? clippingPath.resolve() : null;
+    }
+
+    private static Path intersect(Path clippingPath, Path path, int fillingRule) {
+        if (clippingPath.isEmpty()) {
+            return clippingPath;
+        }
+
+        IClipper clipper = new DefaultClipper();
+        ClipperBridge.addPath(clipper, clippingPath, IClipper.PolyType.SUBJECT);
+        ClipperBridge.addPath(clipper, path, IClipper.PolyType.CLIP);
+
+        PolyTree resultTree = new PolyTree();
+        clipper.execute(IClipper.ClipType.INTERSECTION, resultTree, IClipper.PolyFillType.NON_ZERO, ClipperBridge.getFillType(fillingRule));
+
+        return ClipperBridge.convertToPath(resultTree);
     }
 
-    private void transformClippingPath(Matrix newCtm) {
+    private static Path transformClippingPath(Path clippingPath, Matrix newCtm) {
         Path path = new Path();
 
         for (Subpath subpath : clippingPath.getSubpaths()) {
@@ -157,10 +170,10 @@ public class ParserGraphicsState extends CanvasGraphicsState {
             path.addSubpath(transformedSubpath);
         }
 
-        clippingPath = path;
+        return path;
     }
 
-    private Subpath transformSubpath(Subpath subpath, Matrix newCtm) {
+    private static Subpath transformSubpath(Subpath subpath, Matrix newCtm) {
         Subpath newSubpath = new Subpath();
         newSubpath.setClosed(subpath.isClosed());
 
@@ -172,7 +185,7 @@ public class ParserGraphicsState extends CanvasGraphicsState {
         return newSubpath;
     }
 
-    private IShape transformSegment(IShape segment, Matrix newCtm) {
+    private static IShape transformSegment(IShape segment, Matrix newCtm) {
         IShape newSegment;
         List<Point> segBasePts = segment.getBasePoints();
         Point[] transformedPoints = transformPoints(newCtm, segBasePts.toArray(new Point[segBasePts.size()]));
@@ -186,7 +199,7 @@ public class ParserGraphicsState extends CanvasGraphicsState {
         return newSegment;
     }
 
-    private Point[] transformPoints(Matrix transformationMatrix, Point... points) {
+    private static Point[] transformPoints(Matrix transformationMatrix, Point... points) {
         try {
 
             AffineTransform t = new AffineTransform(
@@ -204,4 +217,60 @@ public class ParserGraphicsState extends CanvasGraphicsState {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    /**
+     * A clipping path which is either known, or is the result of a pending transformation or
+     * intersection of another clipping path. Once computed, the result is kept and the
+     * operands are released, so each operation is applied at most once.
+     */
+    private static final class LazyClippingPath {
+        private LazyClippingPath source;
+        private Matrix transformation;
+        private Path intersectedPath;
+        private int fillingRule;
+        private Path path;
+
+        LazyClippingPath(Path path) {
+            this.path = path;
+        }
+
+        LazyClippingPath(LazyClippingPath source, Matrix transformation) {
+            this.source = source;
+            this.transformation = transformation;
+        }
+
+        LazyClippingPath(LazyClippingPath source, Path intersectedPath, int fillingRule) {
+            this.source = source;
+            this.intersectedPath = intersectedPath;
+            this.fillingRule = fillingRule;
+        }
+
+        boolean isResolvedToEmptyPath() {
+            return path != null && path.isEmpty();
+        }
+
+        Path resolve() {
+            if (path == null) {
+                // resolve iteratively, thousands of pending operations must not exhaust the stack
+                List<LazyClippingPath> pending = new ArrayList<>();
+                LazyClippingPath node = this;
+                while (node.path == null) {
+                    pending.add(node);
+                    node = node.source;
+                }
+                Path result = node.path;
+                for (int i = pending.size() - 1; i >= 0; i--) {
+                    node = pending.get(i);
+                    result = node.transformation != null
+                            ? transformClippingPath(result, node.transformation)
+                            : intersect(result, node.intersectedPath, node.fillingRule);
+                    node.path = result;
+                    node.source = null;
+                    node.transformation = null;
+                    node.intersectedPath = null;
+                }
+            }
+            return path;
+        }
+    }
 }
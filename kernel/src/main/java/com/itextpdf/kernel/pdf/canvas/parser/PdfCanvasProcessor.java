@@ -46,6 +46,7 @@ package com.itextpdf.kernel.pdf.canvas.parser;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.source.StreamingRandomAccessSource;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.color.CalGray;
 import com.itextpdf.kernel.color.CalRgb;
@@ -71,8 +72,10 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfPageContentInputStream;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
@@ -89,6 +92,7 @@ import com.itextpdf.kernel.pdf.colorspace.PdfPattern;
 import com.itextpdf.kernel.pdf.colorspace.PdfSpecialCs;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -100,6 +104,12 @@ import java.util.Stack;
 
 /**
  * Processor for a PDF content stream.
+ * <p>
+ * Only the operators which are needed for the events supported by the {@link IEventListener} are processed,
+ * see {@link #populateOperators()}. In particular, the marked content operators BMC, BDC and EMC are processed
+ * only if the listener supports {@link EventType#RENDER_TEXT}, because marked content is reported with the text
+ * only. A subclass which needs {@link #beginMarkedContent(PdfName, PdfDictionary)} and {@link #endMarkedContent()}
+ * for other listeners should override {@link #populateOperators()} and call {@link #registerMarkedContentOperators()}.
  */
 public class PdfCanvasProcessor {
 
@@ -165,6 +175,30 @@ public class PdfCanvasProcessor {
      */
     private Stack<CanvasTag> markedContentStack = new Stack<>();
 
+    /**
+     * Indicates whether page content is tokenized straight from its content streams
+     * instead of from the concatenated page content bytes.
+     */
+    private boolean streamingContent;
+
+    /**
+     * Indicates whether number operands are reused between operators.
+     */
+    private boolean reuseOperands;
+
+    /**
+     * The operators of up to three bytes, looked up by {@link PdfCanvasParser#getOperatorCode()}.
+     * The table is built lazily from {@link #operators} and uses open addressing.
+     */
+    private int[] operatorCodes;
+    private IContentOperator[] operatorsByCode;
+
+    /**
+     * The operator returned by the last parse and its code.
+     */
+    private PdfLiteral parsedOperator;
+    private int parsedOperatorCode;
+
     /**
      * Creates a new PDF Content Stream Processor that will send it's output to the
      * designated render listener.
@@ -206,6 +240,8 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        operatorCodes = null;
+        operatorsByCode = null;
         return operators.put(operatorString, operator);
     }
 
@@ -244,38 +280,121 @@ public class PdfCanvasProcessor {
      * @param resources    the resources of the content stream. Must not be null.
      */
     public void processContent(byte[] contentBytes, PdfResources resources) {
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
+        processContent(tokeniser, null, resources);
+    }
+
+    /**
+     * Processes PDF syntax read from a stream. Only a small window of the stream is held in memory while
+     * it is parsed, so the memory needed is proportional to the largest operator with its operands rather
+     * than to the length of the content.
+     * <b>Note:</b> If you re-use a given {@link PdfCanvasProcessor}, you must call {@link PdfCanvasProcessor#reset()}
+     *
+     * @param contentStream the decoded content stream data
+     * @param resources     the resources of the content stream. Must not be null.
+     */
+    public void processContent(InputStream contentStream, PdfResources resources) {
+        StreamingRandomAccessSource source = new StreamingRandomAccessSource(contentStream);
+        try {
+            processContent(new PdfTokenizer(new RandomAccessFileOrArray(source)), source, resources);
+        } finally {
+            try {
+                source.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Processes PDF syntax.
+     * <br/>
+     * <strong>Note:</strong> If you re-use a given {@link PdfCanvasProcessor}, you must call {@link PdfCanvasProcessor#reset()}
+     *
+     * @param page the page to process
+     */
+    public void processPageContent(PdfPage page) {
+        initClippingPath(page);
+        clippingPathChanged();
+        if (streamingContent) {
+            processContent(new PdfPageContentInputStream(page), page.getResources());
+        } else {
+            processContent(page.getContentBytes(), page.getResources());
+        }
+    }
+
+    /**
+     * Sets whether {@link #processPageContent(PdfPage)} tokenizes the page content straight from the decoded
+     * content streams, one stream after another, instead of decoding and concatenating all of them first.
+     * This keeps the memory footprint of large pages low; the result of the processing is the same.
+     *
+     * @param streamingContent true to stream the page content, false to process the concatenated content bytes
+     * @return this {@link PdfCanvasProcessor} instance
+     */
+    public PdfCanvasProcessor setStreamingContent(boolean streamingContent) {
+        this.streamingContent = streamingContent;
+        return this;
+    }
+
+    /**
+     * Sets whether number operands are put into {@link PdfNumber} instances which are reused for the
+     * next operator, instead of allocating new ones for every operand, see {@link PdfCanvasParser#setReuseOperands(boolean)}.
+     * All operators registered by default copy the number operands they keep after they are invoked, so this is safe
+     * unless a custom {@link IContentOperator} keeps the operand objects.
+     *
+     * @param reuseOperands true to reuse number operands
+     * @return this {@link PdfCanvasProcessor} instance
+     */
+    public PdfCanvasProcessor setReuseOperands(boolean reuseOperands) {
+        this.reuseOperands = reuseOperands;
+        return this;
+    }
+
+    /**
+     * Checks whether number operands are reused between operators.
+     *
+     * @return true if number operands are reused
+     * @see #setReuseOperands(boolean)
+     */
+    public boolean isReuseOperands() {
+        return reuseOperands;
+    }
+
+    /**
+     * Checks whether {@link #processPageContent(PdfPage)} streams the page content.
+     *
+     * @return true if the page content is streamed
+     * @see #setStreamingContent(boolean)
+     */
+    public boolean isStreamingContent() {
+        return streamingContent;
+    }
+
+    private void processContent(PdfTokenizer tokeniser, StreamingRandomAccessSource streamingSource, PdfResources resources) {
         if (resources == null) {
             throw new PdfException(PdfException.ResourcesCannotBeNull);
         }
         this.resourcesStack.push(resources);
-        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        ps.setReuseOperands(reuseOperands);
+        // if no operator would receive the inline images, there is no need to parse their data
+        ps.setSkipInlineImages(!operators.containsKey("EI") && operators.get(DEFAULT_OPERATOR) instanceof IgnoreOperator);
         List<PdfObject> operands = new ArrayList<>();
         try {
             while (ps.parse(operands).size() > 0) {
                 PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
+                parsedOperator = operator;
+                parsedOperatorCode = ps.getOperatorCode();
                 invokeOperator(operator, operands);
+                if (streamingSource != null) {
+                    // the tokenizer never seeks back past an operator it has already returned
+                    streamingSource.discardBefore(tokeniser.getPosition());
+                }
             }
         } catch (IOException e) {
             throw new PdfException(PdfException.CannotParseContentStream, e);
         }
 
         this.resourcesStack.pop();
-
-    }
-
-    /**
-     * Processes PDF syntax.
-     * <br/>
-     * <strong>Note:</strong> If you re-use a given {@link PdfCanvasProcessor}, you must call {@link PdfCanvasProcessor#reset()}
-     *
-     * @param page the page to process
-     */
-    public void processPageContent(PdfPage page) {
-        initClippingPath(page);
-        ParserGraphicsState gs = getGraphicsState();
-        eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
-        processContent(page.getContentBytes(), page.getResources());
     }
 
     /**
@@ -300,9 +419,10 @@ public class PdfCanvasProcessor {
 
         registerContentOperator("Do", new DoOperator());
 
-        registerContentOperator("BMC", new BeginMarkedContentOperator());
-        registerContentOperator("BDC", new BeginMarkedContentDictionaryOperator());
-        registerContentOperator("EMC", new EndMarkedContentOperator());
+        // the marked content is only reported with the text
+        if (supportedEvents == null || supportedEvents.contains(EventType.RENDER_TEXT)) {
+            registerMarkedContentOperators();
+        }
 
         if (supportedEvents == null || supportedEvents.contains(EventType.RENDER_TEXT)
                 || supportedEvents.contains(EventType.RENDER_PATH)
@@ -407,9 +527,8 @@ public class PdfCanvasProcessor {
 
         if (isClip) {
             isClip = false;
-            ParserGraphicsState gs = getGraphicsState();
-            gs.clip(currentPath, clippingRule);
-            eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            getGraphicsState().clip(currentPath, clippingRule);
+            clippingPathChanged();
         }
 
         currentPath = new Path();
@@ -422,12 +541,58 @@ public class PdfCanvasProcessor {
      * @param operands a list with operands
      */
     protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
-        IContentOperator op = operators.get(operator.toString());
+        IContentOperator op;
+        if (operator == parsedOperator && parsedOperatorCode != 0) {
+            op = getOperator(parsedOperatorCode);
+        } else {
+            op = operators.get(operator.toString());
+        }
         if (op == null)
             op = operators.get(DEFAULT_OPERATOR);
         op.invoke(this, operator, operands);
     }
 
+    private IContentOperator getOperator(int operatorCode) {
+        if (operatorCodes == null) {
+            buildOperatorTable();
+        }
+        int mask = operatorCodes.length - 1;
+        for (int i = hashOperatorCode(operatorCode) & mask; operatorCodes[i] != 0; i = (i + 1) & mask) {
+            if (operatorCodes[i] == operatorCode) {
+                return operatorsByCode[i];
+            }
+        }
+        return null;
+    }
+
+    private void buildOperatorTable() {
+        int size = 16;
+        while (size < operators.size() * 2) {
+            size <<= 1;
+        }
+        int[] codes = new int[size];
+        IContentOperator[] byCode = new IContentOperator[size];
+        for (Map.Entry<String, IContentOperator> entry : operators.entrySet()) {
+            int code = PdfCanvasParser.getOperatorCode(entry.getKey());
+            if (code == 0) {
+                continue;
+            }
+            int i = hashOperatorCode(code) & (size - 1);
+            while (codes[i] != 0) {
+                i = (i + 1) & (size - 1);
+            }
+            codes[i] = code;
+            byCode[i] = entry.getValue();
+        }
+        operatorCodes = codes;
+        operatorsByCode = byCode;
+    }
+
+    private static int hashOperatorCode(int operatorCode) {
+        int h = operatorCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
     protected PdfStream getXObjectStream(PdfName xobjectName) {
         PdfDictionary xobjects = getResources().getResource(PdfName.XObject);
         return xobjects.getAsStream(xobjectName);
@@ -448,23 +613,38 @@ public class PdfCanvasProcessor {
     }
 
     /**
-     * Gets the font pointed to by the indirect reference. The font may have been cached.
+     * Gets the font pointed to by the indirect reference. The font may have been cached,
+     * either by this processor or by the document, see {@link PdfDocument#getFont(PdfDictionary)}.
      *
      * @param fontDict
      * @return the font
      */
     protected PdfFont getFont(PdfDictionary fontDict) {
-        int n = fontDict.getIndirectReference().getObjNumber();
+        PdfIndirectReference reference = fontDict.getIndirectReference();
+        int n = reference.getObjNumber();
         PdfFont font = cachedFonts.get(n);
         if (font == null) {
-            font = PdfFontFactory.createFont(fontDict);
+            PdfDocument document = reference.getDocument();
+            font = document != null ? document.getFont(fontDict) : PdfFontFactory.createFont(fontDict);
             cachedFonts.put(n, font);
         }
         return font;
     }
 
     /**
-     * Add to the marked content stack
+     * Registers the marked content operators BMC, BDC and EMC, which call {@link #beginMarkedContent(PdfName, PdfDictionary)}
+     * and {@link #endMarkedContent()}. {@link #populateOperators()} registers them only if the listener supports
+     * {@link EventType#RENDER_TEXT}.
+     */
+    protected void registerMarkedContentOperators() {
+        registerContentOperator("BMC", new BeginMarkedContentOperator());
+        registerContentOperator("BDC", new BeginMarkedContentDictionaryOperator());
+        registerContentOperator("EMC", new EndMarkedContentOperator());
+    }
+
+    /**
+     * Add to the marked content stack.
+     * Only called if the marked content operators are registered, see {@link #registerMarkedContentOperators()}.
      *
      * @param tag  the tag of the marked content
      * @param dict the PdfDictionary associated with the marked content
@@ -475,6 +655,7 @@ public class PdfCanvasProcessor {
 
     /**
      * Remove the latest marked content from the stack.  Keeps track of the BMC, BDC and EMC operators.
+     * Only called if the marked content operators are registered, see {@link #registerMarkedContentOperators()}.
      */
     protected void endMarkedContent() {
         markedContentStack.pop();
@@ -506,6 +687,18 @@ public class PdfCanvasProcessor {
         }
     }
 
+    /**
+     * Notifies the listener about a change of the current clipping path, if it is interested in it.
+     * The listener gets a snapshot of the graphics state, so the clipping path is only computed
+     * if the listener or its filters actually read it.
+     */
+    private void clippingPathChanged() {
+        if (supportedEvents == null || supportedEvents.contains(EventType.CLIP_PATH_CHANGED)) {
+            eventListener.eventOccurred(new ClippingPathInfo(new ParserGraphicsState(getGraphicsState())),
+                    EventType.CLIP_PATH_CHANGED);
+        }
+    }
+
     /**
      * Displays text.
      *
@@ -514,7 +707,22 @@ public class PdfCanvasProcessor {
     private void displayPdfString(PdfString string) {
         TextRenderInfo renderInfo = new TextRenderInfo(string, getGraphicsState(), textMatrix, markedContentStack);
         eventOccurred(renderInfo, EventType.RENDER_TEXT);
-        textMatrix = new Matrix(renderInfo.getUnscaledWidth(), 0).multiply(textMatrix);
+        textMatrix = translateTextMatrix(textMatrix, renderInfo.getUnscaledWidth());
+    }
+
+    /**
+     * Translates the text matrix along its x axis. This is the same as
+     * {@code new Matrix(tx, 0).multiply(textMatrix)}, without the intermediate matrix.
+     *
+     * @param textMatrix the text matrix, which is an affine transformation
+     * @param tx         the translation, in text space
+     * @return the translated text matrix
+     */
+    private static Matrix translateTextMatrix(Matrix textMatrix, float tx) {
+        return new Matrix(textMatrix.get(Matrix.I11), textMatrix.get(Matrix.I12),
+                textMatrix.get(Matrix.I21), textMatrix.get(Matrix.I22),
+                tx * textMatrix.get(Matrix.I11) + textMatrix.get(Matrix.I31),
+                tx * textMatrix.get(Matrix.I12) + textMatrix.get(Matrix.I32));
     }
 
     /**
@@ -548,7 +756,7 @@ public class PdfCanvasProcessor {
     private void applyTextAdjust(float tj) {
         float adjustBy = -tj / 1000f * getGraphicsState().getFontSize() * (getGraphicsState().getHorizontalScaling() / 100f);
 
-        textMatrix = new Matrix(adjustBy, 0).multiply(textMatrix);
+        textMatrix = translateTextMatrix(textMatrix, adjustBy);
     }
 
     private void initClippingPath(PdfPage page) {
@@ -936,8 +1144,7 @@ public class PdfCanvasProcessor {
     protected static class PopGraphicsStateOperator implements IContentOperator {
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
             processor.gsStack.pop();
-            ParserGraphicsState gs = processor.getGraphicsState();
-            processor.eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            processor.clippingPathChanged();
         }
     }
 
@@ -1186,7 +1393,9 @@ public class PdfCanvasProcessor {
     private class SetLineDashPatternOperator implements IContentOperator {
 
         public void invoke(PdfCanvasProcessor processor, PdfLiteral oper, List<PdfObject> operands) {
-            processor.getGraphicsState().setDashPattern(new PdfArray(Arrays.asList(operands.get(0), operands.get(1))));
+            // the phase is kept in the graphics state, so it must not be a reused operand
+            PdfNumber phase = new PdfNumber(((PdfNumber) operands.get(1)).doubleValue());
+            processor.getGraphicsState().setDashPattern(new PdfArray(Arrays.asList(operands.get(0), phase)));
         }
     }
 
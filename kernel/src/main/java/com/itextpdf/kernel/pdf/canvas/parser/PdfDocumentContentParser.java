@@ -73,6 +73,8 @@ public class PdfDocumentContentParser {
      */
     public <E extends IEventListener> E processContent(int pageNumber, E renderListener, Map<String, IContentOperator> additionalContentOperators) {
         PdfCanvasProcessor processor = new PdfCanvasProcessor(renderListener);
+        // custom operators may keep their operands, so they are only reused with the default operators
+        processor.setReuseOperands(additionalContentOperators.isEmpty());
         for (Map.Entry<String, IContentOperator> entry : additionalContentOperators.entrySet()) {
             processor.registerContentOperator(entry.getKey(), entry.getValue());
         }
@@ -0,0 +1,360 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Extracts the text of the pages of a whole document on several threads.
+ * <br><br>
+ * A {@link PdfDocument} is not thread-safe, so every thread reads the document with its own instance.
+ * The threads share the source of the document: the given bytes, or the file, which every thread opens
+ * for reading. Every thread takes the next page which is not processed yet, so the pages are extracted
+ * roughly in page order, and the fonts of the document are parsed once per thread, see
+ * {@link PdfDocument#getFont(PdfDictionary)}.
+ */
+public class PdfDocumentTextExtractor {
+
+    /**
+     * Creates the extraction strategy for a page.
+     */
+    public interface IStrategyFactory {
+
+        /**
+         * Creates a new strategy, which is used for one page only.
+         *
+         * @param pageNumber the number of the page the strategy is used for
+         * @return the strategy
+         */
+        ITextExtractionStrategy createStrategy(int pageNumber);
+    }
+
+    /**
+     * Receives the text of the pages, in page order.
+     */
+    public interface IPageTextListener {
+
+        /**
+         * Called with the text of a page. It is called on the thread which started the extraction,
+         * after the text of all the previous pages.
+         *
+         * @param pageNumber the number of the page
+         * @param text       the text of the page
+         */
+        void pageTextExtracted(int pageNumber, String text);
+    }
+
+    /**
+     * The number of pages per thread which may be extracted ahead of the page the listener waits for.
+     */
+    private static final int PAGES_AHEAD_PER_THREAD = 4;
+
+    private final String path;
+
+    private final byte[] document;
+
+    private final ReaderProperties properties;
+
+    private IStrategyFactory strategyFactory = new IStrategyFactory() {
+        @Override
+        public ITextExtractionStrategy createStrategy(int pageNumber) {
+            return new LocationTextExtractionStrategy();
+        }
+    };
+
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates an extractor for the document in the given file.
+     *
+     * @param path the path of the document
+     */
+    public PdfDocumentTextExtractor(String path) {
+        this(path, new ReaderProperties());
+    }
+
+    /**
+     * Creates an extractor for the document in the given file.
+     *
+     * @param path       the path of the document
+     * @param properties the properties to read the document with, which shall not be changed afterwards
+     */
+    public PdfDocumentTextExtractor(String path, ReaderProperties properties) {
+        this.path = path;
+        this.document = null;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates an extractor for the given document.
+     *
+     * @param document the bytes of the document, which shall not be changed afterwards
+     */
+    public PdfDocumentTextExtractor(byte[] document) {
+        this(document, new ReaderProperties());
+    }
+
+    /**
+     * Creates an extractor for the given document.
+     *
+     * @param document   the bytes of the document, which shall not be changed afterwards
+     * @param properties the properties to read the document with, which shall not be changed afterwards
+     */
+    public PdfDocumentTextExtractor(byte[] document, ReaderProperties properties) {
+        this.path = null;
+        this.document = document;
+        this.properties = properties;
+    }
+
+    /**
+     * Sets the factory of the extraction strategies. By default every page is extracted
+     * with a new {@link LocationTextExtractionStrategy}.
+     *
+     * @param strategyFactory the factory, which is called from several threads
+     * @return this extractor
+     */
+    public PdfDocumentTextExtractor setStrategyFactory(IStrategyFactory strategyFactory) {
+        this.strategyFactory = strategyFactory;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads which extract the text. By default it is the number of available processors.
+     *
+     * @param threadCount the number of threads
+     * @return this extractor
+     */
+    public PdfDocumentTextExtractor setThreadCount(int threadCount) {
+        this.threadCount = Math.max(threadCount, 1);
+        return this;
+    }
+
+    /**
+     * Extracts the text of all the pages of the document.
+     *
+     * @return the text of the pages, the text of page 1 first
+     * @throws IOException if the document cannot be read
+     */
+    public String[] extractText() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(createReader());
+        int numberOfPages = pdfDocument.getNumberOfPages();
+        pdfDocument.close();
+        return extractText(1, numberOfPages);
+    }
+
+    /**
+     * Extracts the text of a range of pages of the document.
+     *
+     * @param fromPage the number of the first page
+     * @param toPage   the number of the last page
+     * @return the text of the pages, the text of page {@code fromPage} first
+     * @throws IOException if the document cannot be read
+     */
+    public String[] extractText(final int fromPage, int toPage) throws IOException {
+        final String[] texts = new String[Math.max(toPage - fromPage + 1, 0)];
+        extractText(fromPage, toPage, new IPageTextListener() {
+            @Override
+            public void pageTextExtracted(int pageNumber, String text) {
+                texts[pageNumber - fromPage] = text;
+            }
+        });
+        return texts;
+    }
+
+    /**
+     * Extracts the text of a range of pages of the document and passes it to the listener, in page order.
+     * Only a few pages per thread are extracted ahead of the page the listener waits for,
+     * so the text of large documents doesn't have to be kept in memory.
+     *
+     * @param fromPage the number of the first page
+     * @param toPage   the number of the last page
+     * @param listener the listener which receives the text of the pages
+     * @throws IOException if the document cannot be read
+     */
+    public void extractText(int fromPage, int toPage, IPageTextListener listener) throws IOException {
+        if (fromPage > toPage) {
+            return;
+        }
+        final PageQueue queue = new PageQueue(fromPage, toPage,
+                PAGES_AHEAD_PER_THREAD * Math.min(threadCount, toPage - fromPage + 1));
+        int workerCount = Math.min(threadCount, toPage - fromPage + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+        try {
+            List<Future<Object>> futures = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                futures.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        try {
+                            extractPages(queue);
+                        } catch (Exception e) {
+                            queue.fail(e);
+                            throw e;
+                        } catch (Error e) {
+                            queue.fail(e);
+                            throw e;
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (int page = fromPage; page <= toPage; page++) {
+                listener.pageTextExtracted(page, queue.take(page));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.IoException, e);
+        } finally {
+            queue.fail(null);
+            executor.shutdownNow();
+        }
+    }
+
+    private void extractPages(PageQueue queue) throws IOException, InterruptedException {
+        PdfDocument pdfDocument = new PdfDocument(createReader());
+        try {
+            for (int page = queue.next(); page > 0; page = queue.next()) {
+                String text = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(page), strategyFactory.createStrategy(page));
+                queue.put(page, text);
+            }
+        } finally {
+            pdfDocument.close();
+        }
+    }
+
+    private PdfReader createReader() throws IOException {
+        if (path != null) {
+            return new PdfReader(path, properties);
+        }
+        // the array source does not copy the document, so all the threads share it
+        return new PdfReader(new RandomAccessSourceFactory().createSource(document), properties);
+    }
+
+    /**
+     * Hands out the pages to the threads and collects their text for the thread which waits for it in page order.
+     */
+    private static class PageQueue {
+
+        private final int toPage;
+        private final int maxPagesAhead;
+        private final Map<Integer, String> texts = new HashMap<>();
+        private int nextPage;
+        private int awaitedPage;
+        private boolean closed;
+        private Throwable failure;
+
+        PageQueue(int fromPage, int toPage, int maxPagesAhead) {
+            this.toPage = toPage;
+            this.maxPagesAhead = maxPagesAhead;
+            this.nextPage = fromPage;
+            this.awaitedPage = fromPage;
+        }
+
+        /**
+         * Gets the next page to extract, waiting while too many pages are extracted ahead.
+         *
+         * @return the page number, or 0 if there are no more pages to extract
+         */
+        synchronized int next() throws InterruptedException {
+            while (!closed && nextPage <= toPage && nextPage >= awaitedPage + maxPagesAhead) {
+                wait();
+            }
+            return closed || nextPage > toPage ? 0 : nextPage++;
+        }
+
+        synchronized void put(int page, String text) {
+            texts.put(page, text);
+            notifyAll();
+        }
+
+        synchronized String take(int page) throws IOException, InterruptedException {
+            awaitedPage = page;
+            notifyAll();
+            while (!texts.containsKey(page)) {
+                if (failure != null) {
+                    if (failure instanceof IOException) {
+                        throw (IOException) failure;
+                    } else if (failure instanceof RuntimeException) {
+                        throw (RuntimeException) failure;
+                    } else if (failure instanceof Error) {
+                        throw (Error) failure;
+                    }
+                    throw new PdfException(PdfException.IoException, failure);
+                }
+                wait();
+            }
+            return texts.remove(page);
+        }
+
+        /**
+         * Stops handing out pages, because a thread failed or the extraction is over.
+         *
+         * @param failure the cause, or {@code null} if the extraction is over
+         */
+        synchronized void fail(Throwable failure) {
+            closed = true;
+            if (this.failure == null) {
+                this.failure = failure;
+            }
+            notifyAll();
+        }
+    }
+}
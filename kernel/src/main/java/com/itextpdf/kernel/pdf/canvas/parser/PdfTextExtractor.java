@@ -63,6 +63,8 @@ public final class PdfTextExtractor {
      */
     public static String getTextFromPage(PdfPage page, ITextExtractionStrategy strategy) {
         PdfCanvasProcessor parser = new PdfCanvasProcessor(strategy);
+        // only the default operators are registered, they copy the number operands they keep
+        parser.setReuseOperands(true);
         parser.processPageContent(page);
         return strategy.getResultantText();
     }
@@ -45,10 +45,12 @@ package com.itextpdf.kernel.pdf.canvas.parser.data;
 
 import com.itextpdf.kernel.geom.Matrix;
 import com.itextpdf.kernel.geom.Path;
+import com.itextpdf.kernel.pdf.canvas.parser.ParserGraphicsState;
 
 public class ClippingPathInfo implements IEventData {
     private Path path;
     private Matrix ctm;
+    private ParserGraphicsState gs;
 
     /**
      * @param path The path to be rendered.
@@ -59,10 +61,25 @@ public class ClippingPathInfo implements IEventData {
         this.ctm = ctm;
     }
 
+    /**
+     * Creates the clipping path info for the given graphics state. The clipping path is only
+     * computed when it is requested with {@link #getClippingPath()}.
+     *
+     * @param gs The graphics state whose clipping path has changed. It must not be modified afterwards.
+     */
+    public ClippingPathInfo(ParserGraphicsState gs) {
+        this.gs = gs;
+        this.ctm = gs.getCtm();
+    }
+
     /**
      * @return The {@link Path} which represents current clipping path.
      */
     public Path getClippingPath() {
+        if (gs != null) {
+            path = gs.getClippingPath();
+            gs = null;
+        }
         return path;
     }
 
@@ -0,0 +1,206 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.data;
+
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes an image stream by the entries of its dictionary. The bytes of the image are not read
+ * until {@link #openRawStream()} is called.
+ */
+public class ImageStreamInfo {
+
+    private final ImageRenderInfo renderInfo;
+    private final PdfStream stream;
+
+    /**
+     * Creates an ImageStreamInfo.
+     *
+     * @param renderInfo the event in which the image was rendered
+     */
+    public ImageStreamInfo(ImageRenderInfo renderInfo) {
+        this.renderInfo = renderInfo;
+        this.stream = renderInfo.getImage().getPdfObject();
+    }
+
+    /**
+     * @return the event in which the image was rendered, for an image XObject the first one
+     */
+    public ImageRenderInfo getImageRenderInfo() {
+        return renderInfo;
+    }
+
+    /**
+     * @return the image stream
+     */
+    public PdfStream getStream() {
+        return stream;
+    }
+
+    /**
+     * @return the object number of the image XObject, or 0 for an inline image
+     */
+    public int getObjectNumber() {
+        PdfIndirectReference reference = stream.getIndirectReference();
+        return reference != null ? reference.getObjNumber() : 0;
+    }
+
+    /**
+     * @return the width of the image, in samples
+     */
+    public int getWidth() {
+        return getInt(PdfName.Width);
+    }
+
+    /**
+     * @return the height of the image, in samples
+     */
+    public int getHeight() {
+        return getInt(PdfName.Height);
+    }
+
+    /**
+     * @return the number of bits per color component, or 0 if it is not specified, e.g. for JPXDecode images
+     */
+    public int getBitsPerComponent() {
+        return getInt(PdfName.BitsPerComponent);
+    }
+
+    /**
+     * @return the color space entry of the image dictionary, or {@code null} if it is not specified
+     */
+    public PdfObject getColorSpace() {
+        return stream.get(PdfName.ColorSpace);
+    }
+
+    /**
+     * @return the filters of the image stream in the order they are applied to decode it, an empty list if there are none
+     */
+    public List<PdfName> getFilters() {
+        PdfObject filter = stream.get(PdfName.Filter);
+        if (filter == null) {
+            return Collections.emptyList();
+        } else if (filter.isName()) {
+            return Collections.singletonList((PdfName) filter);
+        }
+        List<PdfName> filters = new ArrayList<>();
+        if (filter.isArray()) {
+            PdfArray array = (PdfArray) filter;
+            for (int i = 0; i < array.size(); i++) {
+                PdfName name = array.getAsName(i);
+                if (name != null) {
+                    filters.add(name);
+                }
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * @return the length of the encoded image stream, in bytes
+     */
+    public int getRawLength() {
+        return stream.getLength();
+    }
+
+    /**
+     * Gets the extension of the image file format the raw stream is in, if it can be copied to a file as it is.
+     * These are the images which are only encoded with DCTDecode (JPEG) or JPXDecode (JPEG 2000).
+     *
+     * @return {@code "jpg"}, {@code "jp2"} or {@code null} if the raw stream is not an image file
+     */
+    public String getRawFileExtension() {
+        List<PdfName> filters = getFilters();
+        if (filters.size() == 1) {
+            if (PdfName.DCTDecode.equals(filters.get(0))) {
+                return "jpg";
+            } else if (PdfName.JPXDecode.equals(filters.get(0))) {
+                return "jp2";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Opens the encoded image stream. For an image XObject of an unencrypted document the bytes are read
+     * straight from the source of the document while the returned stream is being read, unless the data
+     * of the stream has been replaced in memory.
+     * User is responsible for closing returned stream.
+     *
+     * @return the encoded bytes of the image
+     * @throws IOException if the bytes cannot be read
+     */
+    public InputStream openRawStream() throws IOException {
+        InputStream rawStream = null;
+        // data set in memory, e.g. with setData, takes precedence over the bytes in the file
+        if (stream.getOutputStream() == null) {
+            PdfIndirectReference reference = stream.getIndirectReference();
+            PdfReader reader = reference != null && reference.getDocument() != null ? reference.getDocument().getReader() : null;
+            rawStream = reader != null ? reader.readStreamRaw(stream) : null;
+        }
+        if (rawStream == null) {
+            byte[] bytes = stream.getBytes(false);
+            rawStream = new ByteArrayInputStream(bytes != null ? bytes : new byte[0]);
+        }
+        return rawStream;
+    }
+
+    private int getInt(PdfName key) {
+        PdfNumber number = stream.getAsNumber(key);
+        return number != null ? number.intValue() : 0;
+    }
+}
@@ -72,11 +72,27 @@ public class TextRenderInfo implements IEventData {
 
     private final PdfString string;
     private String text = null;
-    private final Matrix textToUserSpaceTransformMatrix;
     private final CanvasGraphicsState gs;
     private float unscaledWidth = Float.NaN;
     private double[] fontMatrix = null;
 
+    /**
+     * The matrix and the offset the text to user space transform matrix is computed from, on first use.
+     * For the whole string the matrix is the text matrix and the offset is applied by the CTM,
+     * for a character it is the transform matrix of the parent string and the offset of the character.
+     */
+    private final Matrix baseMatrix;
+    private final Matrix ctm;
+    private final float horizontalOffset;
+    private Matrix textToUserSpaceTransformMatrix;
+
+    private LineSegment unscaledBaseline;
+    private LineSegment baseline;
+    private LineSegment ascentLine;
+    private LineSegment descentLine;
+    private List<TextRenderInfo> characterRenderInfos;
+    private PdfString[] characterStrings;
+
     /**
      * Hierarchy of nested canvas tags for the text from the most inner (nearest to text) tag to the most outer.
      */
@@ -91,9 +107,13 @@ public class TextRenderInfo implements IEventData {
      */
     public TextRenderInfo(PdfString str, CanvasGraphicsState gs, Matrix textMatrix, Stack<CanvasTag> canvasTagHierarchy) {
         this.string = str;
-        this.textToUserSpaceTransformMatrix = textMatrix.multiply(gs.getCtm());
+        this.baseMatrix = textMatrix;
+        this.ctm = gs.getCtm();
+        this.horizontalOffset = 0;
         this.gs = gs;
-        this.canvasTagHierarchy = Collections.<CanvasTag>unmodifiableList(new ArrayList<>(canvasTagHierarchy));
+        this.canvasTagHierarchy = canvasTagHierarchy.isEmpty()
+                ? Collections.<CanvasTag>emptyList()
+                : Collections.<CanvasTag>unmodifiableList(new ArrayList<>(canvasTagHierarchy));
         this.fontMatrix = gs.getFont().getFontMatrix();
     }
 
@@ -105,7 +125,9 @@ public class TextRenderInfo implements IEventData {
      */
     private TextRenderInfo(TextRenderInfo parent, PdfString string, float horizontalOffset){
         this.string = string;
-        this.textToUserSpaceTransformMatrix = new Matrix(horizontalOffset, 0).multiply(parent.textToUserSpaceTransformMatrix);
+        this.baseMatrix = parent.getTextToUserSpaceTransformMatrix();
+        this.ctm = null;
+        this.horizontalOffset = horizontalOffset;
         this.gs = parent.gs;
         this.canvasTagHierarchy = parent.canvasTagHierarchy;
         this.fontMatrix = gs.getFont().getFontMatrix();
@@ -176,11 +198,17 @@ public class TextRenderInfo implements IEventData {
      * @return the baseline line segment
      */
     public LineSegment getBaseline(){
-        return getUnscaledBaselineWithOffset(0 + gs.getTextRise()).transformBy(textToUserSpaceTransformMatrix);
+        if (baseline == null) {
+            baseline = getUnscaledBaseline().transformBy(getTextToUserSpaceTransformMatrix());
+        }
+        return baseline;
     }
 
     public LineSegment getUnscaledBaseline() {
-        return getUnscaledBaselineWithOffset(0 + gs.getTextRise());
+        if (unscaledBaseline == null) {
+            unscaledBaseline = getUnscaledBaselineWithOffset(0 + gs.getTextRise());
+        }
+        return unscaledBaseline;
     }
 
     /**
@@ -189,8 +217,11 @@ public class TextRenderInfo implements IEventData {
      * @return the ascentline line segment
      */
     public LineSegment getAscentLine(){
-        float ascent = gs.getFont().getFontProgram().getFontMetrics().getTypoAscender() * gs.getFontSize() / 1000f;
-        return getUnscaledBaselineWithOffset(ascent + gs.getTextRise()).transformBy(textToUserSpaceTransformMatrix);
+        if (ascentLine == null) {
+            float ascent = gs.getFont().getFontProgram().getFontMetrics().getTypoAscender() * gs.getFontSize() / 1000f;
+            ascentLine = getUnscaledBaselineWithOffset(ascent + gs.getTextRise()).transformBy(getTextToUserSpaceTransformMatrix());
+        }
+        return ascentLine;
     }
 
     /**
@@ -200,8 +231,11 @@ public class TextRenderInfo implements IEventData {
      */
     public LineSegment getDescentLine(){
         // per getFontDescription() API, descent is returned as a negative number, so we apply that as a normal vertical offset
-        float descent = gs.getFont().getFontProgram().getFontMetrics().getTypoDescender() * gs.getFontSize() / 1000f;
-        return getUnscaledBaselineWithOffset(descent + gs.getTextRise()).transformBy(textToUserSpaceTransformMatrix);
+        if (descentLine == null) {
+            float descent = gs.getFont().getFontProgram().getFontMetrics().getTypoDescender() * gs.getFontSize() / 1000f;
+            descentLine = getUnscaledBaselineWithOffset(descent + gs.getTextRise()).transformBy(getTextToUserSpaceTransformMatrix());
+        }
+        return descentLine;
     }
 
     /**
@@ -228,18 +262,21 @@ public class TextRenderInfo implements IEventData {
      * @return  A list of {@link TextRenderInfo} objects that represent each glyph used in the draw operation. The next effect is if there was a separate Tj opertion for each character in the rendered string
      */
     public List<TextRenderInfo> getCharacterRenderInfos(){
-        List<TextRenderInfo> rslt = new ArrayList<>(string.getValue().length());
-        PdfString[] strings = splitString(string);
-        float totalWidth = 0;
-        for (PdfString str : strings) {
-            float[] widthAndWordSpacing = getWidthAndWordSpacing(str);
-            TextRenderInfo subInfo = new TextRenderInfo(this, str, totalWidth);
-            rslt.add(subInfo);
-            totalWidth += (widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1]) * (gs.getHorizontalScaling() / 100f);
+        if (characterRenderInfos == null) {
+            List<TextRenderInfo> rslt = new ArrayList<>(string.getValue().length());
+            PdfString[] strings = getCharacterStrings();
+            float totalWidth = 0;
+            for (PdfString str : strings) {
+                float[] widthAndWordSpacing = getWidthAndWordSpacing(str);
+                TextRenderInfo subInfo = new TextRenderInfo(this, str, totalWidth);
+                // the string is a single character already, there is no need to split it again
+                subInfo.unscaledWidth = (widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1]) * gs.getHorizontalScaling() / 100f;
+                rslt.add(subInfo);
+                totalWidth += (widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1]) * (gs.getHorizontalScaling() / 100f);
+            }
+            characterRenderInfos = rslt;
         }
-        for (TextRenderInfo tri : rslt)
-            tri.getUnscaledWidth();
-        return rslt;
+        return new ArrayList<>(characterRenderInfos);
     }
 
     /**
@@ -333,6 +370,15 @@ public class TextRenderInfo implements IEventData {
         return unscaledWidth;
     }
 
+    private Matrix getTextToUserSpaceTransformMatrix() {
+        if (textToUserSpaceTransformMatrix == null) {
+            textToUserSpaceTransformMatrix = ctm != null
+                    ? baseMatrix.multiply(ctm)
+                    : new Matrix(horizontalOffset, 0).multiply(baseMatrix);
+        }
+        return textToUserSpaceTransformMatrix;
+    }
+
     private LineSegment getUnscaledBaselineWithOffset(float yOffset){
         // we need to correct the width so we don't have an extra character and word spaces at the end.  The extra character and word spaces
         // are important for tracking relative text coordinate systems, but should not be part of the baseline
@@ -351,7 +397,7 @@ public class TextRenderInfo implements IEventData {
      */
     private float convertWidthFromTextSpaceToUserSpace(float width){
         LineSegment textSpace = new LineSegment(new Vector(0, 0, 1), new Vector(width, 0, 1));
-        LineSegment userSpace = textSpace.transformBy(textToUserSpaceTransformMatrix);
+        LineSegment userSpace = textSpace.transformBy(getTextToUserSpaceTransformMatrix());
         return userSpace.getLength();
     }
 
@@ -362,7 +408,7 @@ public class TextRenderInfo implements IEventData {
      */
     private float convertHeightFromTextSpaceToUserSpace(float height){
         LineSegment textSpace = new LineSegment(new Vector(0, 0, 1), new Vector(0, height, 1));
-        LineSegment userSpace = textSpace.transformBy(textToUserSpaceTransformMatrix);
+        LineSegment userSpace = textSpace.transformBy(getTextToUserSpaceTransformMatrix());
         return userSpace.getLength();
     }
 
@@ -408,7 +454,7 @@ public class TextRenderInfo implements IEventData {
             return (widthAndWordSpacing[0] * gs.getFontSize() + gs.getCharSpacing() + widthAndWordSpacing[1]) * gs.getHorizontalScaling()/100f;
         } else {
             float totalWidth = 0;
-            for (PdfString str : splitString(string)) {
+            for (PdfString str : getCharacterStrings()) {
                 totalWidth += getPdfStringWidth(str, true);
             }
             return totalWidth;
@@ -451,6 +497,18 @@ public class TextRenderInfo implements IEventData {
         return 0;
     }
 
+    /**
+     * Gets the string of this render info split into single character PDF strings.
+     * The split is computed once and shared by the width computation and the character render infos.
+     * @return splitted PDF string.
+     */
+    private PdfString[] getCharacterStrings() {
+        if (characterStrings == null) {
+            characterStrings = splitString(string);
+        }
+        return characterStrings;
+    }
+
     /**
      * Split PDF string into array of single character PDF strings.
      * @param string    PDF string to be splitted.
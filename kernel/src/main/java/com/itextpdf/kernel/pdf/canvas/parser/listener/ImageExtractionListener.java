@@ -0,0 +1,121 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ImageStreamInfo;
+
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * This listener passes the images found in the content streams to an {@link IImageHandler}, without reading their bytes.
+ * An image XObject is passed only the first time it is found, so the same listener should be used
+ * for all the pages of a document to extract every image once.
+ */
+public class ImageExtractionListener implements IEventListener {
+
+    /**
+     * Receives the images found by an {@link ImageExtractionListener}.
+     */
+    public interface IImageHandler {
+
+        /**
+         * Called for every image found. The bytes of the image can be read with
+         * {@link ImageStreamInfo#openRawStream()} during the call or later, as long as the document is open.
+         *
+         * @param imageInfo the description of the image
+         */
+        void imageFound(ImageStreamInfo imageInfo);
+    }
+
+    private final IImageHandler handler;
+    private final Set<PdfIndirectReference> foundImages = new HashSet<>();
+    private boolean includeInlineImages;
+
+    /**
+     * Creates an ImageExtractionListener.
+     *
+     * @param handler the handler which receives the images
+     */
+    public ImageExtractionListener(IImageHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Sets whether inline images are passed to the handler too. Inline images are passed every time they are found.
+     * By default they are not passed.
+     *
+     * @param includeInlineImages true to pass the inline images
+     * @return this listener
+     */
+    public ImageExtractionListener setIncludeInlineImages(boolean includeInlineImages) {
+        this.includeInlineImages = includeInlineImages;
+        return this;
+    }
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (type == EventType.RENDER_IMAGE) {
+            ImageRenderInfo renderInfo = (ImageRenderInfo) data;
+            PdfIndirectReference reference = renderInfo.getImage().getPdfObject().getIndirectReference();
+            if (reference != null ? foundImages.add(reference) : renderInfo.isInline() && includeInlineImages) {
+                handler.imageFound(new ImageStreamInfo(renderInfo));
+            }
+        } else {
+            throw new IllegalStateException(MessageFormat.format("Event type not supported: {0}", type));
+        }
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_IMAGE));
+    }
+}
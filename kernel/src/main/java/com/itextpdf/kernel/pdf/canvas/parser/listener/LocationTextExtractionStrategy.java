@@ -51,7 +51,9 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.EventType;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -69,6 +71,16 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
 
     private final ITextChunkLocationStrategy tclStrat;
 
+    /**
+     * Compares the chunks of the same line, see {@link TextChunkLocationDefaultImp#compareTo(ITextChunkLocation)}.
+     */
+    private static final Comparator<TextChunk> PARALLEL_START_COMPARATOR = new Comparator<TextChunk>() {
+        @Override
+        public int compare(TextChunk first, TextChunk second) {
+            return Float.compare(first.getLocation().distParallelStart(), second.getLocation().distParallelStart());
+        }
+    };
+
     private boolean useActualText = false;
 
     private TextRenderInfo lastTextRenderInfo;
@@ -166,8 +178,18 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
     public String getResultantText() {
         if (DUMP_STATE) dumpState();
 
-        List<TextChunk> textChunks = locationalResult;
-        Collections.sort(textChunks);
+        return sortAndJoin(locationalResult);
+    }
+
+    /**
+     * Sorts the given chunks in place by orientation, perpendicular and parallel distance
+     * and joins their text, inserting spaces at word boundaries and new lines between lines.
+     *
+     * @param textChunks the chunks to be joined
+     * @return the joined text
+     */
+    String sortAndJoin(List<TextChunk> textChunks) {
+        sortTextChunks(textChunks);
 
         StringBuilder sb = new StringBuilder();
         TextChunk lastChunk = null;
@@ -194,6 +216,73 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
         return sb.toString();
     }
 
+    /**
+     * Sorts the chunks in place, with the same result as {@code Collections.sort(textChunks)}.
+     * <br/>
+     * Chunks with the default locations are grouped into lines by their orientation and perpendicular distance first,
+     * and only the chunks of the same line are sorted by their parallel distance, so pages with many lines
+     * are sorted in about linear time. Other chunks, and zero width chunks whose comparison depends on the
+     * surrounding chunks, are sorted by their {@link TextChunk#compareTo(TextChunk)}.
+     *
+     * @param textChunks the chunks to be sorted
+     */
+    static void sortTextChunks(List<TextChunk> textChunks) {
+        int size = textChunks.size();
+        long[] lineKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            ITextChunkLocation location = textChunks.get(i).getLocation();
+            if (!(location instanceof TextChunkLocationDefaultImp) || location.getStartLocation().equals(location.getEndLocation())) {
+                Collections.sort(textChunks);
+                return;
+            }
+            // orientation in the high and perpendicular distance in the low bits, ordered as a pair of signed ints
+            lineKeys[i] = ((long) location.orientationMagnitude() << 32) | ((location.distPerpendicular() ^ Integer.MIN_VALUE) & 0xffffffffL);
+        }
+
+        long[] lines = lineKeys.clone();
+        Arrays.sort(lines);
+        int lineCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (lineCount == 0 || lines[lineCount - 1] != lines[i]) {
+                lines[lineCount++] = lines[i];
+            }
+        }
+
+        // place the chunks line by line, keeping their order within a line
+        int[] lineStarts = new int[lineCount + 1];
+        int[] chunkLines = new int[size];
+        for (int i = 0; i < size; i++) {
+            chunkLines[i] = Arrays.binarySearch(lines, 0, lineCount, lineKeys[i]);
+            lineStarts[chunkLines[i] + 1]++;
+        }
+        for (int line = 0; line < lineCount; line++) {
+            lineStarts[line + 1] += lineStarts[line];
+        }
+        TextChunk[] sorted = new TextChunk[size];
+        int[] positions = Arrays.copyOf(lineStarts, lineCount);
+        for (int i = 0; i < size; i++) {
+            sorted[positions[chunkLines[i]]++] = textChunks.get(i);
+        }
+
+        for (int line = 0; line < lineCount; line++) {
+            if (lineStarts[line + 1] - lineStarts[line] > 1) {
+                Arrays.sort(sorted, lineStarts[line], lineStarts[line + 1], PARALLEL_START_COMPARATOR);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            textChunks.set(i, sorted[i]);
+        }
+    }
+
+    /**
+     * Gets the chunks found so far, in the order of the text render events.
+     *
+     * @return the chunks found so far
+     */
+    List<TextChunk> getLocationalResult() {
+        return locationalResult;
+    }
+
     /**
      * Determines if a space character should be inserted between a previous chunk and the current chunk.
      * This method is exposed as a callback so subclasses can fine time the algorithm for determining whether a space should be inserted or not.
@@ -322,7 +411,7 @@ public class LocationTextExtractionStrategy implements ITextExtractionStrategy {
         }
     }
 
-    private static class TextChunkLocationDefaultImp implements ITextChunkLocation {
+    static class TextChunkLocationDefaultImp implements ITextChunkLocation {
         /** the starting location of the chunk */
         private final Vector startLocation;
         /** the ending location of the chunk */
@@ -0,0 +1,267 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.geom.Vector;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link LocationTextExtractionStrategy} which can return the text of any number of rectangular regions
+ * of the page after it has been processed once.
+ * <br/>
+ * The text of a region is the same as the text which a {@link LocationTextExtractionStrategy} returns when it
+ * is attached to a {@link FilteredEventListener} with a {@link TextRegionEventFilter} for that region.
+ * The baselines of the text chunks are kept in a grid index, so the cost of a region query
+ * depends on the amount of text in and around the region, not on the amount of text on the page.
+ */
+public class RegionTextExtractionStrategy extends LocationTextExtractionStrategy {
+
+    /**
+     * The maximum number of grid cells per dimension.
+     */
+    private static final int MAX_GRID_SIZE = 256;
+
+    /**
+     * The chunks in the order of the text render events.
+     */
+    private final List<TextChunk> chunks = new ArrayList<>();
+
+    /**
+     * The baselines of the chunks, four coordinates (x1, y1, x2, y2) per chunk.
+     */
+    private float[] baselines = new float[256];
+
+    /**
+     * Indices of the chunks whose baseline bounding boxes overlap the grid cell, by cell.
+     * It is built on the first query after new chunks have been found.
+     */
+    private int[][] cells;
+    private int[] cellSizes;
+    private int columns;
+    private int rows;
+    private double gridX;
+    private double gridY;
+    private double cellWidth;
+    private double cellHeight;
+
+    /**
+     * Creates a new region text extraction strategy.
+     */
+    public RegionTextExtractionStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a new region text extraction strategy, with a custom strategy for
+     * creating new TextChunkLocation objects based on the input of the TextRenderInfo.
+     *
+     * @param strat the custom strategy
+     */
+    public RegionTextExtractionStrategy(ITextChunkLocationStrategy strat) {
+        super(strat);
+    }
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (!type.equals(EventType.RENDER_TEXT)) {
+            return;
+        }
+        List<TextChunk> locationalResult = getLocationalResult();
+        int chunkCount = locationalResult.size();
+        super.eventOccurred(data, type);
+
+        LineSegment baseline = ((TextRenderInfo) data).getBaseline();
+        Vector start = baseline.getStartPoint();
+        Vector end = baseline.getEndPoint();
+        int n = chunks.size();
+        if (locationalResult.size() > chunkCount) {
+            if (4 * n + 4 > baselines.length) {
+                baselines = Arrays.copyOf(baselines, baselines.length * 2);
+            }
+            baselines[4 * n] = start.get(Vector.I1);
+            baselines[4 * n + 1] = start.get(Vector.I2);
+            baselines[4 * n + 2] = end.get(Vector.I1);
+            baselines[4 * n + 3] = end.get(Vector.I2);
+            chunks.add(locationalResult.get(locationalResult.size() - 1));
+        } else if (n > 0) {
+            // the chunk was merged with the previous one by its /ActualText, merge the baselines the same way
+            int i = 4 * (n - 1);
+            baselines[i] = Math.min(baselines[i], start.get(Vector.I1));
+            baselines[i + 1] = Math.min(baselines[i + 1], start.get(Vector.I2));
+            baselines[i + 2] = Math.max(baselines[i + 2], end.get(Vector.I1));
+            baselines[i + 3] = Math.max(baselines[i + 3], end.get(Vector.I2));
+            chunks.set(n - 1, locationalResult.get(locationalResult.size() - 1));
+        }
+        cells = null;
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_TEXT)));
+    }
+
+    /**
+     * Returns the text of the given region of the page.
+     *
+     * @param region the region, in the same coordinates as {@link TextRegionEventFilter} uses,
+     *               or {@code null} for the whole page
+     * @return the text of the chunks whose baselines intersect the region
+     */
+    public String getResultantText(Rectangle region) {
+        List<TextChunk> regionChunks = new ArrayList<>();
+        if (region == null) {
+            regionChunks.addAll(chunks);
+        } else {
+            BitSet candidates = findCandidates(region);
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (region.intersectsLine(baselines[4 * i], baselines[4 * i + 1], baselines[4 * i + 2], baselines[4 * i + 3])) {
+                    regionChunks.add(chunks.get(i));
+                }
+            }
+        }
+        return sortAndJoin(regionChunks);
+    }
+
+    /**
+     * Finds the chunks whose baseline bounding boxes may overlap the region.
+     * Every chunk whose baseline intersects the region is among them.
+     */
+    private BitSet findCandidates(Rectangle region) {
+        BitSet candidates = new BitSet(chunks.size());
+        if (chunks.isEmpty()) {
+            return candidates;
+        }
+        if (cells == null) {
+            buildGrid();
+        }
+        double x1 = region.getX();
+        double y1 = region.getY();
+        double x2 = x1 + region.getWidth();
+        double y2 = y1 + region.getHeight();
+        int firstColumn = column(Math.min(x1, x2));
+        int lastColumn = column(Math.max(x1, x2));
+        int firstRow = row(Math.min(y1, y2));
+        int lastRow = row(Math.max(y1, y2));
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = r * columns + c;
+                int[] indices = cells[cell];
+                for (int k = 0; k < cellSizes[cell]; k++) {
+                    candidates.set(indices[k]);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private void buildGrid() {
+        int n = chunks.size();
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, Math.min(baselines[4 * i], baselines[4 * i + 2]));
+            minY = Math.min(minY, Math.min(baselines[4 * i + 1], baselines[4 * i + 3]));
+            maxX = Math.max(maxX, Math.max(baselines[4 * i], baselines[4 * i + 2]));
+            maxY = Math.max(maxY, Math.max(baselines[4 * i + 1], baselines[4 * i + 3]));
+        }
+        // about one chunk per cell for evenly distributed text
+        int size = Math.min(MAX_GRID_SIZE, Math.max(1, (int) Math.sqrt(n)));
+        columns = size;
+        rows = size;
+        gridX = minX;
+        gridY = minY;
+        cellWidth = Math.max((maxX - minX) / columns, Double.MIN_NORMAL);
+        cellHeight = Math.max((maxY - minY) / rows, Double.MIN_NORMAL);
+        cells = new int[columns * rows][];
+        cellSizes = new int[columns * rows];
+        for (int i = 0; i < n; i++) {
+            int firstColumn = column(Math.min(baselines[4 * i], baselines[4 * i + 2]));
+            int lastColumn = column(Math.max(baselines[4 * i], baselines[4 * i + 2]));
+            int firstRow = row(Math.min(baselines[4 * i + 1], baselines[4 * i + 3]));
+            int lastRow = row(Math.max(baselines[4 * i + 1], baselines[4 * i + 3]));
+            for (int r = firstRow; r <= lastRow; r++) {
+                for (int c = firstColumn; c <= lastColumn; c++) {
+                    addToCell(r * columns + c, i);
+                }
+            }
+        }
+    }
+
+    private void addToCell(int cell, int chunkIndex) {
+        int[] indices = cells[cell];
+        if (indices == null) {
+            indices = cells[cell] = new int[4];
+        } else if (cellSizes[cell] == indices.length) {
+            indices = cells[cell] = Arrays.copyOf(indices, indices.length * 2);
+        }
+        indices[cellSizes[cell]++] = chunkIndex;
+    }
+
+    private int column(double x) {
+        return clamp((int) Math.floor((x - gridX) / cellWidth), columns);
+    }
+
+    private int row(double y) {
+        return clamp((int) Math.floor((y - gridY) / cellHeight), rows);
+    }
+
+    private static int clamp(int index, int size) {
+        return Math.max(0, Math.min(index, size - 1));
+    }
+}
@@ -163,6 +163,26 @@ public final class InlineImageParsingUtils {
         return inlineImageAsStreamObject;
     }
 
+    /**
+     * Skips the next inline image from the content parser, without keeping its samples.
+     * The parser must be positioned immediately following the BI operator.
+     * The parser will be left with current position immediately following the EI operator that terminates the inline image
+     *
+     * @param ps            the content parser to use for reading the image.
+     * @param colorSpaceDic a color space dictionary
+     * @throws IOException               if anything goes wring with the parsing
+     * @throws InlineImageParseException if parsing of the inline image failed due to issues specific to inline image processing
+     */
+    public static void skip(PdfCanvasParser ps, PdfDictionary colorSpaceDic) throws IOException {
+        PdfDictionary inlineImageDict = parseDictionary(ps);
+        if (!inlineImageDict.containsKey(PdfName.Filter) && imageColorSpaceIsKnown(inlineImageDict, colorSpaceDic)) {
+            parseUnfilteredSamples(inlineImageDict, colorSpaceDic, ps, false);
+        } else {
+            // the end of filtered samples can only be told by decoding them, see inlineImageStreamBytesAreComplete
+            parseSamples(inlineImageDict, colorSpaceDic, ps);
+        }
+    }
+
     /**
      * Parses the next inline image dictionary from the parser.  The parser must be positioned immediately following the BI operator.
      * The parser will be left with position immediately following the whitespace character that follows the ID operator that ends the inline image dictionary.
@@ -281,10 +301,12 @@ public final class InlineImageParsingUtils {
      *
      * @param imageDictionary the dictionary of the inline image
      * @param ps              the content parser
-     * @return the samples of the image
+     * @param keepSamples     false to read past the samples without keeping them
+     * @return the samples of the image, or {@code null} if they are not kept
      * @throws IOException if anything bad happens during parsing
      */
-    private static byte[] parseUnfilteredSamples(PdfDictionary imageDictionary, PdfDictionary colorSpaceDic, PdfCanvasParser ps) throws IOException {
+    private static byte[] parseUnfilteredSamples(PdfDictionary imageDictionary, PdfDictionary colorSpaceDic, PdfCanvasParser ps,
+                                                 boolean keepSamples) throws IOException {
         // special case:  when no filter is specified, we just read the number of bits
         // per component, multiplied by the width and height.
         if (imageDictionary.containsKey(PdfName.Filter))
@@ -293,7 +315,7 @@ public final class InlineImageParsingUtils {
         PdfNumber h = imageDictionary.getAsNumber(PdfName.Height);
 
         int bytesToRead = computeBytesPerRow(imageDictionary, colorSpaceDic) * h.intValue();
-        byte[] bytes = new byte[bytesToRead];
+        byte[] bytes = keepSamples ? new byte[bytesToRead] : null;
         PdfTokenizer tokeniser = ps.getTokeniser();
 
         int shouldBeWhiteSpace = tokeniser.read(); // skip next character (which better be a whitespace character - I suppose we could check for this)
@@ -301,15 +323,26 @@ public final class InlineImageParsingUtils {
         // unfortunately, we've seen some PDFs where there is no space following the ID, so we have to capture this case and handle it
         int startIndex = 0;
         if (!PdfTokenizer.isWhitespace(shouldBeWhiteSpace) || shouldBeWhiteSpace == 0) { // tokeniser treats 0 as whitespace, but for our purposes, we shouldn't
-            bytes[0] = (byte) shouldBeWhiteSpace;
+            if (keepSamples)
+                bytes[0] = (byte) shouldBeWhiteSpace;
             startIndex++;
         }
+        // samples which are not kept are skipped, unless the length of the content is not known yet
+        long length = keepSamples ? -1 : tokeniser.length();
+        if (length >= 0) {
+            long end = tokeniser.getPosition() + bytesToRead - startIndex;
+            if (end > length)
+                throw new InlineImageParseException(PdfException.EndOfContentStreamReachedBeforeEndOfImageData);
+            tokeniser.seek(end);
+            startIndex = bytesToRead;
+        }
         for (int i = startIndex; i < bytesToRead; i++) {
             int ch = tokeniser.read();
             if (ch == -1)
                 throw new InlineImageParseException(PdfException.EndOfContentStreamReachedBeforeEndOfImageData);
 
-            bytes[i] = (byte) ch;
+            if (keepSamples)
+                bytes[i] = (byte) ch;
         }
         PdfObject ei = ps.readObject();
         if (!ei.toString().equals("EI")) {
@@ -337,7 +370,7 @@ public final class InlineImageParsingUtils {
         // by the time we get to here, we have already parsed the ID operator
 
         if (!imageDictionary.containsKey(PdfName.Filter) && imageColorSpaceIsKnown(imageDictionary, colorSpaceDic)) {
-            return parseUnfilteredSamples(imageDictionary, colorSpaceDic, ps);
+            return parseUnfilteredSamples(imageDictionary, colorSpaceDic, ps, true);
         }
 
 
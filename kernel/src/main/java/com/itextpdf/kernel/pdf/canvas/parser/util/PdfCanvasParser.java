@@ -51,6 +51,7 @@ import com.itextpdf.kernel.pdf.PdfLiteral;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPrimitiveObject;
 import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
@@ -72,6 +73,32 @@ public class PdfCanvasParser {
 
     private PdfResources currentResources;
 
+    private static final byte[] BI = {'B', 'I'};
+
+    private static final int INTERNED_TOKENS_CACHE_SIZE = 256;
+
+    /**
+     * Names and operators read so far, so that recurring tokens are not allocated again.
+     */
+    private final PdfPrimitiveObject[] internedTokens = new PdfPrimitiveObject[INTERNED_TOKENS_CACHE_SIZE];
+    private final byte[][] internedTokenContents = new byte[INTERNED_TOKENS_CACHE_SIZE][];
+    private final int[] internedOperatorCodes = new int[INTERNED_TOKENS_CACHE_SIZE];
+    private int lastInternedTokenIndex;
+
+    /**
+     * Indicates whether the numbers of a command are put into reused {@link PdfNumber} slots.
+     */
+    private boolean reuseOperands;
+
+    private PdfNumber[] numberSlots = new PdfNumber[8];
+
+    /**
+     * Indicates whether inline images are skipped instead of being returned as commands.
+     */
+    private boolean skipInlineImages;
+
+    private int operatorCode;
+
     /**
      * Creates a new instance of PdfContentParser
      * @param tokeniser the tokeniser with the content
@@ -112,14 +139,23 @@ public class PdfCanvasParser {
         else
             ls.clear();
         PdfObject ob = null;
-        while ((ob = readObject()) != null) {
+        operatorCode = 0;
+        while ((ob = readObject(ls.size())) != null) {
             ls.add(ob);
             if (tokeniser.getTokenType() == PdfTokenizer.TokenType.Other) {
-                if (ob.toString().equals("BI")) {
+                if (tokeniser.tokenValueEqualsTo(BI)) {
+                    if (skipInlineImages) {
+                        InlineImageParsingUtils.skip(this, currentResources != null ? currentResources.getResource(PdfName.ColorSpace) : null);
+                        ls.clear();
+                        continue;
+                    }
                     PdfStream inlineImageAsStream = InlineImageParsingUtils.parse(this, currentResources.getResource(PdfName.ColorSpace));
                     ls.clear();
                     ls.add(inlineImageAsStream);
                     ls.add(new PdfLiteral("EI"));
+                    operatorCode = getOperatorCode("EI");
+                } else {
+                    operatorCode = internedOperatorCodes[lastInternedTokenIndex];
                 }
                 break;
             }
@@ -127,6 +163,77 @@ public class PdfCanvasParser {
         return ls;
     }
 
+    /**
+     * Gets the code of the operator returned by the last {@link #parse(List)} call.
+     * Operators of up to three bytes, which covers all operators defined by the PDF specification,
+     * get distinct non-zero codes, so they can be dispatched without creating a String.
+     *
+     * @return the code of the last operator, or 0 if it is longer than three bytes
+     * @see #getOperatorCode(String)
+     */
+    public int getOperatorCode() {
+        return operatorCode;
+    }
+
+    /**
+     * Gets the code {@link #getOperatorCode()} reports for the given operator.
+     *
+     * @param operator the operator, e.g. "Tj"
+     * @return the code of the operator, or 0 if it is longer than three bytes
+     */
+    public static int getOperatorCode(String operator) {
+        int length = operator.length();
+        if (length == 0 || length > 3)
+            return 0;
+        int code = length;
+        for (int i = 0; i < length; i++)
+            code = (code << 8) | (operator.charAt(i) & 0xff);
+        return code;
+    }
+
+    /**
+     * Sets whether the numbers of a command are put into {@link PdfNumber} instances which are reused
+     * by the next {@link #parse(List)} call, instead of allocating new ones for every operand.
+     * Names and operators are shared in any case. When operands are reused, the parsed objects are only
+     * valid until the next command is parsed and must not be kept; operands nested in arrays and
+     * dictionaries are never reused.
+     *
+     * @param reuseOperands true to reuse the number operands
+     */
+    public void setReuseOperands(boolean reuseOperands) {
+        this.reuseOperands = reuseOperands;
+    }
+
+    /**
+     * Checks whether the number operands are reused between commands.
+     *
+     * @return true if number operands are reused
+     * @see #setReuseOperands(boolean)
+     */
+    public boolean isReuseOperands() {
+        return reuseOperands;
+    }
+
+    /**
+     * Sets whether inline images are skipped. A skipped inline image is not returned as a command:
+     * the parser reads past its data and returns the command which follows it.
+     *
+     * @param skipInlineImages true to skip the inline images
+     */
+    public void setSkipInlineImages(boolean skipInlineImages) {
+        this.skipInlineImages = skipInlineImages;
+    }
+
+    /**
+     * Checks whether inline images are skipped.
+     *
+     * @return true if inline images are skipped
+     * @see #setSkipInlineImages(boolean)
+     */
+    public boolean isSkipInlineImages() {
+        return skipInlineImages;
+    }
+
     /**
      * Gets the tokeniser.
      * @return the tokeniser.
@@ -188,6 +295,17 @@ public class PdfCanvasParser {
      * @throws IOException on error
      */
     public PdfObject readObject() throws IOException {
+        return readObject(-1);
+    }
+
+    /**
+     * Reads a pdf object.
+     * @param operandIndex the index of the object among the operands of a command,
+     *                     or -1 if the object is nested in an array or dictionary
+     * @return the pdf object
+     * @throws IOException on error
+     */
+    private PdfObject readObject(int operandIndex) throws IOException {
         if (!nextValidToken())
             return null;
         final PdfTokenizer.TokenType type = tokeniser.getTokenType();
@@ -202,12 +320,20 @@ public class PdfCanvasParser {
                 PdfString str = new PdfString(tokeniser.getDecodedStringContent()).setHexWriting(tokeniser.isHexString());
                 return str;
             case Name:
-                return new PdfName(tokeniser.getByteContent());
+                return getInternedToken(true);
             case Number:
+                if (reuseOperands && operandIndex >= 0) {
+                    double value = tokeniser.getDoubleValue();
+                    if (!Double.isNaN(value)) {
+                        PdfNumber number = getNumberSlot(operandIndex);
+                        number.setValue(value);
+                        return number;
+                    }
+                }
                 //use PdfNumber(byte[]) here, as in this case number parsing won't happen until it's needed.
                 return new PdfNumber(tokeniser.getByteContent());
             default:
-                return new PdfLiteral(tokeniser.getByteContent());
+                return getInternedToken(false);
         }
     }
 
@@ -224,4 +350,43 @@ public class PdfCanvasParser {
         }
         return false;
     }
+
+    private PdfNumber getNumberSlot(int index) {
+        if (index >= numberSlots.length) {
+            PdfNumber[] slots = new PdfNumber[Math.max(index + 1, numberSlots.length * 2)];
+            System.arraycopy(numberSlots, 0, slots, 0, numberSlots.length);
+            numberSlots = slots;
+        }
+        PdfNumber number = numberSlots[index];
+        if (number == null) {
+            number = new PdfNumber(0);
+            numberSlots[index] = number;
+        }
+        return number;
+    }
+
+    /**
+     * Gets the {@link PdfName} or {@link PdfLiteral} for the current token, sharing the instance with
+     * previous occurrences of the same token if it is still cached.
+     */
+    private PdfPrimitiveObject getInternedToken(boolean name) {
+        int index = (tokeniser.getTokenHashCode() * 31 + (name ? 1 : 0)) & (INTERNED_TOKENS_CACHE_SIZE - 1);
+        lastInternedTokenIndex = index;
+        PdfPrimitiveObject token = internedTokens[index];
+        if (token != null && (token instanceof PdfName) == name && tokeniser.tokenValueEqualsTo(internedTokenContents[index])) {
+            return token;
+        }
+        byte[] content = tokeniser.getByteContent();
+        int code = 0;
+        if (!name && content.length > 0 && content.length <= 3) {
+            code = content.length;
+            for (byte b : content)
+                code = (code << 8) | (b & 0xff);
+        }
+        token = name ? (PdfPrimitiveObject) new PdfName(content) : new PdfLiteral(content);
+        internedTokens[index] = token;
+        internedTokenContents[index] = content;
+        internedOperatorCodes[index] = code;
+        return token;
+    }
 }
@@ -0,0 +1,224 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads the decoded content of all content streams of a page one after another, the same bytes
+ * {@link PdfPage#getContentBytes()} returns, without ever concatenating them.
+ * <br/>
+ * Streams which are only FlateDecode compressed are inflated while they are read. Unless the document
+ * is encrypted, their compressed bytes are read straight from the source of the document as well, see
+ * {@link PdfReader#readStreamRaw(PdfStream)}; the compressed bytes of an encrypted stream are decrypted
+ * into memory first. Streams with other filters are decoded one at a time, so at most one decoded content
+ * stream is held in memory.
+ */
+public class PdfPageContentInputStream extends InputStream {
+
+    private final PdfPage page;
+    private final int streamCount;
+    private int nextStreamIndex;
+    private InputStream current;
+
+    /**
+     * Creates a stream over the content of the given page.
+     *
+     * @param page the page whose content streams shall be read
+     */
+    public PdfPageContentInputStream(PdfPage page) {
+        this.page = page;
+        this.streamCount = page.getContentStreamCount();
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (current != null || openNextStream()) {
+            int b = current.read();
+            if (b >= 0) {
+                return b;
+            }
+            closeCurrentStream();
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (current != null || openNextStream()) {
+            int n = current.read(b, off, len);
+            if (n > 0) {
+                return n;
+            }
+            if (n < 0) {
+                closeCurrentStream();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeCurrentStream();
+        nextStreamIndex = streamCount;
+    }
+
+    private boolean openNextStream() throws IOException {
+        if (nextStreamIndex >= streamCount) {
+            return false;
+        }
+        current = openDecodedStream(page.getContentStream(nextStreamIndex++));
+        return true;
+    }
+
+    private void closeCurrentStream() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private static InputStream openDecodedStream(PdfStream stream) throws IOException {
+        if (stream == null) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        if (stream.getOutputStream() == null && isFlateOnly(stream)) {
+            InputStream raw = openRawStream(stream);
+            if (raw != null) {
+                return new LenientInflaterInputStream(raw);
+            }
+        }
+        byte[] bytes = stream.getBytes();
+        if (bytes == null) {
+            throw new PdfException(PdfException.CannotGetContentBytes);
+        }
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static InputStream openRawStream(PdfStream stream) throws IOException {
+        PdfIndirectReference reference = stream.getIndirectReference();
+        PdfReader reader = reference != null && reference.getDocument() != null ? reference.getDocument().getReader() : null;
+        InputStream raw = reader != null ? reader.readStreamRaw(stream) : null;
+        if (raw == null) {
+            byte[] bytes = stream.getBytes(false);
+            raw = bytes != null ? new ByteArrayInputStream(bytes) : null;
+        }
+        return raw;
+    }
+
+    private static boolean isFlateOnly(PdfDictionary streamDictionary) {
+        PdfObject filter = streamDictionary.get(PdfName.Filter);
+        if (filter == null) {
+            return false;
+        }
+        if (filter.getType() == PdfObject.ARRAY) {
+            PdfArray filters = (PdfArray) filter;
+            if (filters.size() != 1) {
+                return false;
+            }
+            filter = filters.get(0);
+        }
+        if (!PdfName.FlateDecode.equals(filter)) {
+            return false;
+        }
+        // predictors are applied to the whole decoded data, leave such streams to PdfReader.decodeBytes
+        return streamDictionary.get(PdfName.DecodeParms) == null && streamDictionary.get(PdfName.DP) == null;
+    }
+
+    /**
+     * Inflates a stream the way {@link com.itextpdf.kernel.pdf.filters.FlateDecodeFilter} decodes a corrupted one:
+     * whatever could be inflated before the error is kept and the error is treated as the end of the stream.
+     */
+    private static class LenientInflaterInputStream extends FilterInputStream {
+
+        private boolean failed;
+
+        LenientInflaterInputStream(InputStream in) {
+            super(new InflaterInputStream(in));
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (failed) {
+                return -1;
+            }
+            try {
+                return super.read();
+            } catch (IOException e) {
+                failed = true;
+                return -1;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (failed) {
+                return -1;
+            }
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                failed = true;
+                return -1;
+            }
+        }
+    }
+}
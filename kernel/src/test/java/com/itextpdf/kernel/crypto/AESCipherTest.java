@@ -0,0 +1,122 @@
+package com.itextpdf.kernel.crypto;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class AESCipherTest extends ExtendedITextTest {
+
+    private static final byte[] KEY = new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+    private static final byte[] IV = new byte[] {16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1};
+
+    @Test
+    public void backendsProduceSameOutputTest() {
+        for (int length : new int[] {0, 1, 15, 16, 17, 32, 1000, 4096}) {
+            byte[] data = createData(length);
+            byte[] bouncyCastleEncrypted = encrypt(new BouncyCastleAesCipherBackend(), data, 7);
+            byte[] jceEncrypted = encrypt(new JceAesCipherBackend(), data, 5);
+            Assert.assertArrayEquals("length " + length, bouncyCastleEncrypted, jceEncrypted);
+
+            Assert.assertArrayEquals("length " + length, data, decrypt(new BouncyCastleAesCipherBackend(), jceEncrypted, 3));
+            Assert.assertArrayEquals("length " + length, data, decrypt(new JceAesCipherBackend(), bouncyCastleEncrypted, 16));
+        }
+    }
+
+    @Test
+    public void wrongPaddingTest() {
+        byte[] encrypted = encrypt(new JceAesCipherBackend(), createData(20), 20);
+        encrypted[encrypted.length - 1] ^= 1;
+        byte[] bouncyCastleDecrypted = decrypt(new BouncyCastleAesCipherBackend(), encrypted, 32);
+        byte[] jceDecrypted = decrypt(new JceAesCipherBackend(), encrypted, 32);
+        Assert.assertArrayEquals(bouncyCastleDecrypted, jceDecrypted);
+    }
+
+    @Test
+    public void streamEncryptionTest() throws IOException {
+        IAesCipherBackend defaultBackend = AESCipher.getDefaultBackend();
+        AESCipher.setDefaultBackend(new JceAesCipherBackend());
+        try {
+            byte[] data = createData(20000);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            OutputStreamAesEncryption encryption = new OutputStreamAesEncryption(baos, KEY);
+            encryption.write(data, 0, 10000);
+            encryption.write(data, 10000, 10000);
+            encryption.finish();
+            byte[] encrypted = baos.toByteArray();
+
+            AesDecryptor decryptor = new AesDecryptor(KEY, 0, KEY.length);
+            byte[] decrypted = new byte[encrypted.length];
+            int n = decryptor.update(encrypted, 0, 10, decrypted, 0);
+            n += decryptor.update(encrypted, 10, encrypted.length - 10, decrypted, n);
+            n += decryptor.finish(decrypted, n);
+            Assert.assertArrayEquals(data, Arrays.copyOf(decrypted, n));
+        } finally {
+            AESCipher.setDefaultBackend(defaultBackend);
+        }
+    }
+
+    @Test
+    public void decryptIntoExactlySizedBuffersTest() {
+        for (IAesCipherBackend backend : new IAesCipherBackend[] {new BouncyCastleAesCipherBackend(), new JceAesCipherBackend()}) {
+            byte[] data = createData(1000);
+            byte[] encrypted = encrypt(backend, data, 64);
+            byte[] withIv = new byte[IV.length + encrypted.length];
+            System.arraycopy(IV, 0, withIv, 0, IV.length);
+            System.arraycopy(encrypted, 0, withIv, IV.length, encrypted.length);
+
+            IAesCipherBackend defaultBackend = AESCipher.getDefaultBackend();
+            AESCipher.setDefaultBackend(backend);
+            try {
+                AesDecryptor decryptor = new AesDecryptor(KEY, 0, KEY.length);
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                int[] chunkSizes = {7, 17, 1, 33, 15, 16, 49};
+                for (int off = 0, i = 0; off < withIv.length; off += chunkSizes[i++ % chunkSizes.length]) {
+                    int len = Math.min(chunkSizes[i % chunkSizes.length], withIv.length - off);
+                    int size = decryptor.getUpdateOutputSize(len);
+                    Assert.assertTrue(size <= len + 16);
+                    byte[] buffer = new byte[size];
+                    baos.write(buffer, 0, decryptor.update(withIv, off, len, buffer, 0));
+                }
+                byte[] buffer = new byte[16];
+                baos.write(buffer, 0, decryptor.finish(buffer, 0));
+                Assert.assertArrayEquals(data, baos.toByteArray());
+            } finally {
+                AESCipher.setDefaultBackend(defaultBackend);
+            }
+        }
+    }
+
+    private static byte[] encrypt(IAesCipherBackend backend, byte[] data, int chunkSize) {
+        return process(new AESCipher(true, KEY, IV, backend), data, chunkSize);
+    }
+
+    private static byte[] decrypt(IAesCipherBackend backend, byte[] data, int chunkSize) {
+        return process(new AESCipher(false, KEY, IV, backend), data, chunkSize);
+    }
+
+    private static byte[] process(AESCipher cipher, byte[] data, int chunkSize) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[chunkSize + 32];
+        for (int off = 0; off < data.length; off += chunkSize) {
+            int n = cipher.update(data, off, Math.min(chunkSize, data.length - off), buffer, 0);
+            baos.write(buffer, 0, n);
+        }
+        baos.write(buffer, 0, cipher.doFinal(buffer, 0));
+        return baos.toByteArray();
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
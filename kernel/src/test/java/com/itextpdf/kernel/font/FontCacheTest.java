@@ -0,0 +1,98 @@
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.font.cmap.CMapToUnicode;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class FontCacheTest extends ExtendedITextTest {
+
+    private static final String TO_UNICODE = "/CIDInit /ProcSet findresource begin 12 dict begin begincmap\n" +
+            "/CMapName /Test def 1 begincodespacerange <00> <FF> endcodespacerange\n" +
+            "1 beginbfchar <01> <0041> endbfchar\n" +
+            "endcmap CMapName currentdict /CMap defineresource pop end end";
+
+    @Test
+    public void documentFontIsSharedBetweenPagesTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())));
+        PdfDictionary firstPageFont = pdfDocument.getPage(1).getResources().getResource(PdfName.Font).getAsDictionary(new PdfName("F1"));
+        PdfDictionary secondPageFont = pdfDocument.getPage(2).getResources().getResource(PdfName.Font).getAsDictionary(new PdfName("F1"));
+        Assert.assertSame(pdfDocument.getFont(firstPageFont), pdfDocument.getFont(secondPageFont));
+
+        final List<PdfFont> fonts = new ArrayList<>();
+        IEventListener listener = new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                fonts.add(((TextRenderInfo) data).getFont());
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return Collections.singleton(EventType.RENDER_TEXT);
+            }
+        };
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getPage(i));
+        }
+        Assert.assertEquals(2, fonts.size());
+        Assert.assertSame(pdfDocument.getFont(firstPageFont), fonts.get(0));
+        Assert.assertSame(fonts.get(0), fonts.get(1));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void toUnicodeCacheTest() {
+        PdfStream first = new PdfStream(TO_UNICODE.getBytes());
+        PdfStream second = new PdfStream(TO_UNICODE.getBytes());
+        Assert.assertNotSame(FontUtil.processToUnicode(first), FontUtil.processToUnicode(second));
+
+        PdfFontFactory.setToUnicodeCacheSize(10);
+        try {
+            CMapToUnicode cMap = FontUtil.processToUnicode(first);
+            Assert.assertSame(cMap, FontUtil.processToUnicode(second));
+            Assert.assertEquals("A", new String(cMap.lookup(1)));
+            Assert.assertNotSame(cMap, FontUtil.processToUnicode(new PdfStream((TO_UNICODE + " ").getBytes())));
+        } finally {
+            PdfFontFactory.setToUnicodeCacheSize(0);
+        }
+        Assert.assertNotSame(FontUtil.processToUnicode(first), FontUtil.processToUnicode(second));
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        for (int i = 1; i <= 2; i++) {
+            new PdfCanvas(pdfDocument.addNewPage()).beginText().setFontAndSize(font, 12)
+                    .moveText(36, 700).showText("Page " + i).endText();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+}
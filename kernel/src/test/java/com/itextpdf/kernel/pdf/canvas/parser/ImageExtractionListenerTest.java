@@ -0,0 +1,145 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ImageStreamInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ImageExtractionListener;
+import com.itextpdf.kernel.pdf.xobject.PdfXObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ImageExtractionListenerTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/pdf/canvas/parser/ImageExtractionListenerTest/";
+
+    @Test
+    public void imageXObjectIsFoundOnceTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())));
+        final List<ImageStreamInfo> images = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new ImageExtractionListener(new ImageExtractionListener.IImageHandler() {
+            @Override
+            public void imageFound(ImageStreamInfo imageInfo) {
+                images.add(imageInfo);
+            }
+        }));
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            processor.processPageContent(pdfDocument.getPage(i));
+        }
+
+        Assert.assertEquals(1, images.size());
+        ImageStreamInfo image = images.get(0);
+        Assert.assertFalse(image.getImageRenderInfo().isInline());
+        Assert.assertTrue(image.getObjectNumber() > 0);
+        Assert.assertEquals(Collections.singletonList(PdfName.DCTDecode), image.getFilters());
+        Assert.assertEquals("jpg", image.getRawFileExtension());
+        Assert.assertNotNull(image.getColorSpace());
+
+        byte[] jpeg = Files.readAllBytes(Paths.get(sourceFolder + "itext.jpg"));
+        ImageData imageData = ImageDataFactory.create(jpeg);
+        Assert.assertEquals((int) imageData.getWidth(), image.getWidth());
+        Assert.assertEquals((int) imageData.getHeight(), image.getHeight());
+        Assert.assertEquals(jpeg.length, image.getRawLength());
+        Assert.assertArrayEquals(jpeg, readAll(image.openRawStream()));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void inlineImagesTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())));
+        final List<ImageStreamInfo> images = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new ImageExtractionListener(new ImageExtractionListener.IImageHandler() {
+            @Override
+            public void imageFound(ImageStreamInfo imageInfo) {
+                images.add(imageInfo);
+            }
+        }).setIncludeInlineImages(true));
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            processor.processPageContent(pdfDocument.getPage(i));
+        }
+
+        // the XObject once, the inline image on both pages
+        Assert.assertEquals(3, images.size());
+        int inlineImages = 0;
+        for (ImageStreamInfo image : images) {
+            if (image.getImageRenderInfo().isInline()) {
+                inlineImages++;
+                Assert.assertEquals(0, image.getObjectNumber());
+                Assert.assertArrayEquals(image.getStream().getBytes(false), readAll(image.openRawStream()));
+            }
+        }
+        Assert.assertEquals(2, inlineImages);
+        pdfDocument.close();
+    }
+
+    @Test
+    public void replacedImageDataTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())), new PdfWriter(new ByteArrayOutputStream()));
+        final List<ImageStreamInfo> images = new ArrayList<>();
+        new PdfCanvasProcessor(new ImageExtractionListener(new ImageExtractionListener.IImageHandler() {
+            @Override
+            public void imageFound(ImageStreamInfo imageInfo) {
+                images.add(imageInfo);
+            }
+        })).processPageContent(pdfDocument.getPage(1));
+
+        Assert.assertEquals(1, images.size());
+        byte[] data = new byte[] {1, 2, 3};
+        images.get(0).getStream().setData(data);
+        Assert.assertArrayEquals(data, readAll(images.get(0).openRawStream()));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void readStreamRawTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocument())));
+        PdfStream contentStream = pdfDocument.getPage(1).getFirstContentStream();
+        Assert.assertArrayEquals(pdfDocument.getReader().readStreamBytesRaw(contentStream),
+                readAll(pdfDocument.getReader().readStreamRaw(contentStream)));
+        pdfDocument.close();
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        try {
+            return StreamUtil.inputStreamToArray(stream);
+        } finally {
+            stream.close();
+        }
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ImageData image = ImageDataFactory.create(sourceFolder + "itext.jpg");
+        ImageData inlineImage = ImageDataFactory.create(2, 2, 3, 8, new byte[12], null);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+        PdfXObject xObject = canvas.addImage(image, 50, 500, 100, false);
+        canvas.addImage(inlineImage, 200, 500, 100, true);
+        canvas = new PdfCanvas(pdfDocument.addNewPage());
+        canvas.addXObject(xObject, 50, 500, 100);
+        canvas.addImage(inlineImage, 200, 500, 100, true);
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+}
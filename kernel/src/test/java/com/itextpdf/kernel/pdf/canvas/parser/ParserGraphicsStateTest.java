@@ -0,0 +1,86 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.geom.IShape;
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.geom.Path;
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.kernel.geom.Subpath;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ParserGraphicsStateTest {
+
+    @Test
+    public void clipTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setClippingPath(rectangle(0, 0, 100, 100));
+        gs.clip(rectangle(0, 0, 50, 200), PdfCanvasConstants.FillingRule.NONZERO_WINDING);
+        gs.clip(rectangle(-10, 10, 100, 200), PdfCanvasConstants.FillingRule.NONZERO_WINDING);
+
+        assertBounds(new double[] {0, 10, 50, 100}, gs.getClippingPath());
+        // the result is computed once and kept
+        Assert.assertSame(gs.getClippingPath(), gs.getClippingPath());
+    }
+
+    @Test
+    public void savedStateIsNotAffectedByClipTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setClippingPath(rectangle(0, 0, 100, 100));
+        ParserGraphicsState saved = new ParserGraphicsState(gs);
+        Assert.assertSame(saved.getClippingPath(), gs.getClippingPath());
+
+        gs.clip(rectangle(20, 20, 10, 10), PdfCanvasConstants.FillingRule.EVEN_ODD);
+
+        assertBounds(new double[] {0, 0, 100, 100}, saved.getClippingPath());
+        assertBounds(new double[] {20, 20, 30, 30}, gs.getClippingPath());
+    }
+
+    @Test
+    public void emptyClippingPathTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setClippingPath(rectangle(0, 0, 10, 10));
+        gs.clip(rectangle(20, 20, 10, 10), PdfCanvasConstants.FillingRule.NONZERO_WINDING);
+        gs.clip(rectangle(0, 0, 10, 10), PdfCanvasConstants.FillingRule.NONZERO_WINDING);
+        Assert.assertTrue(gs.getClippingPath().isEmpty());
+
+        Assert.assertNull(new ParserGraphicsState().getClippingPath());
+    }
+
+    @Test
+    public void manyPendingOperationsTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setClippingPath(rectangle(0, 0, 100, 100));
+        for (int i = 0; i < 10000; i++) {
+            gs.updateCtm(new Matrix(1, 0));
+            gs.clip(rectangle(-1000, -1000, 2000, 2000), PdfCanvasConstants.FillingRule.NONZERO_WINDING);
+        }
+
+        Assert.assertNotNull(gs.getClippingPath());
+    }
+
+    private static Path rectangle(float x, float y, float w, float h) {
+        Path path = new Path();
+        path.rectangle(x, y, w, h);
+        return path;
+    }
+
+    private static void assertBounds(double[] expected, Path path) {
+        double[] bounds = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (Subpath subpath : path.getSubpaths()) {
+            for (IShape segment : subpath.getSegments()) {
+                for (Point point : segment.getBasePoints()) {
+                    bounds[0] = Math.min(bounds[0], point.getX());
+                    bounds[1] = Math.min(bounds[1], point.getY());
+                    bounds[2] = Math.max(bounds[2], point.getX());
+                    bounds[3] = Math.max(bounds[3], point.getY());
+                }
+            }
+        }
+        Assert.assertArrayEquals(expected, bounds, 1e-3);
+    }
+}
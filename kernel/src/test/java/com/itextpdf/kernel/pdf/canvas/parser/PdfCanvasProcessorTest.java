@@ -1,25 +1,40 @@
 package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ClippingPathInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -98,4 +113,104 @@ public class PdfCanvasProcessorTest extends ExtendedITextTest {
         }
     }
 
+
+    @Test
+    public void textOnlyListenerSkipsInlineImagesTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfDictionary properties = new PdfDictionary();
+        properties.put(PdfName.MCID, new PdfNumber(5));
+        PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+        canvas.beginMarkedContent(PdfName.Span, properties);
+        canvas.addImage(ImageDataFactory.create(2, 2, 3, 8, new byte[12], null), 36, 36, 20, true);
+        canvas.beginText().setFontAndSize(PdfFontFactory.createFont(FontConstants.HELVETICA), 12)
+                .moveText(36, 700).showText("Hello").endText().endMarkedContent();
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        final List<Integer> mcids = new ArrayList<>();
+        new PdfCanvasProcessor(new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                mcids.add(((TextRenderInfo) data).getMcid());
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return Collections.singleton(EventType.RENDER_TEXT);
+            }
+        }).processPageContent(pdfDocument.getPage(1));
+        Assert.assertEquals(Collections.singletonList(5), mcids);
+        Assert.assertEquals("Hello", PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1)));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void dashPatternWithReusedOperandsTest() {
+        final List<PdfArray> dashPatterns = new ArrayList<>();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                dashPatterns.add(((PathRenderInfo) data).getLineDashPattern());
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return Collections.singleton(EventType.RENDER_PATH);
+            }
+        }).setReuseOperands(true);
+        processor.processContent(ByteUtils.getIsoBytes("[3 2] 5 d 0 0 m 10 77 l S"), new PdfResources());
+
+        Assert.assertEquals(1, dashPatterns.size());
+        Assert.assertEquals(5, dashPatterns.get(0).getAsNumber(1).intValue());
+        Assert.assertEquals(3, dashPatterns.get(0).getAsArray(0).getAsNumber(0).intValue());
+    }
+
+    @Test
+    public void markedContentHooksForPathListenerTest() {
+        IEventListener pathListener = new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return Collections.singleton(EventType.RENDER_PATH);
+            }
+        };
+        byte[] content = ByteUtils.getIsoBytes("/Artifact BMC 0 0 m 10 10 l S EMC /P <</MCID 3>> BDC EMC");
+
+        MarkedContentCountingProcessor defaultProcessor = new MarkedContentCountingProcessor(pathListener, false);
+        defaultProcessor.processContent(content, new PdfResources());
+        Assert.assertEquals(0, defaultProcessor.begun);
+
+        MarkedContentCountingProcessor processor = new MarkedContentCountingProcessor(pathListener, true);
+        processor.processContent(content, new PdfResources());
+        Assert.assertEquals(2, processor.begun);
+        Assert.assertEquals(2, processor.ended);
+    }
+
+    private static class MarkedContentCountingProcessor extends PdfCanvasProcessor {
+        int begun;
+        int ended;
+
+        MarkedContentCountingProcessor(IEventListener eventListener, boolean trackMarkedContent) {
+            super(eventListener);
+            if (trackMarkedContent) {
+                registerMarkedContentOperators();
+            }
+        }
+
+        @Override
+        protected void beginMarkedContent(PdfName tag, PdfDictionary dict) {
+            super.beginMarkedContent(tag, dict);
+            begun++;
+        }
+
+        @Override
+        protected void endMarkedContent() {
+            super.endMarkedContent();
+            ended++;
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfDocumentTextExtractorTest extends ExtendedITextTest {
+
+    private static final int PAGE_COUNT = 40;
+
+    @Test
+    public void extractAllPagesTest() throws IOException {
+        byte[] document = createDocument();
+        String[] texts = new PdfDocumentTextExtractor(document).setThreadCount(3).extractText();
+
+        Assert.assertArrayEquals(extractSequentially(document, 1, PAGE_COUNT), texts);
+        Assert.assertEquals("Page 7\nline 2", texts[6]);
+    }
+
+    @Test
+    public void extractPageRangeTest() throws IOException {
+        byte[] document = createDocument();
+        String[] texts = new PdfDocumentTextExtractor(document).setThreadCount(4).extractText(5, 12);
+
+        Assert.assertArrayEquals(extractSequentially(document, 5, 12), texts);
+        Assert.assertEquals(0, new PdfDocumentTextExtractor(document).extractText(3, 2).length);
+    }
+
+    @Test
+    public void listenerReceivesPagesInOrderTest() throws IOException {
+        final List<Integer> pages = new ArrayList<>();
+        final List<String> texts = new ArrayList<>();
+        new PdfDocumentTextExtractor(createDocument()).setThreadCount(5).extractText(1, PAGE_COUNT,
+                new PdfDocumentTextExtractor.IPageTextListener() {
+                    @Override
+                    public void pageTextExtracted(int pageNumber, String text) {
+                        pages.add(pageNumber);
+                        texts.add(text);
+                    }
+                });
+
+        Assert.assertEquals(PAGE_COUNT, pages.size());
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            Assert.assertEquals(i + 1, (int) pages.get(i));
+            Assert.assertTrue(texts.get(i).startsWith("Page " + (i + 1) + "\n"));
+        }
+    }
+
+    @Test
+    public void strategyFactoryTest() throws IOException {
+        String[] texts = new PdfDocumentTextExtractor(createDocument()).setThreadCount(2)
+                .setStrategyFactory(new PdfDocumentTextExtractor.IStrategyFactory() {
+                    @Override
+                    public ITextExtractionStrategy createStrategy(int pageNumber) {
+                        return new SimpleTextExtractionStrategy();
+                    }
+                }).extractText(1, 3);
+
+        Assert.assertEquals("Page 2\nline 2", texts[1]);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void failureIsRethrownTest() throws IOException {
+        new PdfDocumentTextExtractor(createDocument()).setThreadCount(2).extractText(1, PAGE_COUNT + 1);
+    }
+
+    private static String[] extractSequentially(byte[] document, int fromPage, int toPage) throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(document)));
+        String[] texts = new String[toPage - fromPage + 1];
+        for (int i = fromPage; i <= toPage; i++) {
+            texts[i - fromPage] = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i));
+        }
+        pdfDocument.close();
+        return texts;
+    }
+
+    private static byte[] createDocument() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(FontConstants.HELVETICA);
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            new PdfCanvas(pdfDocument.addNewPage()).beginText().setFontAndSize(font, 12)
+                    .moveText(36, 700).showText("Page " + i)
+                    .moveText(0, -20).showText("line 2").endText();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.filter.TextRegionEventFilter;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.FilteredEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.RegionTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class RegionTextExtractionStrategyTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/parser/FilteredEventListenerTest/";
+
+    @Test
+    public void regionsTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new FileInputStream(sourceFolder + "test.pdf")));
+        RegionTextExtractionStrategy strategy = new RegionTextExtractionStrategy();
+        new PdfCanvasProcessor(strategy).processPageContent(pdfDocument.getPage(1));
+
+        Assert.assertEquals("PostScript Compatibility", strategy.getResultantText(new Rectangle(90, 581, 130, 24)));
+        Assert.assertEquals("Otherwise, flatten the colors to some assumed device color space with pre-\n" +
+                "determined calibration. In the generated PostScript output, paint the flattened \n" +
+                "colors in a CIE-based color space having that calibration. ", strategy.getResultantText(new Rectangle(103, 143, 357, 53)));
+        Assert.assertEquals("", strategy.getResultantText(new Rectangle(1000, 1000, 10, 10)));
+
+        LocationTextExtractionStrategy pageStrategy = new LocationTextExtractionStrategy();
+        new PdfCanvasProcessor(pageStrategy).processPageContent(pdfDocument.getPage(1));
+        Assert.assertEquals(pageStrategy.getResultantText(), strategy.getResultantText((Rectangle) null));
+        Assert.assertEquals(pageStrategy.getResultantText(), strategy.getResultantText());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void sameTextAsRegionFilterTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new FileInputStream(sourceFolder + "test.pdf")));
+        Random random = new Random(42);
+        List<Rectangle> regions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            regions.add(new Rectangle(random.nextInt(600), random.nextInt(800), random.nextInt(300), random.nextInt(100)));
+        }
+        regions.add(new Rectangle(0, 0, 612, 792));
+        regions.add(new Rectangle(500, 700, -400, -300));
+
+        FilteredEventListener listener = new FilteredEventListener();
+        List<LocationTextExtractionStrategy> filteredStrategies = new ArrayList<>();
+        for (Rectangle region : regions) {
+            filteredStrategies.add(listener.attachEventListener(new LocationTextExtractionStrategy(), new TextRegionEventFilter(region)));
+        }
+        RegionTextExtractionStrategy strategy = listener.attachEventListener(new RegionTextExtractionStrategy());
+        new PdfCanvasProcessor(listener).processPageContent(pdfDocument.getPage(1));
+
+        for (int i = 0; i < regions.size(); i++) {
+            Assert.assertEquals(filteredStrategies.get(i).getResultantText(), strategy.getResultantText(regions.get(i)));
+        }
+        pdfDocument.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.EncryptionConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class StreamingContentProcessingTest extends ExtendedITextTest {
+
+    @Test
+    public void flateCompressedContentTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createMultiStreamDocument(new WriterProperties().setCompressionLevel(CompressionConstants.DEFAULT_COMPRESSION)))));
+        PdfPage page = pdfDocument.getPage(1);
+        Assert.assertEquals(3, page.getContentStreamCount());
+        Assert.assertEquals(PdfName.FlateDecode, page.getFirstContentStream().get(PdfName.Filter));
+        String concatenated = extractText(page, false);
+        Assert.assertEquals(concatenated, extractText(page, true));
+        Assert.assertTrue(concatenated.contains("Line number 1999"));
+        Assert.assertTrue(concatenated.contains("Last line"));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void uncompressedContentTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createMultiStreamDocument(new WriterProperties().setCompressionLevel(CompressionConstants.NO_COMPRESSION)))));
+        PdfPage page = pdfDocument.getPage(1);
+        Assert.assertNull(page.getFirstContentStream().get(PdfName.Filter));
+        Assert.assertEquals(extractText(page, false), extractText(page, true));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void encryptedFlateCompressedContentTest() throws IOException {
+        byte[] owner = "owner".getBytes();
+        WriterProperties properties = new WriterProperties().setCompressionLevel(CompressionConstants.DEFAULT_COMPRESSION)
+                .setStandardEncryption(null, owner, EncryptionConstants.ALLOW_SCREENREADERS, EncryptionConstants.ENCRYPTION_AES_128);
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createMultiStreamDocument(properties)),
+                new ReaderProperties().setPassword(owner)));
+        PdfPage page = pdfDocument.getPage(1);
+        String concatenated = extractText(page, false);
+        Assert.assertEquals(concatenated, extractText(page, true));
+        Assert.assertTrue(concatenated.contains("Last line"));
+        pdfDocument.close();
+    }
+
+    private static byte[] createMultiStreamDocument(WriterProperties properties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        PdfPage page = pdfDocument.addNewPage();
+        PdfName font = page.getResources().addFont(pdfDocument, PdfFontFactory.createFont(FontConstants.HELVETICA));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("BT /").append(font.getValue()).append(" 6 Tf 36 ").append(800 - i % 130 * 6).append(" Td (Line number ").append(i).append(") Tj ET\n");
+        }
+        page.getFirstContentStream().getOutputStream().writeString(text.toString());
+        // split an operator and its operands over two content streams
+        page.newContentStreamAfter().getOutputStream().writeString("BT /" + font.getValue() + " 12 Tf 36");
+        page.newContentStreamAfter().getOutputStream().writeString(" 20 Td (Last line) Tj ET");
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static String extractText(PdfPage page, boolean streamingContent) {
+        LocationTextExtractionStrategy strategy = new LocationTextExtractionStrategy();
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(strategy).setStreamingContent(streamingContent);
+        processor.processPageContent(page);
+        return strategy.getResultantText();
+    }
+}
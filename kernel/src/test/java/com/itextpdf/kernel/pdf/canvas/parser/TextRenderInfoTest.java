@@ -36,6 +36,35 @@ public class TextRenderInfoTest extends ExtendedITextTest {
         parser.processPageContent(new PdfDocument(new PdfReader(sourceFolder + "simple_text.pdf")).getPage(FIRST_PAGE));
     }
 
+    @Test
+    public void testGeometryIsComputedOnce() throws Exception {
+        final List<TextRenderInfo> infos = new ArrayList<>();
+        PdfCanvasProcessor parser = new PdfCanvasProcessor(new IEventListener() {
+            @Override
+            public void eventOccurred(IEventData data, EventType type) {
+                TextRenderInfo renderInfo = (TextRenderInfo) data;
+                Assert.assertSame(renderInfo.getBaseline(), renderInfo.getBaseline());
+                Assert.assertSame(renderInfo.getAscentLine(), renderInfo.getAscentLine());
+                Assert.assertSame(renderInfo.getDescentLine(), renderInfo.getDescentLine());
+                List<TextRenderInfo> characterInfos = renderInfo.getCharacterRenderInfos();
+                Assert.assertEquals(characterInfos, renderInfo.getCharacterRenderInfos());
+                float width = 0;
+                for (TextRenderInfo characterInfo : characterInfos) {
+                    width += characterInfo.getUnscaledWidth();
+                }
+                Assert.assertEquals(renderInfo.getUnscaledWidth(), width, 1e-4);
+                infos.add(renderInfo);
+            }
+
+            @Override
+            public Set<EventType> getSupportedEvents() {
+                return Collections.singleton(EventType.RENDER_TEXT);
+            }
+        });
+        parser.processPageContent(new PdfDocument(new PdfReader(sourceFolder + "simple_text.pdf")).getPage(FIRST_PAGE));
+        Assert.assertFalse(infos.isEmpty());
+    }
+
     /**
      * Test introduced to exclude a bug related to a Unicode quirk for
      * Japanese. TextRenderInfo threw an AIOOBE for some characters.
@@ -0,0 +1,59 @@
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.geom.Vector;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy.TextChunk;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy.TextChunkLocationDefaultImp;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class TextChunkSortingTest {
+
+    @Test
+    public void sameOrderAsComparableTest() {
+        Random random = new Random(7);
+        List<TextChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            float x = random.nextInt(50) * 10;
+            float y = random.nextInt(200) * 4 - 400;
+            if (i % 10 == 0) {
+                // vertical text
+                chunks.add(createChunk(i, y, x, y, x + 8));
+            } else {
+                // equal start points keep their order, the sort must be stable
+                chunks.add(createChunk(i, x, y, x + 8, y));
+            }
+        }
+        assertSameOrder(chunks);
+    }
+
+    @Test
+    public void zeroWidthChunksTest() {
+        List<TextChunk> chunks = new ArrayList<>();
+        chunks.add(createChunk(0, 10, 10, 30, 10));
+        chunks.add(createChunk(1, 0, 50, 20, 50));
+        chunks.add(createChunk(2, 15, 10, 15, 10));
+        chunks.add(createChunk(3, 30, 10, 40, 10));
+        assertSameOrder(chunks);
+    }
+
+    private static void assertSameOrder(List<TextChunk> chunks) {
+        List<TextChunk> expected = new ArrayList<>(chunks);
+        Collections.sort(expected);
+        List<TextChunk> actual = new ArrayList<>(chunks);
+        LocationTextExtractionStrategy.sortTextChunks(actual);
+        Assert.assertEquals(expected, actual);
+    }
+
+    private static TextChunk createChunk(int index, float x1, float y1, float x2, float y2) {
+        return new TextChunk(String.valueOf(index), new TextChunkLocationDefaultImp(new Vector(x1, y1, 1), new Vector(x2, y2, 1), 2));
+    }
+}
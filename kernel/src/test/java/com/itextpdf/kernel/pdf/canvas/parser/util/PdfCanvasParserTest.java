@@ -0,0 +1,94 @@
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PdfCanvasParserTest {
+
+    @Test
+    public void operatorCodesTest() throws IOException {
+        PdfCanvasParser parser = createParser("q 1 0 0 1 10 20 cm BDC EMC Q myOwnOperator");
+        List<PdfObject> operands = new ArrayList<>();
+        String[] expected = {"q", "cm", "BDC", "EMC", "Q"};
+        for (String operator : expected) {
+            parser.parse(operands);
+            Assert.assertEquals(operator, operands.get(operands.size() - 1).toString());
+            Assert.assertEquals(PdfCanvasParser.getOperatorCode(operator), parser.getOperatorCode());
+        }
+        parser.parse(operands);
+        Assert.assertEquals(0, parser.getOperatorCode());
+        Assert.assertEquals(0, PdfCanvasParser.getOperatorCode("myOwnOperator"));
+        Assert.assertNotEquals(PdfCanvasParser.getOperatorCode("sc"), PdfCanvasParser.getOperatorCode("scn"));
+        Assert.assertNotEquals(PdfCanvasParser.getOperatorCode("SC"), PdfCanvasParser.getOperatorCode("sc"));
+    }
+
+    @Test
+    public void namesAndOperatorsAreSharedTest() throws IOException {
+        PdfCanvasParser parser = createParser("/F1 12 Tf /F1 10 Tf");
+        List<PdfObject> first = new ArrayList<>(parser.parse(null));
+        List<PdfObject> second = new ArrayList<>(parser.parse(null));
+        Assert.assertSame(first.get(0), second.get(0));
+        Assert.assertSame(first.get(2), second.get(2));
+        Assert.assertEquals(new PdfName("F1"), second.get(0));
+        // without reusing operands every number is a new object
+        Assert.assertNotSame(first.get(1), second.get(1));
+        Assert.assertEquals(12, ((PdfNumber) first.get(1)).floatValue(), 0);
+        Assert.assertEquals(10, ((PdfNumber) second.get(1)).floatValue(), 0);
+    }
+
+    @Test
+    public void reuseOperandsTest() throws IOException {
+        PdfCanvasParser parser = createParser("1 2 m 3.5 -4 l [5 6] 0 d");
+        parser.setReuseOperands(true);
+        List<PdfObject> operands = new ArrayList<>();
+        PdfObject firstOperand = parser.parse(operands).get(0);
+        Assert.assertEquals(1, ((PdfNumber) firstOperand).floatValue(), 0);
+        parser.parse(operands);
+        Assert.assertSame(firstOperand, operands.get(0));
+        Assert.assertEquals(3.5, ((PdfNumber) operands.get(0)).doubleValue(), 0);
+        Assert.assertEquals(-4, ((PdfNumber) operands.get(1)).doubleValue(), 0);
+        PdfObject secondOperand = operands.get(1);
+        parser.parse(operands);
+        PdfArray dashArray = (PdfArray) operands.get(0);
+        Assert.assertEquals(5, dashArray.getAsNumber(0).intValue());
+        Assert.assertEquals(6, dashArray.getAsNumber(1).intValue());
+        Assert.assertNotSame(firstOperand, dashArray.get(0));
+        Assert.assertSame(secondOperand, operands.get(1));
+        Assert.assertEquals(0, ((PdfNumber) operands.get(1)).intValue());
+    }
+
+    @Test
+    public void skipInlineImagesTest() throws IOException {
+        // the samples of the first image look like an EI operator, the second image is filtered
+        PdfCanvasParser parser = createParser("q BI /W 2 /H 1 /CS /G /BPC 8 ID EI EI cm BI /W 1 /H 1 /CS /G /F /AHx ID 41> EI Q");
+        parser.setSkipInlineImages(true);
+        List<PdfObject> operands = new ArrayList<>();
+        String[] expected = {"q", "cm", "Q"};
+        for (String operator : expected) {
+            parser.parse(operands);
+            Assert.assertEquals(1, operands.size());
+            Assert.assertEquals(operator, operands.get(0).toString());
+        }
+        Assert.assertEquals(0, parser.parse(operands).size());
+    }
+
+    private static PdfCanvasParser createParser(String content) {
+        return new PdfCanvasParser(new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(ByteUtils.getIsoBytes(content)))));
+    }
+}
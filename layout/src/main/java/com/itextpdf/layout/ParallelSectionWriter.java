@@ -0,0 +1,334 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.annot.PdfAnnotation;
+import com.itextpdf.kernel.pdf.annot.PdfLinkAnnotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lays out independent {@link IDocumentSection sections} of a document on several threads
+ * and appends them, in the order in which they were added, to one {@link PdfDocument}.
+ * <p>
+ * Every section is laid out into its own temporary document, as if it was preceded by an
+ * {@link com.itextpdf.layout.element.AreaBreak}. The pages of the temporary documents are then
+ * copied to the resultant document together with their outlines, named destinations and links.
+ * Links to named destinations of other sections are kept as well, so the names of the
+ * destinations shall be unique across all the sections. Such a link is added once the section
+ * which defines its destination is appended; a link to a name which no section defines is dropped.
+ * <p>
+ * A section doesn't know the pages of the other sections: page numbers laid out inside a section
+ * count the pages of that section only, starting from 1. Page numbers and other content which
+ * depends on the final position of a page should be added by an event handler registered on the
+ * resultant document for {@link com.itextpdf.kernel.events.PdfDocumentEvent#END_PAGE}, which is
+ * fired when the copied pages are flushed.
+ */
+public class ParallelSectionWriter {
+
+    private PdfDocument pdfDocument;
+    private PageSize pageSize;
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+    private List<IDocumentSection> sections = new ArrayList<>();
+
+    /**
+     * Creates a writer which appends the sections to the given document. The sections are laid out
+     * on pages of the {@link PdfDocument}'s current default {@link PageSize}.
+     * @param pdfDoc the document to append the sections to
+     */
+    public ParallelSectionWriter(PdfDocument pdfDoc) {
+        this(pdfDoc, pdfDoc.getDefaultPageSize());
+    }
+
+    /**
+     * Creates a writer which appends the sections to the given document.
+     * @param pdfDoc the document to append the sections to
+     * @param pageSize the size of the pages the sections are laid out on
+     */
+    public ParallelSectionWriter(PdfDocument pdfDoc, PageSize pageSize) {
+        this.pdfDocument = pdfDoc;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Sets the maximum number of sections which are laid out at the same time.
+     * By default it is the number of available processors.
+     * @param threadCount the maximum number of threads
+     * @return this writer
+     */
+    public ParallelSectionWriter setThreadCount(int threadCount) {
+        this.threadCount = Math.max(threadCount, 1);
+        return this;
+    }
+
+    /**
+     * Adds a section. The sections are appended to the document in the order they were added.
+     * @param section the section to add
+     * @return this writer
+     */
+    public ParallelSectionWriter addSection(IDocumentSection section) {
+        sections.add(section);
+        return this;
+    }
+
+    /**
+     * Lays out all added sections and appends their pages to the document. The sections are
+     * copied to the document as soon as they and all the preceding ones are laid out.
+     * The document is not closed by this method.
+     */
+    public void write() {
+        if (sections.isEmpty()) {
+            return;
+        }
+        final boolean tagged = pdfDocument.isTagged();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, sections.size()));
+        try {
+            List<Future<byte[]>> laidOutSections = new ArrayList<>(sections.size());
+            for (final IDocumentSection section : sections) {
+                laidOutSections.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() {
+                        return layoutSection(section, tagged);
+                    }
+                }));
+            }
+            List<PendingLink> pendingLinks = new ArrayList<>();
+            for (int i = 0; i < laidOutSections.size(); i++) {
+                appendSection(getLaidOutSection(laidOutSections.get(i), i + 1), pendingLinks);
+                addResolvedLinks(pendingLinks);
+            }
+            sections.clear();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private byte[] layoutSection(IDocumentSection section, boolean tagged) {
+        ByteArrayOutputStream sectionBytes = new ByteArrayOutputStream();
+        PdfDocument sectionPdf = new PdfDocument(new PdfWriter(sectionBytes));
+        if (tagged) {
+            sectionPdf.setTagged();
+        }
+        Document document = new Document(sectionPdf, pageSize);
+        section.layout(document);
+        document.close();
+        return sectionBytes.toByteArray();
+    }
+
+    private static byte[] getLaidOutSection(Future<byte[]> laidOutSection, int sectionNumber) {
+        try {
+            return laidOutSection.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.Section1CouldNotBeLaidOut, e).setMessageParams(sectionNumber);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(PdfException.Section1CouldNotBeLaidOut, e.getCause()).setMessageParams(sectionNumber);
+        }
+    }
+
+    private void appendSection(byte[] sectionBytes, List<PendingLink> pendingLinks) {
+        PdfDocument sectionPdf;
+        try {
+            sectionPdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(sectionBytes)));
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        }
+        int numberOfPages = sectionPdf.getNumberOfPages();
+        if (numberOfPages > 0) {
+            if (sectionPdf.hasOutlines()) {
+                pdfDocument.initializeOutlines();
+            }
+            List<PdfPage> copiedPages = sectionPdf.copyPagesTo(1, numberOfPages, pdfDocument);
+            Map<PdfObject, PdfPage> page2page = new HashMap<>(numberOfPages);
+            for (int i = 1; i <= numberOfPages; i++) {
+                page2page.put(sectionPdf.getPage(i).getPdfObject(), copiedPages.get(i - 1));
+            }
+            Map<String, PdfObject> sectionDestinations = sectionPdf.getCatalog().getNameTree(PdfName.Dests).getNames();
+            copyNamedDestinations(sectionDestinations, page2page);
+            copyLinksToOtherSections(sectionPdf, sectionDestinations, copiedPages, pendingLinks);
+        }
+        sectionPdf.close();
+    }
+
+    /**
+     * Copies the named destinations of a section, including the ones which are not referenced
+     * from the section itself and therefore are not copied together with its pages.
+     */
+    private void copyNamedDestinations(Map<String, PdfObject> sectionDestinations, Map<PdfObject, PdfPage> page2page) {
+        Map<String, PdfObject> destinations = pdfDocument.getCatalog().getNameTree(PdfName.Dests).getNames();
+        for (Map.Entry<String, PdfObject> entry : sectionDestinations.entrySet()) {
+            if (destinations.containsKey(entry.getKey())) {
+                continue;
+            }
+            PdfObject destination = entry.getValue();
+            PdfArray array = null;
+            if (destination.isArray()) {
+                array = (PdfArray) destination;
+            } else if (destination.isDictionary()) {
+                array = ((PdfDictionary) destination).getAsArray(PdfName.D);
+            }
+            PdfPage page = array != null && array.size() > 0 ? page2page.get(array.get(0)) : null;
+            if (page != null) {
+                PdfArray copiedArray = new PdfArray();
+                copiedArray.add(page.getPdfObject());
+                for (int i = 1; i < array.size(); i++) {
+                    copiedArray.add(array.get(i).copyTo(pdfDocument));
+                }
+                pdfDocument.addNamedDestination(entry.getKey(), copiedArray);
+            }
+        }
+    }
+
+    /**
+     * Copies the links which point to named destinations of other sections. Such links are dropped
+     * when the pages are copied, because their destinations are unknown in the section's own document.
+     * The copied annotation is a direct object and the destination is put into it (or into its GoTo action)
+     * only when the link is added, so a link which is never added doesn't leave a dangling destination.
+     */
+    private void copyLinksToOtherSections(PdfDocument sectionPdf, Map<String, PdfObject> sectionDestinations,
+                                          List<PdfPage> copiedPages, List<PendingLink> pendingLinks) {
+        List<PdfName> excludedKeys = Arrays.asList(PdfName.P, PdfName.A, PdfName.Dest);
+        for (int i = 1; i <= sectionPdf.getNumberOfPages(); i++) {
+            for (PdfAnnotation annot : sectionPdf.getPage(i).getAnnotations()) {
+                if (!PdfName.Link.equals(annot.getSubtype())) {
+                    continue;
+                }
+                PdfLinkAnnotation link = (PdfLinkAnnotation) annot;
+                PdfObject destination = link.getDestinationObject();
+                PdfDictionary action = null;
+                if (destination == null) {
+                    action = link.getAction();
+                    if (action == null || !PdfName.GoTo.equals(action.get(PdfName.S))) {
+                        continue;
+                    }
+                    destination = action.get(PdfName.D);
+                }
+                String destinationName = getDestinationName(destination);
+                if (destinationName != null && !sectionDestinations.containsKey(destinationName)) {
+                    PdfDictionary copiedAnnot = annot.getPdfObject().clone(excludedKeys).copyTo(pdfDocument, false);
+                    PdfDictionary copiedAction = action != null ? action.copyTo(pdfDocument, Collections.singletonList(PdfName.D), false) : null;
+                    pendingLinks.add(new PendingLink(copiedPages.get(i - 1), copiedAnnot, copiedAction,
+                            destination.copyTo(pdfDocument, false), destinationName));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the pending links whose destinations are already defined in the resultant document.
+     */
+    private void addResolvedLinks(List<PendingLink> pendingLinks) {
+        Map<String, PdfObject> destinations = pdfDocument.getCatalog().getNameTree(PdfName.Dests).getNames();
+        Iterator<PendingLink> iterator = pendingLinks.iterator();
+        while (iterator.hasNext()) {
+            PendingLink link = iterator.next();
+            if (destinations.containsKey(link.destinationName)) {
+                if (link.action != null) {
+                    link.action.put(PdfName.D, link.destination);
+                    link.annotation.put(PdfName.A, link.action);
+                } else {
+                    link.annotation.put(PdfName.Dest, link.destination);
+                }
+                PdfAnnotation annot = PdfAnnotation.makeAnnotation(link.annotation.makeIndirect(pdfDocument));
+                link.page.addAnnotation(-1, annot, false);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String getDestinationName(PdfObject destination) {
+        if (destination == null) {
+            return null;
+        } else if (destination.isString()) {
+            return ((PdfString) destination).toUnicodeString();
+        } else if (destination.isName()) {
+            return ((PdfName) destination).getValue();
+        }
+        return null;
+    }
+
+    private static class PendingLink {
+        private final PdfPage page;
+        private final PdfDictionary annotation;
+        private final PdfDictionary action;
+        private final PdfObject destination;
+        private final String destinationName;
+
+        PendingLink(PdfPage page, PdfDictionary annotation, PdfDictionary action, PdfObject destination, String destinationName) {
+            this.page = page;
+            this.annotation = annotation;
+            this.action = action;
+            this.destination = destination;
+            this.destinationName = destinationName;
+        }
+    }
+}
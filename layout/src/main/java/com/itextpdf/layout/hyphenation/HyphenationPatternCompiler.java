@@ -0,0 +1,155 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles XML hyphenation pattern files into the binary form understood by
+ * {@link HyphenationTree#loadCompiledPatterns(InputStream, String)}.
+ * It is run at build time over the patterns of the hyph module, so that the
+ * {@link Hyphenator} does not need to parse the XML files at runtime.
+ */
+public final class HyphenationPatternCompiler {
+
+    /**
+     * The file extension of the compiled pattern files.
+     */
+    public static final String COMPILED_PATTERNS_EXTENSION = ".bin";
+
+    private static final String XML_PATTERNS_EXTENSION = ".xml";
+
+    private static Logger log = LoggerFactory.getLogger(HyphenationPatternCompiler.class);
+
+    private HyphenationPatternCompiler() {
+    }
+
+    /**
+     * Compiles all XML pattern files of the source directory.
+     *
+     * @param args the source directory and, optionally, the target directory
+     *             (the source directory is used if the target one is omitted)
+     * @throws IOException if an I/O error occurs
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: HyphenationPatternCompiler sourceDirectory [targetDirectory]");
+        }
+        File sourceDirectory = new File(args[0]);
+        File targetDirectory = args.length > 1 ? new File(args[1]) : sourceDirectory;
+        compileDirectory(sourceDirectory, targetDirectory);
+    }
+
+    /**
+     * Compiles every XML pattern file of the source directory into a file with the same
+     * name and the {@link #COMPILED_PATTERNS_EXTENSION} extension in the target directory.
+     * Files that cannot be parsed are skipped, the {@link Hyphenator} keeps falling back
+     * to the XML file for them.
+     *
+     * @param sourceDirectory the directory with the XML pattern files
+     * @param targetDirectory the directory to write the compiled files to
+     * @return the number of compiled files
+     * @throws IOException if an I/O error occurs
+     */
+    public static int compileDirectory(File sourceDirectory, File targetDirectory) throws IOException {
+        File[] patternFiles = sourceDirectory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(XML_PATTERNS_EXTENSION);
+            }
+        });
+        if (patternFiles == null) {
+            throw new IOException(sourceDirectory + " is not a directory");
+        }
+        if (!targetDirectory.isDirectory() && !targetDirectory.mkdirs()) {
+            throw new IOException("Can't create directory " + targetDirectory);
+        }
+        int compiled = 0;
+        for (File patternFile : patternFiles) {
+            String key = patternFile.getName().substring(0, patternFile.getName().length() - XML_PATTERNS_EXTENSION.length());
+            try {
+                compile(patternFile, new File(targetDirectory, key + COMPILED_PATTERNS_EXTENSION));
+                compiled++;
+            } catch (HyphenationException e) {
+                log.warn("Can't compile hyphenation patterns " + patternFile.getName() + ": " + e.getMessage());
+            }
+        }
+        log.info("Compiled " + compiled + " of " + patternFiles.length + " hyphenation pattern files");
+        return compiled;
+    }
+
+    /**
+     * Compiles a single XML pattern file.
+     *
+     * @param patternFile the XML pattern file
+     * @param compiledFile the file to write the compiled patterns to
+     * @throws IOException if an I/O error occurs
+     * @throws HyphenationException if the pattern file cannot be parsed
+     */
+    public static void compile(File patternFile, File compiledFile) throws IOException, HyphenationException {
+        HyphenationTree hTree = new HyphenationTree();
+        InputStream in = new FileInputStream(patternFile);
+        try {
+            hTree.loadPatterns(in, patternFile.getName());
+        } finally {
+            in.close();
+        }
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(compiledFile));
+        try {
+            hTree.storeCompiledPatterns(out);
+        } finally {
+            out.close();
+        }
+    }
+}
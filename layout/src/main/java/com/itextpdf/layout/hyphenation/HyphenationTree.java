@@ -17,11 +17,17 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import com.itextpdf.io.util.StreamUtil;
+
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +45,16 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
 
     private static final long serialVersionUID = -7842107987915665573L;
 
+    /**
+     * Signature of the compiled pattern format ("iHYP").
+     */
+    private static final int COMPILED_PATTERNS_SIGNATURE = 0x69485950;
+
+    /**
+     * Version of the compiled pattern format.
+     */
+    private static final int COMPILED_PATTERNS_VERSION = 1;
+
     /**
      * value space: stores the interletter values
      */
@@ -152,6 +168,85 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         ivalues = null;
     }
 
+    /**
+     * Read hyphenation patterns previously compiled with {@link #storeCompiledPatterns(OutputStream)}.
+     * No XML parsing or tree balancing is done, the node arrays are filled directly from the stream.
+     * @param stream the stream with the compiled patterns
+     * @param name unique key representing country-language combination
+     * @throws HyphenationException In case the stream does not contain valid compiled patterns
+     */
+    public void loadCompiledPatterns(InputStream stream, String name) throws HyphenationException {
+        ByteBuffer in;
+        try {
+            in = ByteBuffer.wrap(StreamUtil.inputStreamToArray(stream));
+        } catch (IOException e) {
+            throw new HyphenationException("Can't read compiled patterns " + name + ": " + e.getMessage());
+        }
+        try {
+            if (in.getInt() != COMPILED_PATTERNS_SIGNATURE || in.getInt() != COMPILED_PATTERNS_VERSION) {
+                throw new HyphenationException(name + " does not contain compiled hyphenation patterns");
+            }
+            readNodes(in);
+            classmap.readNodes(in);
+            byte[] values = new byte[in.getInt()];
+            in.get(values);
+            vspace = new ByteVector(values);
+            int exceptionsCount = in.getInt();
+            stoplist = new HashMap<>(exceptionsCount);
+            for (int i = 0; i < exceptionsCount; i++) {
+                String word = readString(in);
+                int partsCount = in.getInt();
+                ArrayList<Object> hyphenatedWord = new ArrayList<>(partsCount);
+                for (int j = 0; j < partsCount; j++) {
+                    if (in.get() == 0) {
+                        hyphenatedWord.add(readString(in));
+                    } else {
+                        hyphenatedWord.add(new Hyphen(readString(in), readString(in), readString(in)));
+                    }
+                }
+                stoplist.put(word, hyphenatedWord);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new HyphenationException("Compiled hyphenation patterns " + name + " are truncated");
+        }
+    }
+
+    /**
+     * Writes the patterns, character classes and exceptions of this tree in a compact binary form,
+     * which can later be loaded with {@link #loadCompiledPatterns(InputStream, String)}.
+     * The tree should be completely loaded before calling this method.
+     * @param stream the stream to write the compiled patterns to
+     * @throws IOException if an I/O error occurs
+     */
+    public void storeCompiledPatterns(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(COMPILED_PATTERNS_SIGNATURE);
+        out.writeInt(COMPILED_PATTERNS_VERSION);
+        writeNodes(out);
+        classmap.writeNodes(out);
+        out.writeInt(vspace.length());
+        out.write(vspace.getArray(), 0, vspace.length());
+        out.writeInt(stoplist.size());
+        for (Map.Entry<String, List> entry : stoplist.entrySet()) {
+            writeString(out, entry.getKey());
+            List hyphenatedWord = entry.getValue();
+            out.writeInt(hyphenatedWord.size());
+            for (Object part : hyphenatedWord) {
+                if (part instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) part;
+                    out.writeByte(1);
+                    writeString(out, hyphen.preBreak);
+                    writeString(out, hyphen.noBreak);
+                    writeString(out, hyphen.postBreak);
+                } else {
+                    out.writeByte(0);
+                    writeString(out, (String) part);
+                }
+            }
+        }
+        out.flush();
+    }
+
     /**
      * Find pattern.
      * @param pat a pattern
@@ -542,6 +637,26 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         }
     }
 
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(str.length());
+            out.writeChars(str);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        char[] chars = new char[length];
+        in.asCharBuffer().get(chars);
+        in.position(in.position() + 2 * length);
+        return new String(chars);
+    }
+
     /**
      * Add a character class to the tree. It is used by
      * {@link PatternParser PatternParser} as callback to
@@ -18,20 +18,26 @@
 
 package com.itextpdf.layout.hyphenation;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>This is a cache for HyphenationTree instances.</p>
+ * <p>The cache can be safely used from several threads, lookups do not block.</p>
  */
 public class HyphenationTreeCache {
 
     /** Contains the cached hyphenation trees */
-    private Map<String, HyphenationTree> hyphenTrees = new HashMap<>();
+    private Map<String, HyphenationTree> hyphenTrees = new ConcurrentHashMap<>();
     /** Used to avoid multiple error messages for the same language if a pattern file is missing. */
-    private Set<String> missingHyphenationTrees;
+    private Set<String> missingHyphenationTrees = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    /** Used to load each hyphenation tree only once if several threads request it at the same time. */
+    private ConcurrentMap<String, Object> loadingLocks = new ConcurrentHashMap<>();
+    /** Contains the memoized hyphenation results per language and hyphenation limits. */
+    private ConcurrentMap<String, HyphenationWordCache> wordCaches = new ConcurrentHashMap<>();
 
     /**
      * Looks in the cache if a hyphenation tree is available and returns it if it is found.
@@ -105,9 +111,6 @@ public class HyphenationTreeCache {
      * @param key the key (ex. "de_CH" or "en")
      */
     public void noteMissing(String key) {
-        if (missingHyphenationTrees == null) {
-            missingHyphenationTrees = new HashSet<>();
-        }
         missingHyphenationTrees.add(key);
     }
 
@@ -119,6 +122,50 @@ public class HyphenationTreeCache {
      * @return true if the hyphenation tree is unavailable
      */
     public boolean isMissing(String key) {
-        return (missingHyphenationTrees != null && missingHyphenationTrees.contains(key));
+        return missingHyphenationTrees.contains(key);
+    }
+
+    /**
+     * Gets the object to synchronize on while the hyphenation tree with the given key is being loaded.
+     * @param key the key (ex. "de_CH" or "en")
+     * @return the lock object, always the same one for the same key
+     */
+    Object getLoadingLock(String key) {
+        Object lock = loadingLocks.get(key);
+        if (lock == null) {
+            Object newLock = new Object();
+            lock = loadingLocks.putIfAbsent(key, newLock);
+            if (lock == null) {
+                lock = newLock;
+            }
+        }
+        return lock;
+    }
+
+    /**
+     * Gets the memo of hyphenated words for the given hyphenation tree and hyphenation limits.
+     * @param key the key of the hyphenation tree (ex. "de_CH" or "en")
+     * @param leftMin the minimum number of characters before the hyphenation point
+     * @param rightMin the minimum number of characters after the hyphenation point
+     * @param capacity the maximum number of words to memoize
+     * @return the memo of hyphenated words
+     */
+    HyphenationWordCache getWordCache(String key, int leftMin, int rightMin, int capacity) {
+        String wordCacheKey = key + "|" + leftMin + "|" + rightMin;
+        HyphenationWordCache wordCache = wordCaches.get(wordCacheKey);
+        if (wordCache == null || wordCache.getCapacity() != capacity) {
+            HyphenationWordCache newWordCache = new HyphenationWordCache(capacity);
+            if (wordCache == null) {
+                wordCache = wordCaches.putIfAbsent(wordCacheKey, newWordCache);
+            } else if (wordCaches.replace(wordCacheKey, wordCache, newWordCache)) {
+                wordCache = null;
+            } else {
+                wordCache = wordCaches.get(wordCacheKey);
+            }
+            if (wordCache == null) {
+                wordCache = newWordCache;
+            }
+        }
+        return wordCache;
     }
 }
@@ -26,6 +26,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,9 +46,14 @@ public final class Hyphenator {
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache = new HyphenationTreeCache();
 
-    private static List<String> additionalHyphenationFileDirectories;
+    private static List<String> additionalHyphenationFileDirectories = new CopyOnWriteArrayList<>();
+
+    /**
+     * The maximum number of hyphenated words memoized per language, 0 if memoization is disabled.
+     */
+    private static volatile int wordCacheCapacity = 0;
 
     protected String lang;
     protected String country;
@@ -89,32 +95,58 @@ public final class Hyphenator {
      *
      * @param directory directory to register
      */
-    public static synchronized void registerAdditionalHyphenationFileDirectory(String directory) {
-        if (additionalHyphenationFileDirectories == null) {
-            additionalHyphenationFileDirectories = new ArrayList<>();
-        }
+    public static void registerAdditionalHyphenationFileDirectory(String directory) {
         additionalHyphenationFileDirectories.add(directory);
     }
 
+    /**
+     * Unregisters a file directory registered with {@link #registerAdditionalHyphenationFileDirectory(String)}.
+     * The hyphenation trees already loaded from it stay in the cache until {@link #clearHyphenationTreeCache()} is called.
+     *
+     * @param directory directory to unregister
+     */
+    public static void unregisterAdditionalHyphenationFileDirectory(String directory) {
+        additionalHyphenationFileDirectories.remove(directory);
+    }
+
     /**
      * Returns the default hyphenation tree cache.
      *
      * @return the default (static) hyphenation tree cache
      */
-    public static synchronized HyphenationTreeCache getHyphenationTreeCache() {
-        if (hTreeCache == null) {
-            hTreeCache = new HyphenationTreeCache();
-        }
+    public static HyphenationTreeCache getHyphenationTreeCache() {
         return hTreeCache;
     }
 
     /**
      * Clears the default hyphenation tree cache. This method can be used if the underlying data files are changed at runtime.
+     * The memoized hyphenated words are cleared as well.
      */
-    public static synchronized void clearHyphenationTreeCache() {
+    public static void clearHyphenationTreeCache() {
         hTreeCache = new HyphenationTreeCache();
     }
 
+    /**
+     * Sets the maximum number of hyphenated words which are memoized per language
+     * (and per combination of the minimum numbers of characters around the hyphenation point),
+     * so that repeated words are not looked up in the hyphenation tree again.
+     * The memoization is disabled by default.
+     *
+     * @param capacity the maximum number of memoized words per language, 0 to disable memoization
+     */
+    public static void setWordCacheCapacity(int capacity) {
+        wordCacheCapacity = Math.max(capacity, 0);
+    }
+
+    /**
+     * Gets the maximum number of hyphenated words which are memoized per language.
+     *
+     * @return the maximum number of memoized words per language, 0 if memoization is disabled
+     */
+    public static int getWordCacheCapacity() {
+        return wordCacheCapacity;
+    }
+
     /**
      * Returns a hyphenation tree for a given language and country,
      * with fallback from (lang,country) to (lang).
@@ -129,8 +161,8 @@ public final class Hyphenator {
         String llccKey = HyphenationTreeCache.constructLlccKey(lang, country);
         HyphenationTreeCache cache = getHyphenationTreeCache();
 
-        // If this hyphenation tree has been registered as missing, return immediately
-        if (cache.isMissing(llccKey)) {
+        // If no language is specified or this hyphenation tree has been registered as missing, return immediately
+        if (llccKey == null || cache.isMissing(llccKey)) {
             return null;
         }
 
@@ -185,49 +217,81 @@ public final class Hyphenator {
 
         HyphenationTree hTree;
         // first try to find it in the cache
-        hTree = getHyphenationTreeCache().getHyphenationTree(lang, country);
+        hTree = cache.getHyphenationTree(lang, country);
         if (hTree != null) {
             return hTree;
         }
 
+        // load the tree only once even if several threads request it at the same time
+        synchronized (cache.getLoadingLock(llccKey)) {
+            hTree = cache.getHyphenationTree(lang, country);
+            if (hTree == null) {
+                hTree = loadHyphenationTree(lang, country, hyphPathNames);
+                // put it into the pattern cache
+                if (hTree != null) {
+                    cache.cache(llccKey, hTree);
+                }
+            }
+        }
+
+        return hTree;
+    }
+
+    private static HyphenationTree loadHyphenationTree(String lang, String country, Map<String, String> hyphPathNames) {
+        HyphenationTree hTree = null;
         String key = HyphenationTreeCache.constructUserKey(lang, country, hyphPathNames);
         if (key == null) {
-            key = llccKey;
+            key = HyphenationTreeCache.constructLlccKey(lang, country);
         }
 
-        if (additionalHyphenationFileDirectories != null) {
-            for (String dir : additionalHyphenationFileDirectories) {
-                hTree = getHyphenationTree(dir, key);
-                if (hTree != null) {
-                    break;
-                }
+        for (String dir : additionalHyphenationFileDirectories) {
+            hTree = getHyphenationTree(dir, key);
+            if (hTree != null) {
+                break;
+            }
+        }
+
+        if (hTree == null) {
+            // get from the default directory, preferring the patterns compiled at build time
+            InputStream compiledHyphenationResourceStream = ResourceUtil.getResourceStream(HYPHENATION_DEFAULT_RESOURCE + key + HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION);
+            if (compiledHyphenationResourceStream != null) {
+                hTree = getCompiledHyphenationTree(compiledHyphenationResourceStream, key);
             }
         }
 
         if (hTree == null) {
-            // get from the default directory
             InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
             if (defaultHyphenationResourceStream != null) {
                 hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
             }
         }
 
-        // put it into the pattern cache
-        if (hTree != null) {
-            cache.cache(llccKey, hTree);
-        }
-
         return hTree;
     }
 
     /**
-     * Load tree from xml file using configuration settings.
+     * Load tree from compiled or xml file using configuration settings.
      *
      * @param searchDirectory the directory to search the file into
      * @param key language key for the requested hyphenation file
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
+        // try the compiled patterns first
+        File compiledFile = new File(searchDirectory, key + HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION);
+        if (compiledFile.isFile()) {
+            try {
+                HyphenationTree hTree = getCompiledHyphenationTree(new FileInputStream(compiledFile), compiledFile.getName());
+                if (hTree != null) {
+                    return hTree;
+                }
+            } catch (IOException ioe) {
+                if (log.isDebugEnabled()) {
+                    log.debug("I/O problem while trying to load " + compiledFile.getName() + ": " + ioe.getMessage());
+                }
+            }
+        }
+
         // try the raw XML file
         String name = key + ".xml";
         try {
@@ -269,6 +333,34 @@ public final class Hyphenator {
         return hTree;
     }
 
+    /**
+     * Load tree from the stream with patterns compiled by {@link HyphenationPatternCompiler}.
+     *
+     * @param in the input stream to load the tree from
+     * @param name unique key representing country-language combination
+     * @return the requested HyphenationTree or null if it is not available
+     */
+    public static HyphenationTree getCompiledHyphenationTree(InputStream in, String name) {
+        if (in == null) {
+            return null;
+        }
+        HyphenationTree hTree;
+        try {
+            hTree = new HyphenationTree();
+            hTree.loadCompiledPatterns(in, name);
+        }
+        catch (HyphenationException ex) {
+            log.error("Can't load compiled patterns " + name + ": " + ex.getMessage());
+            return null;
+        }
+        finally {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+        return hTree;
+    }
+
     /**
      * Hyphenates a word.
      *
@@ -309,7 +401,20 @@ public final class Hyphenator {
                 return null;
             }
         }
-        return hTree.hyphenate(word, leftMin, rightMin);
+        int capacity = wordCacheCapacity;
+        if (capacity == 0) {
+            return hTree.hyphenate(word, leftMin, rightMin);
+        }
+        HyphenationWordCache wordCache = getHyphenationTreeCache().getWordCache(
+                HyphenationTreeCache.constructLlccKey(lang, country), leftMin, rightMin, capacity);
+        Hyphenation hyphenation = wordCache.get(word);
+        if (hyphenation == null) {
+            hyphenation = hTree.hyphenate(word, leftMin, rightMin);
+            wordCache.put(word, hyphenation);
+        } else if (hyphenation == HyphenationWordCache.NO_HYPHENATION) {
+            hyphenation = null;
+        }
+        return hyphenation;
     }
 
     /**
@@ -17,7 +17,10 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 
 /**
@@ -510,6 +513,59 @@ public class TernaryTree implements Serializable {
         }
     }
 
+    /**
+     * Writes the node arrays and the key trailer vector in a compact binary form.
+     * The tree is expected to be trimmed (see {@link #trimToSize()}), so that
+     * only the used nodes are written.
+     * @param out the output to write the tree to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeNodes(DataOutput out) throws IOException {
+        out.writeChar(root);
+        out.writeChar(freenode);
+        out.writeInt(length);
+        writeChars(out, lo);
+        writeChars(out, hi);
+        writeChars(out, eq);
+        writeChars(out, sc);
+        char[] keys = kv.getArray();
+        out.writeInt(kv.length());
+        for (int i = 0; i < kv.length(); i++) {
+            out.writeChar(keys[i]);
+        }
+    }
+
+    /**
+     * Reads the node arrays and the key trailer vector previously written by
+     * {@link #writeNodes(DataOutput)}. The arrays are allocated with their exact size
+     * and filled with bulk copies from the buffer.
+     * @param in the buffer to read the tree from
+     */
+    void readNodes(ByteBuffer in) {
+        root = in.getChar();
+        freenode = in.getChar();
+        length = in.getInt();
+        lo = readChars(in);
+        hi = readChars(in);
+        eq = readChars(in);
+        sc = readChars(in);
+        kv = new CharVector(readChars(in));
+    }
+
+    private static void writeChars(DataOutput out, char[] a) throws IOException {
+        out.writeInt(a.length);
+        for (char c : a) {
+            out.writeChar(c);
+        }
+    }
+
+    private static char[] readChars(ByteBuffer in) {
+        char[] a = new char[in.getInt()];
+        in.asCharBuffer().get(a);
+        in.position(in.position() + 2 * a.length);
+        return a;
+    }
+
     /** @return the keys */
     public Enumeration keys() {
         return new TernaryTreeIterator(this);
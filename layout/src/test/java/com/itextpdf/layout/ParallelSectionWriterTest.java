@@ -0,0 +1,148 @@
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.events.Event;
+import com.itextpdf.kernel.events.IEventHandler;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfOutline;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.action.PdfAction;
+import com.itextpdf.kernel.pdf.annot.PdfAnnotation;
+import com.itextpdf.kernel.pdf.annot.PdfLinkAnnotation;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.navigation.PdfNamedDestination;
+import com.itextpdf.kernel.pdf.navigation.PdfStringDestination;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Link;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.property.Property;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class ParallelSectionWriterTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/ParallelSectionWriterTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void parallelSectionsTest01() throws IOException {
+        String outFileName = destinationFolder + "parallelSectionsTest01.pdf";
+
+        final PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        final int[] endedPages = new int[1];
+        pdfDoc.addEventHandler(PdfDocumentEvent.END_PAGE, new IEventHandler() {
+            @Override
+            public void handleEvent(Event event) {
+                endedPages[0]++;
+            }
+        });
+        ParallelSectionWriter writer = new ParallelSectionWriter(pdfDoc).setThreadCount(3);
+        for (int i = 1; i <= 5; i++) {
+            writer.addSection(new TestSection(i));
+        }
+        writer.write();
+        pdfDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertEquals(10, resultDoc.getNumberOfPages());
+        Assert.assertEquals(10, endedPages[0]);
+        for (int i = 1; i <= 5; i++) {
+            Assert.assertTrue(PdfTextExtractor.getTextFromPage(resultDoc.getPage(2 * i - 1)).startsWith("Section " + i));
+        }
+
+        Map<String, PdfObject> destinations = resultDoc.getCatalog().getNameTree(PdfName.Dests).getNames();
+        Assert.assertEquals(5, destinations.size());
+        for (int i = 1; i <= 5; i++) {
+            Object page = ((PdfArray) destinations.get("section" + i)).get(0);
+            Assert.assertSame(resultDoc.getPage(2 * i - 1).getPdfObject(), page);
+        }
+
+        // every section links to the next one, the last one links to the first one
+        for (int i = 1; i <= 5; i++) {
+            List<PdfAnnotation> annotations = resultDoc.getPage(2 * i).getAnnotations();
+            Assert.assertEquals(1, annotations.size());
+            Assert.assertEquals(PdfName.Link, annotations.get(0).getSubtype());
+        }
+
+        List<PdfOutline> outlines = resultDoc.getOutlines(false).getAllChildren();
+        Assert.assertEquals(5, outlines.size());
+        for (int i = 1; i <= 5; i++) {
+            Assert.assertEquals("Section " + i, outlines.get(i - 1).getTitle());
+        }
+        resultDoc.close();
+    }
+
+    @Test
+    public void linksToOtherSectionsTest() throws IOException {
+        String outFileName = destinationFolder + "linksToOtherSectionsTest.pdf";
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        ParallelSectionWriter writer = new ParallelSectionWriter(pdfDoc).setThreadCount(2);
+        writer.addSection(new IDocumentSection() {
+            @Override
+            public void layout(Document document) {
+                document.add(new Paragraph(new Link("Forward", PdfAction.createGoTo("target"))));
+                document.add(new Paragraph(new Link("By name", PdfAction.createGoTo(new PdfNamedDestination("target")))));
+                document.add(new Paragraph(new Link("Nowhere", PdfAction.createGoTo("missing"))));
+            }
+        });
+        writer.addSection(new IDocumentSection() {
+            @Override
+            public void layout(Document document) {
+                Text title = new Text("Target");
+                title.setProperty(Property.DESTINATION, "target");
+                document.add(new Paragraph(title));
+            }
+        });
+        writer.write();
+        pdfDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertEquals(2, resultDoc.getNumberOfPages());
+        Assert.assertTrue(resultDoc.getCatalog().getNameTree(PdfName.Dests).getNames().containsKey("target"));
+        List<PdfAnnotation> annotations = resultDoc.getPage(1).getAnnotations();
+        Assert.assertEquals(2, annotations.size());
+        Assert.assertEquals("target", ((PdfLinkAnnotation) annotations.get(0)).getAction().getAsString(PdfName.D).toUnicodeString());
+        Assert.assertEquals(new PdfName("target"), ((PdfLinkAnnotation) annotations.get(1)).getAction().get(PdfName.D));
+        resultDoc.close();
+    }
+
+    private static class TestSection implements IDocumentSection {
+        private int number;
+
+        TestSection(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public void layout(Document document) {
+            String name = "section" + number;
+            Text title = new Text("Section " + number);
+            title.setProperty(Property.DESTINATION, name);
+            document.add(new Paragraph(title));
+            document.getPdfDocument().getOutlines(false).addOutline("Section " + number).addDestination(new PdfStringDestination(name));
+            document.add(new AreaBreak());
+            String next = "section" + (number % 5 + 1);
+            document.add(new Paragraph(new Link("Go to " + next, PdfAction.createGoTo(next))));
+        }
+    }
+}
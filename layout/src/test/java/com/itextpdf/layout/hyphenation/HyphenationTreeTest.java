@@ -0,0 +1,86 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class HyphenationTreeTest extends ExtendedITextTest {
+
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/layout/hyphenation/HyphenationTreeTest/";
+
+    @Test
+    public void compiledPatternsTest() throws HyphenationException, IOException {
+        HyphenationTree xmlTree = new HyphenationTree();
+        xmlTree.loadPatterns(sourceFolder + "patterns.xml");
+
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        xmlTree.storeCompiledPatterns(compiled);
+        HyphenationTree compiledTree = new HyphenationTree();
+        compiledTree.loadCompiledPatterns(new ByteArrayInputStream(compiled.toByteArray()), "patterns");
+
+        Assert.assertEquals("hy-phen-ation", xmlTree.hyphenate("hyphenation", 2, 2).toString());
+        Assert.assertEquals("as-so-ciate", xmlTree.hyphenate("associate", 2, 2).toString());
+        for (String word : new String[] {"hyphenation", "concatenation", "table", "associate", "Hyphenation", "re-concatenation", "a"}) {
+            Assert.assertEquals(String.valueOf(xmlTree.hyphenate(word, 2, 2)), String.valueOf(compiledTree.hyphenate(word, 2, 2)));
+        }
+    }
+
+    @Test(expected = HyphenationException.class)
+    public void notCompiledPatternsTest() throws HyphenationException, FileNotFoundException {
+        new HyphenationTree().loadCompiledPatterns(new FileInputStream(sourceFolder + "patterns.xml"), "patterns");
+    }
+
+}
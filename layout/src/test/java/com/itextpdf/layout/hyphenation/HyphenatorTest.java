@@ -0,0 +1,109 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class HyphenatorTest extends ExtendedITextTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        Hyphenator.registerAdditionalHyphenationFileDirectory(HyphenationTreeTest.sourceFolder);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        Hyphenator.unregisterAdditionalHyphenationFileDirectory(HyphenationTreeTest.sourceFolder);
+        Hyphenator.clearHyphenationTreeCache();
+    }
+
+    @Test
+    public void wordCacheTest() {
+        int capacity = Hyphenator.getWordCacheCapacity();
+        Hyphenator.setWordCacheCapacity(16);
+        try {
+            Hyphenation first = Hyphenator.hyphenate("patterns", null, "hyphenation", 2, 2);
+            Hyphenation second = Hyphenator.hyphenate("patterns", null, "hyphenation", 2, 2);
+            Assert.assertEquals("hy-phen-ation", first.toString());
+            Assert.assertSame(first, second);
+            Assert.assertNull(Hyphenator.hyphenate("patterns", null, "a", 2, 2));
+            Assert.assertNull(Hyphenator.hyphenate("patterns", null, "a", 2, 2));
+            Assert.assertNotSame(first, Hyphenator.hyphenate("patterns", null, "hyphenation", 3, 3));
+        } finally {
+            Hyphenator.setWordCacheCapacity(capacity);
+        }
+    }
+
+    @Test
+    public void concurrentLoadingTest() throws InterruptedException {
+        final HyphenationTree[] trees = new HyphenationTree[8];
+        Thread[] threads = new Thread[trees.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    trees[index] = Hyphenator.getHyphenationTree("patterns", "none", null);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (HyphenationTree tree : trees) {
+            Assert.assertNotNull(tree);
+            Assert.assertSame(trees[0], tree);
+        }
+    }
+
+}
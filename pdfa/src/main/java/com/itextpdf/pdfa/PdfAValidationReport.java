@@ -0,0 +1,161 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.pdfa;
+
+import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of the validation of an existing document by {@link PdfAValidator}.
+ * <p>
+ * The checks of a page (as well as the document-wide checks) stop at the first violation found,
+ * so the report contains at most one violation per page and one for the document itself.
+ */
+public class PdfAValidationReport {
+
+    /**
+     * The page number used for the violations of the document-wide requirements.
+     */
+    public static final int DOCUMENT_LEVEL = 0;
+
+    private String fileName;
+    private PdfAConformanceLevel conformanceLevel;
+    private List<Violation> violations;
+
+    PdfAValidationReport(String fileName, PdfAConformanceLevel conformanceLevel, List<Violation> violations) {
+        this.fileName = fileName;
+        this.conformanceLevel = conformanceLevel;
+        this.violations = Collections.unmodifiableList(new ArrayList<>(violations));
+    }
+
+    /**
+     * Gets the name of the validated file.
+     *
+     * @return the file name
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Gets the conformance level declared in the XMP metadata of the document.
+     *
+     * @return the conformance level, or null if the document doesn't declare one
+     */
+    public PdfAConformanceLevel getConformanceLevel() {
+        return conformanceLevel;
+    }
+
+    /**
+     * Gets the violations found, ordered by page number. The violations of the document-wide
+     * requirements have the page number {@link #DOCUMENT_LEVEL} and go first.
+     *
+     * @return the list of violations
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Checks whether no violations were found.
+     *
+     * @return true if the document conforms to its declared conformance level
+     */
+    public boolean isCompliant() {
+        return violations.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(fileName != null ? fileName : "");
+        sb.append(isCompliant() ? ": compliant" : ": not compliant");
+        if (conformanceLevel != null) {
+            sb.append(" (PDF/A-").append(conformanceLevel.getPart()).append(conformanceLevel.getConformance()).append(")");
+        }
+        for (Violation violation : violations) {
+            sb.append("\n    ").append(violation);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A single violation of the PDF/A requirements.
+     */
+    public static class Violation {
+
+        private int pageNumber;
+        private String message;
+
+        Violation(int pageNumber, String message) {
+            this.pageNumber = pageNumber;
+            this.message = message;
+        }
+
+        /**
+         * Gets the number of the page where the violation was found.
+         *
+         * @return the page number, or {@link PdfAValidationReport#DOCUMENT_LEVEL} for the document-wide requirements
+         */
+        public int getPageNumber() {
+            return pageNumber;
+        }
+
+        /**
+         * Gets the description of the violation.
+         *
+         * @return the message of the conformance exception
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return (pageNumber == DOCUMENT_LEVEL ? "document" : "page " + pageNumber) + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.pdfa;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.IContentOperator;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.xmp.XMPException;
+import com.itextpdf.kernel.xmp.XMPMetaFactory;
+import com.itextpdf.pdfa.checker.PdfA1Checker;
+import com.itextpdf.pdfa.checker.PdfA2Checker;
+import com.itextpdf.pdfa.checker.PdfA3Checker;
+import com.itextpdf.pdfa.checker.PdfAChecker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Validates existing documents against the PDF/A conformance level declared in their XMP metadata,
+ * without writing them.
+ * <p>
+ * The document-wide requirements are checked by {@link PdfAChecker#checkDocumentWithoutPages}
+ * together with the requirements to every indirect object. The pages are checked by
+ * {@link PdfAChecker#checkSinglePage}, and their content streams are processed by a
+ * {@link PdfCanvasProcessor} to check the colours, the graphics states, the inline images and the fonts
+ * that are actually used. The checkers are not thread-safe, so every worker opens its own instance
+ * of the document and uses its own checker.
+ * <p>
+ * A single file is validated by {@link #validate(String)}, which splits its pages among the worker threads.
+ * Many files are validated by {@link #validate(Collection)}, which validates different files on different threads.
+ */
+public class PdfAValidator {
+
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Sets the number of worker threads. By default it is the number of available processors.
+     *
+     * @param threadCount the number of threads
+     * @return this validator
+     */
+    public PdfAValidator setThreadCount(int threadCount) {
+        this.threadCount = Math.max(threadCount, 1);
+        return this;
+    }
+
+    /**
+     * Validates a single file. The pages of the file are checked on several threads.
+     *
+     * @param fileName the name of the file to validate
+     * @return the validation report
+     * @throws IOException if the file cannot be read
+     */
+    public PdfAValidationReport validate(String fileName) throws IOException {
+        if (threadCount == 1) {
+            return validate(fileName, null);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            return validate(fileName, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Validates many files. Each file is checked on a single thread, while different files are
+     * checked at the same time. A file that cannot be read gets a report with a single
+     * {@link PdfAValidationReport#DOCUMENT_LEVEL document-level} violation describing the error.
+     *
+     * @param fileNames the names of the files to validate
+     * @return the validation reports, in the order of the file names
+     */
+    public List<PdfAValidationReport> validate(Collection<String> fileNames) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(Math.min(threadCount, fileNames.size()), 1));
+        try {
+            List<Future<PdfAValidationReport>> futures = new ArrayList<>(fileNames.size());
+            for (final String fileName : fileNames) {
+                futures.add(executor.submit(new Callable<PdfAValidationReport>() {
+                    @Override
+                    public PdfAValidationReport call() {
+                        try {
+                            return validate(fileName, null);
+                        } catch (IOException | RuntimeException e) {
+                            List<PdfAValidationReport.Violation> violations = new ArrayList<>(1);
+                            violations.add(new PdfAValidationReport.Violation(PdfAValidationReport.DOCUMENT_LEVEL, String.valueOf(e.getMessage())));
+                            return new PdfAValidationReport(fileName, null, violations);
+                        }
+                    }
+                }));
+            }
+            List<PdfAValidationReport> reports = new ArrayList<>(futures.size());
+            for (Future<PdfAValidationReport> future : futures) {
+                reports.add(getResult(future));
+            }
+            return reports;
+        } catch (IOException e) {
+            throw new PdfException(PdfException.IoException, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PdfAValidationReport validate(final String fileName, ExecutorService executor) throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(fileName));
+        List<PdfAValidationReport.Violation> violations = new ArrayList<>();
+        try {
+            final PdfAConformanceLevel conformanceLevel = getConformanceLevel(document);
+            if (conformanceLevel == null) {
+                violations.add(new PdfAValidationReport.Violation(PdfAValidationReport.DOCUMENT_LEVEL,
+                        new PdfAConformanceException(PdfAConformanceException.DocumentToReadFromShallBeAPdfAConformantFileWithValidXmpMetadata).getMessage()));
+                return new PdfAValidationReport(fileName, null, violations);
+            }
+
+            int numberOfPages = document.getNumberOfPages();
+            List<Future<PageRangeResult>> futures = new ArrayList<>();
+            List<PageRangeResult> results = new ArrayList<>();
+            if (executor != null && numberOfPages > 1) {
+                int rangeCount = Math.min(threadCount, numberOfPages);
+                for (int i = 0; i < rangeCount; i++) {
+                    final int startPage = 1 + (int) ((long) numberOfPages * i / rangeCount);
+                    final int endPage = (int) ((long) numberOfPages * (i + 1) / rangeCount);
+                    futures.add(executor.submit(new Callable<PageRangeResult>() {
+                        @Override
+                        public PageRangeResult call() throws IOException {
+                            PdfDocument rangeDocument = new PdfDocument(new PdfReader(fileName));
+                            try {
+                                return checkPages(rangeDocument, conformanceLevel, startPage, endPage);
+                            } finally {
+                                rangeDocument.close();
+                            }
+                        }
+                    }));
+                }
+            } else {
+                results.add(checkPages(document, conformanceLevel, 1, numberOfPages));
+            }
+
+            PdfAChecker checker = createChecker(conformanceLevel);
+            try {
+                checker.checkDocumentWithoutPages(document.getCatalog());
+                checkObjects(checker, fileName);
+            } catch (PdfException e) {
+                violations.add(new PdfAValidationReport.Violation(PdfAValidationReport.DOCUMENT_LEVEL, e.getMessage()));
+            }
+
+            for (Future<PageRangeResult> future : futures) {
+                results.add(getResult(future));
+            }
+            for (PageRangeResult result : results) {
+                checker.mergeColorsUsages(result.checker);
+            }
+            if (violations.isEmpty()) {
+                try {
+                    checker.checkDocumentColorsUsages();
+                } catch (PdfException e) {
+                    violations.add(new PdfAValidationReport.Violation(PdfAValidationReport.DOCUMENT_LEVEL, e.getMessage()));
+                }
+            }
+            for (PageRangeResult result : results) {
+                violations.addAll(result.violations);
+            }
+            return new PdfAValidationReport(fileName, conformanceLevel, violations);
+        } finally {
+            document.close();
+        }
+    }
+
+    private static PdfAConformanceLevel getConformanceLevel(PdfDocument document) {
+        byte[] xmpMetadata = document.getXmpMetadata();
+        if (xmpMetadata == null) {
+            return null;
+        }
+        try {
+            return PdfAConformanceLevel.getConformanceLevel(XMPMetaFactory.parseFromBuffer(xmpMetadata));
+        } catch (XMPException e) {
+            return null;
+        }
+    }
+
+    private static PdfAChecker createChecker(PdfAConformanceLevel conformanceLevel) {
+        switch (conformanceLevel.getPart()) {
+            case "1":
+                return new PdfA1Checker(conformanceLevel);
+            case "2":
+                return new PdfA2Checker(conformanceLevel);
+            default:
+                return new PdfA3Checker(conformanceLevel);
+        }
+    }
+
+    /**
+     * Checks every indirect object of the file. The objects are read by a separate instance of the document and
+     * released as soon as they are checked, so that they are not all kept in memory at the same time. The objects
+     * which the document itself holds on to, i.e. the catalog, the document info and the root of the page tree,
+     * are not released.
+     */
+    private static void checkObjects(PdfAChecker checker, String fileName) throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(fileName));
+        try {
+            PdfDictionary catalog = document.getCatalog().getPdfObject();
+            PdfDictionary info = document.getDocumentInfo().getPdfObject();
+            PdfDictionary pages = catalog.getAsDictionary(PdfName.Pages);
+            for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+                PdfObject object = document.getPdfObject(i);
+                if (object != null) {
+                    checker.checkPdfObject(object);
+                    if (object != catalog && object != info && object != pages) {
+                        object.release();
+                    }
+                }
+            }
+        } finally {
+            document.close();
+        }
+    }
+
+    private static PageRangeResult checkPages(PdfDocument document, PdfAConformanceLevel conformanceLevel, int startPage, int endPage) {
+        PageRangeResult result = new PageRangeResult(createChecker(conformanceLevel));
+        result.checker.prepareForPageChecks(document.getCatalog());
+        ContentChecker contentChecker = new ContentChecker(result.checker);
+        for (int pageNumber = startPage; pageNumber <= endPage; pageNumber++) {
+            PdfPage page = document.getPage(pageNumber);
+            try {
+                result.checker.checkSinglePage(page);
+                contentChecker.checkContent(page);
+            } catch (PdfException e) {
+                result.violations.add(new PdfAValidationReport.Violation(pageNumber, e.getMessage()));
+            }
+        }
+        return result;
+    }
+
+    private static <T> T getResult(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.IoException, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new PdfException(PdfException.IoException, e.getCause());
+        }
+    }
+
+    private static class PageRangeResult {
+        private final PdfAChecker checker;
+        private final List<PdfAValidationReport.Violation> violations = new ArrayList<>();
+
+        PageRangeResult(PdfAChecker checker) {
+            this.checker = checker;
+        }
+    }
+
+    /**
+     * Checks the content streams of the pages in the same way as {@link PdfADocument} checks
+     * the content written by {@link com.itextpdf.kernel.pdf.canvas.PdfCanvas}.
+     */
+    private static class ContentChecker implements IEventListener {
+
+        private final PdfAChecker checker;
+        private final ContentProcessor processor;
+        private int stackDepth;
+
+        ContentChecker(PdfAChecker checker) {
+            this.checker = checker;
+            this.processor = new ContentProcessor(this);
+            registerStackOperator("q");
+            registerStackOperator("Q");
+        }
+
+        void checkContent(PdfPage page) {
+            processor.reset();
+            try {
+                processor.processPageContent(page);
+            } finally {
+                // the stack depth is limited per content stream, so unbalanced saves shall not affect the next page
+                for (; stackDepth > 0; stackDepth--) {
+                    checker.checkCanvasStack('Q');
+                }
+                stackDepth = 0;
+            }
+        }
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            CanvasGraphicsState gState = processor.getGraphicsState();
+            switch (type) {
+                case RENDER_TEXT:
+                    checkFont(((TextRenderInfo) data).getFont());
+                    int textRenderingMode = ((TextRenderInfo) data).getTextRenderMode();
+                    checkDrawing(gState, isFill(textRenderingMode), isStroke(textRenderingMode));
+                    break;
+                case RENDER_PATH:
+                    int operation = ((PathRenderInfo) data).getOperation();
+                    checkDrawing(gState, (operation & PathRenderInfo.FILL) != 0, (operation & PathRenderInfo.STROKE) != 0);
+                    break;
+                case RENDER_IMAGE:
+                    ImageRenderInfo imageInfo = (ImageRenderInfo) data;
+                    if (imageInfo.isInline()) {
+                        checker.checkInlineImage(imageInfo.getImage().getPdfObject(), processor.getCurrentColorSpaces());
+                    }
+                    break;
+            }
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return null;
+        }
+
+        private void checkDrawing(CanvasGraphicsState gState, boolean fill, boolean stroke) {
+            PdfDictionary currentColorSpaces = processor.getCurrentColorSpaces();
+            if (fill) {
+                checker.checkColor(gState.getFillColor(), currentColorSpaces, true);
+            }
+            if (stroke) {
+                checker.checkColor(gState.getStrokeColor(), currentColorSpaces, false);
+            }
+            if (fill || stroke) {
+                checker.checkExtGState(gState);
+            }
+        }
+
+        private static void checkFont(PdfFont font) {
+            if (font != null && !font.isEmbedded()) {
+                throw new PdfAConformanceException(PdfAConformanceException.AllFontsMustBeEmbeddedThisOneIsnt1)
+                        .setMessageParams(font.getFontProgram().getFontNames().getFontName());
+            }
+        }
+
+        private static boolean isFill(int textRenderingMode) {
+            switch (textRenderingMode) {
+                case PdfCanvasConstants.TextRenderingMode.FILL:
+                case PdfCanvasConstants.TextRenderingMode.FILL_CLIP:
+                case PdfCanvasConstants.TextRenderingMode.FILL_STROKE:
+                case PdfCanvasConstants.TextRenderingMode.FILL_STROKE_CLIP:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean isStroke(int textRenderingMode) {
+            switch (textRenderingMode) {
+                case PdfCanvasConstants.TextRenderingMode.STROKE:
+                case PdfCanvasConstants.TextRenderingMode.STROKE_CLIP:
+                case PdfCanvasConstants.TextRenderingMode.FILL_STROKE:
+                case PdfCanvasConstants.TextRenderingMode.FILL_STROKE_CLIP:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private void registerStackOperator(final String operatorString) {
+            final IContentOperator operator = processor.registerContentOperator(operatorString, null);
+            processor.registerContentOperator(operatorString, new IContentOperator() {
+                @Override
+                public void invoke(PdfCanvasProcessor processor, PdfLiteral literal, List<PdfObject> operands) {
+                    char stackOperation = operatorString.charAt(0);
+                    checker.checkCanvasStack(stackOperation);
+                    stackDepth += 'q' == stackOperation ? 1 : -1;
+                    operator.invoke(processor, literal, operands);
+                }
+            });
+        }
+
+        /**
+         * Exposes the colour spaces of the resources the current content stream is processed with, i.e. the resources
+         * of the form XObject being drawn rather than those of the page.
+         */
+        private static class ContentProcessor extends PdfCanvasProcessor {
+
+            ContentProcessor(IEventListener eventListener) {
+                super(eventListener);
+            }
+
+            PdfDictionary getCurrentColorSpaces() {
+                return getResources().getPdfObject().getAsDictionary(PdfName.ColorSpace);
+            }
+        }
+    }
+}
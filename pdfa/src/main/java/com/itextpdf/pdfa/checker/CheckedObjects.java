@@ -0,0 +1,159 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.pdfa.checker;
+
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps track of the objects that were already checked by a {@link PdfAChecker}.
+ * <p>
+ * Indirect objects are remembered by their object number in a {@link BitSet}, so no reference
+ * to the object itself is retained and it can be collected as soon as it is flushed. Direct objects
+ * have no number, so they are remembered in a {@link WeakHashMap} instead; objects don't override
+ * <code>equals</code>, so its keys are compared by identity. A direct object that was checked and later made
+ * indirect (e.g. a stream that got its reference when the page was written) is moved to the bit set on
+ * the next lookup.
+ * <p>
+ * No color space is retained for the checked images: the color space given by the <code>ColorSpace</code>
+ * entry is read from the image again when it is used on another page. Only the name of the device color
+ * space that is derived from the image data (a JPEG2000 image without <code>ColorSpace</code> entry) is
+ * remembered, and such names are shared constants.
+ */
+public class CheckedObjects {
+
+    private final BitSet indirectObjects = new BitSet();
+    private final Map<PdfObject, Boolean> directObjects = new WeakHashMap<>();
+
+    private final Map<Integer, PdfName> indirectObjectsColorSpaces = new HashMap<>();
+    private final Map<PdfObject, PdfName> directObjectsColorSpaces = new WeakHashMap<>();
+
+    /**
+     * Checks whether the object was marked as checked.
+     *
+     * @param object the object to look up
+     * @return true if the object was already marked, false otherwise
+     */
+    public boolean contains(PdfObject object) {
+        if (object == null) {
+            return false;
+        }
+        PdfIndirectReference reference = object.getIndirectReference();
+        if (reference != null) {
+            promote(object, reference.getObjNumber());
+            return indirectObjects.get(reference.getObjNumber());
+        }
+        return directObjects.containsKey(object);
+    }
+
+    /**
+     * Marks the object as checked.
+     *
+     * @param object the object to mark
+     * @return true if the object was not marked before, false otherwise
+     */
+    public boolean add(PdfObject object) {
+        if (object == null) {
+            return false;
+        }
+        PdfIndirectReference reference = object.getIndirectReference();
+        if (reference != null) {
+            int objNumber = reference.getObjNumber();
+            promote(object, objNumber);
+            if (indirectObjects.get(objNumber)) {
+                return false;
+            }
+            indirectObjects.set(objNumber);
+            return true;
+        }
+        return directObjects.put(object, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Gets the name of the device color space that was remembered for the already checked object.
+     *
+     * @param object the checked object, typically a JPEG2000 image XObject without <code>ColorSpace</code> entry
+     * @return the remembered color space name, or null if there is none
+     */
+    public PdfName getColorSpaceName(PdfObject object) {
+        PdfIndirectReference reference = object.getIndirectReference();
+        if (reference != null) {
+            promote(object, reference.getObjNumber());
+            return indirectObjectsColorSpaces.get(reference.getObjNumber());
+        }
+        return directObjectsColorSpaces.get(object);
+    }
+
+    /**
+     * Remembers the device color space of the checked object which is not given by its dictionary,
+     * so that it can be checked against the resources of other pages without checking the object once again.
+     *
+     * @param object         the checked object, typically a JPEG2000 image XObject without <code>ColorSpace</code> entry
+     * @param colorSpaceName the name of the device color space of the object
+     */
+    public void setColorSpaceName(PdfObject object, PdfName colorSpaceName) {
+        PdfIndirectReference reference = object.getIndirectReference();
+        if (reference != null) {
+            indirectObjectsColorSpaces.put(reference.getObjNumber(), colorSpaceName);
+        } else {
+            directObjectsColorSpaces.put(object, colorSpaceName);
+        }
+    }
+
+    private void promote(PdfObject object, int objNumber) {
+        if (directObjects.remove(object) != null) {
+            indirectObjects.set(objNumber);
+        }
+        PdfName colorSpaceName = directObjectsColorSpaces.remove(object);
+        if (colorSpaceName != null) {
+            indirectObjectsColorSpaces.put(objNumber, colorSpaceName);
+        }
+    }
+}
@@ -224,17 +224,15 @@ public class PdfA1Checker extends PdfAChecker {
 
     @Override
     protected void checkImage(PdfStream image, PdfDictionary currentColorSpaces) {
-        PdfColorSpace colorSpace = null;
+        PdfObject colorSpaceObj = image.get(PdfName.ColorSpace);
         if (isAlreadyChecked(image)) {
-            colorSpace = checkedObjectsColorspace.get(image);
-            checkColorSpace(colorSpace, currentColorSpaces, true, null);
+            if (colorSpaceObj != null) {
+                checkColorSpace(PdfColorSpace.makeColorSpace(colorSpaceObj), currentColorSpaces, true, null);
+            }
             return;
         }
-        PdfObject colorSpaceObj = image.get(PdfName.ColorSpace);
         if (colorSpaceObj != null) {
-            colorSpace = PdfColorSpace.makeColorSpace(colorSpaceObj);
-            checkColorSpace(colorSpace, currentColorSpaces, true, null);
-            checkedObjectsColorspace.put(image, colorSpace);
+            checkColorSpace(PdfColorSpace.makeColorSpace(colorSpaceObj), currentColorSpaces, true, null);
         }
 
         if (image.containsKey(PdfName.Alternates)) {
@@ -619,6 +619,14 @@ public class PdfA2Checker extends PdfA1Checker {
         return allowedNamedActions;
     }
 
+    @Override
+    public void mergeColorsUsages(PdfAChecker checker) {
+        super.mergeColorsUsages(checker);
+        if (checker instanceof PdfA2Checker) {
+            transparencyIsUsed |= ((PdfA2Checker) checker).transparencyIsUsed;
+        }
+    }
+
     @Override
     protected void checkColorsUsages() {
         if (transparencyIsUsed && pdfAOutputIntentColorSpace == null) {
@@ -643,18 +651,19 @@ public class PdfA2Checker extends PdfA1Checker {
 
     @Override
     protected void checkImage(PdfStream image, PdfDictionary currentColorSpaces) {
-        PdfColorSpace colorSpace = null;
+        PdfObject colorSpaceObj = image.get(PdfName.ColorSpace);
         if (isAlreadyChecked(image)) {
-            colorSpace = checkedObjectsColorspace.get(image);
-            checkColorSpace(colorSpace, currentColorSpaces, true, null);
+            if (colorSpaceObj == null) {
+                colorSpaceObj = checkedObjects.getColorSpaceName(image);
+            }
+            if (colorSpaceObj != null) {
+                checkColorSpace(PdfColorSpace.makeColorSpace(colorSpaceObj), currentColorSpaces, true, null);
+            }
             return;
         }
 
-        PdfObject colorSpaceObj = image.get(PdfName.ColorSpace);
         if (colorSpaceObj != null) {
-            colorSpace = PdfColorSpace.makeColorSpace(colorSpaceObj);
-            checkColorSpace(colorSpace, currentColorSpaces, true, null);
-            checkedObjectsColorspace.put(image, colorSpace);
+            checkColorSpace(PdfColorSpace.makeColorSpace(colorSpaceObj), currentColorSpaces, true, null);
         }
 
         if (image.containsKey(PdfName.Alternates)) {
@@ -721,17 +730,17 @@ public class PdfA2Checker extends PdfA1Checker {
                                 case 1:
                                     PdfDeviceCs.Gray deviceGrayCs = new PdfDeviceCs.Gray();
                                     checkColorSpace(deviceGrayCs, currentColorSpaces, true, null);
-                                    checkedObjectsColorspace.put(image, deviceGrayCs);
+                                    checkedObjects.setColorSpaceName(image, PdfName.DeviceGray);
                                     break;
                                 case 3:
                                     PdfDeviceCs.Rgb deviceRgbCs = new PdfDeviceCs.Rgb();
                                     checkColorSpace(deviceRgbCs, currentColorSpaces, true, null);
-                                    checkedObjectsColorspace.put(image, deviceRgbCs);
+                                    checkedObjects.setColorSpaceName(image, PdfName.DeviceRGB);
                                     break;
                                 case 12:
                                     PdfDeviceCs.Cmyk deviceCmykCs = new PdfDeviceCs.Cmyk();
                                     checkColorSpace(deviceCmykCs, currentColorSpaces, true, null);
-                                    checkedObjectsColorspace.put(image, deviceCmykCs);
+                                    checkedObjects.setColorSpaceName(image, PdfName.DeviceCMYK);
                                     break;
                             }
                         }
@@ -132,9 +132,11 @@ public abstract class PdfAChecker {
      * Use this mechanism carefully: objects that are able to be changed (or at least if object's properties
      * that shall be checked are able to be changed) shouldn't be marked as checked if they are not to be
      * flushed immediately.
+     *
+     * Indirect objects are tracked by their object number only, so marking an object as checked doesn't
+     * prevent it from being collected after it is flushed.
      */
-    protected Set<PdfObject> checkedObjects = new HashSet<>();
-    protected Map<PdfObject, PdfColorSpace> checkedObjectsColorspace = new HashMap<>();
+    protected CheckedObjects checkedObjects = new CheckedObjects();
 
     protected PdfAChecker(PdfAConformanceLevel conformanceLevel) {
         this.conformanceLevel = conformanceLevel;
@@ -149,18 +151,50 @@ public abstract class PdfAChecker {
      * @param catalog
      */
     public void checkDocument(PdfCatalog catalog) {
-        PdfDictionary catalogDict = catalog.getPdfObject();
-        setPdfAOutputIntentColorSpace(catalogDict);
+        checkDocument(catalog, true);
+    }
 
-        checkOutputIntents(catalogDict);
-        checkMetaData(catalogDict);
-        checkCatalogValidEntries(catalogDict);
-        checkTrailer(catalog.getDocument().getTrailer());
-        checkLogicalStructure(catalogDict);
-        checkForm(catalogDict.getAsDictionary(PdfName.AcroForm));
-        checkOutlines(catalogDict);
-        checkPages(catalog.getDocument());
-        checkOpenAction(catalogDict.get(PdfName.OpenAction));
+    /**
+     * Checks the same document-wide requirements as {@link #checkDocument(PdfCatalog)}, except
+     * for the pages and the colour usages. This allows the pages to be checked separately by
+     * {@link #checkSinglePage(PdfPage)}, possibly by other checker instances, whose colour usages
+     * are then combined by {@link #mergeColorsUsages(PdfAChecker)} and verified by
+     * {@link #checkDocumentColorsUsages()}.
+     *
+     * @param catalog the catalog of the document
+     */
+    public void checkDocumentWithoutPages(PdfCatalog catalog) {
+        checkDocument(catalog, false);
+    }
+
+    /**
+     * Reads the PDF/A output intent of the document, which is needed to check the colour spaces
+     * used on the pages. It shall be called before pages are checked by {@link #checkSinglePage(PdfPage)}
+     * if neither {@link #checkDocument(PdfCatalog)} nor {@link #checkDocumentWithoutPages(PdfCatalog)}
+     * was called on this checker before.
+     *
+     * @param catalog the catalog of the document
+     */
+    public void prepareForPageChecks(PdfCatalog catalog) {
+        setPdfAOutputIntentColorSpace(catalog.getPdfObject());
+    }
+
+    /**
+     * Adds the colour usages, found by another checker of the same document, to the ones found by this checker.
+     *
+     * @param checker the checker that checked some pages of the document
+     */
+    public void mergeColorsUsages(PdfAChecker checker) {
+        rgbIsUsed |= checker.rgbIsUsed;
+        cmykIsUsed |= checker.cmykIsUsed;
+        grayIsUsed |= checker.grayIsUsed;
+    }
+
+    /**
+     * Checks that the colour usages, found in the checked pages and merged from other checkers,
+     * are consistent with the PDF/A output intent of the document.
+     */
+    public void checkDocumentColorsUsages() {
         checkColorsUsages();
     }
 
@@ -320,7 +354,7 @@ public abstract class PdfAChecker {
         PdfDictionary shadings = resources.getAsDictionary(PdfName.Shading);
 
         if (xObjects != null) {
-            for (PdfObject xObject : xObjects.values()) {
+            for (PdfObject xObject : xObjects.directValues()) {
                 PdfStream xObjStream = (PdfStream) xObject;
                 if (checkedObjects.contains(xObjStream))
                     continue;
@@ -334,7 +368,7 @@ public abstract class PdfAChecker {
         }
 
         if (shadings != null) {
-            for (PdfObject shading : shadings.values()) {
+            for (PdfObject shading : shadings.directValues()) {
                 PdfDictionary shadingDict = (PdfDictionary) shading;
                 checkColorSpace(PdfColorSpace.makeColorSpace(shadingDict.get(PdfName.ColorSpace)), resources.getAsDictionary(PdfName.ColorSpace), true, null);
             }
@@ -352,11 +386,27 @@ public abstract class PdfAChecker {
     }
 
     protected boolean isAlreadyChecked(PdfDictionary dictionary) {
-        if (checkedObjects.contains(dictionary)) {
-            return true;
+        return !checkedObjects.add(dictionary);
+    }
+
+    private void checkDocument(PdfCatalog catalog, boolean checkPages) {
+        PdfDictionary catalogDict = catalog.getPdfObject();
+        setPdfAOutputIntentColorSpace(catalogDict);
+
+        checkOutputIntents(catalogDict);
+        checkMetaData(catalogDict);
+        checkCatalogValidEntries(catalogDict);
+        checkTrailer(catalog.getDocument().getTrailer());
+        checkLogicalStructure(catalogDict);
+        checkForm(catalogDict.getAsDictionary(PdfName.AcroForm));
+        checkOutlines(catalogDict);
+        if (checkPages) {
+            checkPages(catalog.getDocument());
+        }
+        checkOpenAction(catalogDict.get(PdfName.OpenAction));
+        if (checkPages) {
+            checkColorsUsages();
         }
-        checkedObjects.add(dictionary);
-        return false;
     }
 
     private void checkPages(PdfDocument document) {
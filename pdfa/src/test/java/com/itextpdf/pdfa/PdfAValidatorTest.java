@@ -0,0 +1,161 @@
+package com.itextpdf.pdfa;
+
+import com.itextpdf.kernel.color.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfOutputIntent;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.kernel.xmp.XMPException;
+import com.itextpdf.kernel.xmp.XMPMetaFactory;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfAValidatorTest extends ExtendedITextTest {
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/pdfa/";
+    public static final String destinationFolder = "./target/test/com/itextpdf/pdfa/PdfAValidatorTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void validateCompliantDocumentTest() throws IOException, XMPException {
+        String filename = destinationFolder + "pdfA2b_compliant.pdf";
+        InputStream is = new FileInputStream(sourceFolder + "sRGB Color Space Profile.icm");
+        PdfDocument pdfDoc = new PdfADocument(new PdfWriter(filename), PdfAConformanceLevel.PDF_A_2B, new PdfOutputIntent("Custom", "", "http://www.color.org", "sRGB IEC61966-2.1", is));
+        PdfFont font = PdfFontFactory.createFont(sourceFolder + "FreeSans.ttf", "WinAnsi", true);
+        for (int i = 1; i <= 7; i++) {
+            addText(new PdfCanvas(pdfDoc.addNewPage()), font, "Page " + i);
+        }
+        pdfDoc.close();
+
+        PdfAValidationReport report = new PdfAValidator().setThreadCount(3).validate(filename);
+        Assert.assertTrue(report.toString(), report.isCompliant());
+        Assert.assertEquals(PdfAConformanceLevel.PDF_A_2B, report.getConformanceLevel());
+    }
+
+    @Test
+    public void validateNotEmbeddedFontTest() throws IOException, XMPException {
+        String compliantFilename = destinationFolder + "pdfA1b_compliant.pdf";
+        InputStream is = new FileInputStream(sourceFolder + "sRGB Color Space Profile.icm");
+        PdfDocument pdfADoc = new PdfADocument(new PdfWriter(compliantFilename), PdfAConformanceLevel.PDF_A_1B, new PdfOutputIntent("Custom", "", "http://www.color.org", "sRGB IEC61966-2.1", is));
+        PdfFont embeddedFont = PdfFontFactory.createFont(sourceFolder + "FreeSans.ttf", "WinAnsi", true);
+        for (int i = 1; i <= 4; i++) {
+            addText(new PdfCanvas(pdfADoc.addNewPage()), embeddedFont, "Page " + i);
+        }
+        pdfADoc.close();
+
+        // the same document, but the text of the third page uses a font which is not embedded
+        String filename = destinationFolder + "pdfA1b_notEmbeddedFont.pdf";
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(compliantFilename));
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(filename));
+        pdfDoc.setXmpMetadata(XMPMetaFactory.parseFromBuffer(srcDoc.getXmpMetadata()));
+        srcDoc.copyPagesTo(1, 4, pdfDoc);
+        srcDoc.close();
+        addText(new PdfCanvas(pdfDoc.getPage(3)), PdfFontFactory.createFont("Helvetica", "WinAnsi", true), "Not embedded");
+        pdfDoc.close();
+
+        PdfAValidationReport report = new PdfAValidator().setThreadCount(2).validate(filename);
+        Assert.assertFalse(report.isCompliant());
+        Assert.assertEquals(PdfAConformanceLevel.PDF_A_1B, report.getConformanceLevel());
+        boolean thirdPageViolation = false;
+        for (PdfAValidationReport.Violation violation : report.getViolations()) {
+            if (violation.getPageNumber() != PdfAValidationReport.DOCUMENT_LEVEL) {
+                Assert.assertEquals(3, violation.getPageNumber());
+                Assert.assertTrue(violation.getMessage(), violation.getMessage().startsWith("all.the.fonts.must.be.embedded"));
+                thirdPageViolation = true;
+            }
+        }
+        Assert.assertTrue(report.toString(), thirdPageViolation);
+    }
+
+    @Test
+    public void validateFormXObjectColorSpacesTest() throws IOException, XMPException {
+        String compliantFilename = destinationFolder + "pdfA2b_compliantForFormXObject.pdf";
+        InputStream is = new FileInputStream(sourceFolder + "sRGB Color Space Profile.icm");
+        PdfDocument pdfADoc = new PdfADocument(new PdfWriter(compliantFilename), PdfAConformanceLevel.PDF_A_2B, new PdfOutputIntent("Custom", "", "http://www.color.org", "sRGB IEC61966-2.1", is));
+        PdfFont font = PdfFontFactory.createFont(sourceFolder + "FreeSans.ttf", "WinAnsi", true);
+        for (int i = 1; i <= 2; i++) {
+            addText(new PdfCanvas(pdfADoc.addNewPage()), font, "Page " + i);
+        }
+        pdfADoc.close();
+
+        // the second page draws a form XObject whose own resources define a device dependent /DefaultRGB,
+        // while the page resources have no colour spaces at all
+        String filename = destinationFolder + "pdfA2b_formXObjectDefaultRgb.pdf";
+        PdfDocument srcDoc = new PdfDocument(new PdfReader(compliantFilename));
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(filename));
+        pdfDoc.setXmpMetadata(XMPMetaFactory.parseFromBuffer(srcDoc.getXmpMetadata()));
+        srcDoc.copyPagesTo(1, 2, pdfDoc);
+        srcDoc.close();
+        PdfFormXObject xObject = new PdfFormXObject(new Rectangle(100, 100));
+        new PdfCanvas(xObject, pdfDoc).setFillColor(DeviceRgb.GREEN).rectangle(0, 0, 100, 100).fill();
+        PdfDictionary colorSpaces = new PdfDictionary();
+        colorSpaces.put(PdfName.DefaultRGB, PdfName.DeviceGray);
+        xObject.getResources().getPdfObject().put(PdfName.ColorSpace, colorSpaces);
+        new PdfCanvas(pdfDoc.getPage(2)).addXObject(xObject, 36, 36);
+        pdfDoc.close();
+
+        PdfAValidationReport report = new PdfAValidator().setThreadCount(1).validate(filename);
+        boolean secondPageViolation = false;
+        for (PdfAValidationReport.Violation violation : report.getViolations()) {
+            if (violation.getPageNumber() != PdfAValidationReport.DOCUMENT_LEVEL) {
+                Assert.assertEquals(2, violation.getPageNumber());
+                Assert.assertTrue(violation.getMessage(), violation.getMessage().startsWith("color.space"));
+                secondPageViolation = true;
+            }
+        }
+        Assert.assertTrue(report.toString(), secondPageViolation);
+    }
+
+    @Test
+    public void validateSeveralFilesTest() throws IOException {
+        String filename = destinationFolder + "notPdfA.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(filename));
+        pdfDoc.addNewPage();
+        pdfDoc.close();
+        String missingFilename = destinationFolder + "missing.pdf";
+
+        List<PdfAValidationReport> reports = new PdfAValidator().validate(Arrays.asList(filename, missingFilename));
+        Assert.assertEquals(2, reports.size());
+        Assert.assertEquals(filename, reports.get(0).getFileName());
+        Assert.assertNull(reports.get(0).getConformanceLevel());
+        Assert.assertEquals(1, reports.get(0).getViolations().size());
+        Assert.assertEquals(PdfAConformanceException.DocumentToReadFromShallBeAPdfAConformantFileWithValidXmpMetadata,
+                reports.get(0).getViolations().get(0).getMessage());
+        Assert.assertEquals(missingFilename, reports.get(1).getFileName());
+        Assert.assertFalse(reports.get(1).isCompliant());
+    }
+
+    private static void addText(PdfCanvas canvas, PdfFont font, String text) {
+        canvas.saveState()
+                .setFillColor(DeviceRgb.GREEN)
+                .beginText()
+                .moveText(36, 700)
+                .setFontAndSize(font, 36)
+                .showText(text)
+                .endText()
+                .restoreState();
+    }
+}
@@ -0,0 +1,77 @@
+package com.itextpdf.pdfa.checker;
+
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+
+@Category(UnitTest.class)
+public class CheckedObjectsTest extends ExtendedITextTest {
+
+    @Test
+    public void addAndContainsTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        document.addNewPage();
+        CheckedObjects checkedObjects = new CheckedObjects();
+        PdfDictionary indirect = new PdfDictionary().makeIndirect(document);
+        PdfDictionary direct = new PdfDictionary();
+
+        Assert.assertFalse(checkedObjects.contains(indirect));
+        Assert.assertFalse(checkedObjects.contains(direct));
+        Assert.assertTrue(checkedObjects.add(indirect));
+        Assert.assertTrue(checkedObjects.add(direct));
+        Assert.assertFalse(checkedObjects.add(indirect));
+        Assert.assertFalse(checkedObjects.add(direct));
+        Assert.assertTrue(checkedObjects.contains(indirect));
+        Assert.assertTrue(checkedObjects.contains(direct));
+
+        Assert.assertFalse(checkedObjects.contains(new PdfDictionary()));
+        Assert.assertFalse(checkedObjects.contains(new PdfDictionary().makeIndirect(document)));
+        Assert.assertFalse(checkedObjects.contains(null));
+        Assert.assertFalse(checkedObjects.add(null));
+        document.close();
+    }
+
+    @Test
+    public void directObjectMadeIndirectTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        document.addNewPage();
+        CheckedObjects checkedObjects = new CheckedObjects();
+        PdfStream stream = new PdfStream();
+        Assert.assertTrue(checkedObjects.add(stream));
+
+        stream.makeIndirect(document);
+        Assert.assertTrue(checkedObjects.contains(stream));
+        Assert.assertFalse(checkedObjects.add(stream));
+        document.close();
+    }
+
+    @Test
+    public void colorSpaceNameTest() {
+        PdfDocument document = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        document.addNewPage();
+        CheckedObjects checkedObjects = new CheckedObjects();
+        PdfStream indirectImage = new PdfStream().makeIndirect(document);
+        PdfStream directImage = new PdfStream();
+
+        Assert.assertNull(checkedObjects.getColorSpaceName(indirectImage));
+        checkedObjects.setColorSpaceName(indirectImage, PdfName.DeviceRGB);
+        checkedObjects.setColorSpaceName(directImage, PdfName.DeviceGray);
+        Assert.assertEquals(PdfName.DeviceRGB, checkedObjects.getColorSpaceName(indirectImage));
+        Assert.assertEquals(PdfName.DeviceGray, checkedObjects.getColorSpaceName(directImage));
+        Assert.assertNull(checkedObjects.getColorSpaceName(new PdfStream().makeIndirect(document)));
+
+        directImage.makeIndirect(document);
+        Assert.assertEquals(PdfName.DeviceGray, checkedObjects.getColorSpaceName(directImage));
+        document.close();
+    }
+}
@@ -0,0 +1,439 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.io.util.DateTimeUtil;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Signs many documents with the same key and certificate chain in detached mode, see
+ * {@link PdfSigner#signDetached}.
+ * <br><br>
+ * The work that does not depend on the document is done once per batch instead of once per document:
+ * <ul>
+ *     <li>the CRL and OCSP data of the chain is taken from a {@link RevocationCache}, see
+ *     {@link RevocationCache#getRevocationData};</li>
+ *     <li>the layer 2 of the signature appearance (the description and the images) is rendered once
+ *     into a template that is copied into each document.</li>
+ * </ul>
+ * Documents are signed on several threads, while the private key operations are handed to a bounded pool
+ * of {@link IExternalSignature}s, e.g. sessions of a hardware security module.
+ * <br><br>
+ * All the documents of a batch carry the same signing date, the time at which the batch was started.
+ */
+public class BatchSigner {
+
+    private final Certificate[] chain;
+
+    private final IExternalDigest externalDigest;
+
+    private final PdfSigner.CryptoStandard sigtype;
+
+    private final BlockingQueue<IExternalSignature> signerPool;
+
+    private final IExternalSignature pooledSignature;
+
+    private Collection<ICrlClient> crlClients;
+
+    private IOcspClient ocspClient;
+
+    private ITSAClient tsaClient;
+
+    private int estimatedSize;
+
+    private RevocationCache revocationCache = new RevocationCache();
+
+    private IAppearanceSetup appearanceSetup;
+
+    private boolean append;
+
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a batch signer that uses a single {@link IExternalSignature} for all the private key operations.
+     *
+     * @param chain the certificate chain
+     * @param externalSignature the interface providing the actual signing
+     * @param externalDigest an implementation that provides the digest
+     * @param sigtype either {@link PdfSigner.CryptoStandard#CMS} or {@link PdfSigner.CryptoStandard#CADES}
+     */
+    public BatchSigner(Certificate[] chain, IExternalSignature externalSignature, IExternalDigest externalDigest, PdfSigner.CryptoStandard sigtype) {
+        this(chain, createSignerList(externalSignature), externalDigest, sigtype);
+    }
+
+    /**
+     * Creates a batch signer with a pool of {@link IExternalSignature}s. At most as many private key
+     * operations as there are signers in the pool run at the same time, and each signer is used by one
+     * thread at a time. All the signers must use the same key, hash algorithm and encryption algorithm.
+     *
+     * @param chain the certificate chain
+     * @param signers the pool of signers providing the actual signing
+     * @param externalDigest an implementation that provides the digest
+     * @param sigtype either {@link PdfSigner.CryptoStandard#CMS} or {@link PdfSigner.CryptoStandard#CADES}
+     */
+    public BatchSigner(Certificate[] chain, Collection<IExternalSignature> signers, IExternalDigest externalDigest, PdfSigner.CryptoStandard sigtype) {
+        if (signers.isEmpty()) {
+            throw new IllegalArgumentException("The signer pool shall contain at least one signer");
+        }
+        this.chain = chain;
+        this.externalDigest = externalDigest;
+        this.sigtype = sigtype;
+        this.signerPool = new ArrayBlockingQueue<>(signers.size(), false, signers);
+        this.pooledSignature = new PooledSignature(signers.iterator().next(), signerPool);
+    }
+
+    /**
+     * Sets the CRL clients. Their data is cached per chain in the {@link RevocationCache}.
+     *
+     * @param crlClients the CRL clients
+     * @return this batch signer
+     */
+    public BatchSigner setCrlClients(Collection<ICrlClient> crlClients) {
+        this.crlClients = crlClients;
+        return this;
+    }
+
+    /**
+     * Sets the OCSP client. Its responses are cached per chain in the {@link RevocationCache}.
+     *
+     * @param ocspClient the OCSP client
+     * @return this batch signer
+     */
+    public BatchSigner setOcspClient(IOcspClient ocspClient) {
+        this.ocspClient = ocspClient;
+        return this;
+    }
+
+    /**
+     * Sets the Timestamp client. Time-stamps cover the signature of a single document, so they are never cached.
+     *
+     * @param tsaClient the Timestamp client
+     * @return this batch signer
+     */
+    public BatchSigner setTsaClient(ITSAClient tsaClient) {
+        this.tsaClient = tsaClient;
+        return this;
+    }
+
+    /**
+     * Sets the reserved size for the signatures. It is estimated if 0, which is the default.
+     *
+     * @param estimatedSize the reserved size for the signatures
+     * @return this batch signer
+     */
+    public BatchSigner setEstimatedSize(int estimatedSize) {
+        this.estimatedSize = estimatedSize;
+        return this;
+    }
+
+    /**
+     * Sets the cache of the revocation data. By default a cache with the default time to live of the revocation
+     * data is used, which is private to this batch signer. The cache can be shared with other batch signers and
+     * with verifiers, see {@link LtvVerifier#setRevocationCache(RevocationCache)}.
+     *
+     * @param revocationCache the revocation cache
+     * @return this batch signer
+     */
+    public BatchSigner setRevocationCache(RevocationCache revocationCache) {
+        this.revocationCache = revocationCache;
+        return this;
+    }
+
+    /**
+     * Sets the set-up of the signature appearance. It is applied to the appearance of every document, while the
+     * layer 2 it describes is only rendered once per batch.
+     *
+     * @param appearanceSetup the set-up of the signature appearance
+     * @return this batch signer
+     */
+    public BatchSigner setAppearanceSetup(IAppearanceSetup appearanceSetup) {
+        this.appearanceSetup = appearanceSetup;
+        return this;
+    }
+
+    /**
+     * Sets whether the signing should happen in append mode or not.
+     *
+     * @param append true to sign in append mode
+     * @return this batch signer
+     */
+    public BatchSigner setAppend(boolean append) {
+        this.append = append;
+        return this;
+    }
+
+    /**
+     * Sets the number of documents that are signed at the same time. By default it is the number
+     * of available processors.
+     *
+     * @param threadCount the number of threads
+     * @return this batch signer
+     */
+    public BatchSigner setThreadCount(int threadCount) {
+        this.threadCount = Math.max(threadCount, 1);
+        return this;
+    }
+
+    /**
+     * Signs a batch of documents.
+     *
+     * @param documents the names of the source files mapped to the names of the signed files
+     * @return the names of the source files that could not be signed mapped to the cause, empty if all the
+     * documents were signed
+     * @throws IOException if the signature appearance cannot be rendered
+     */
+    public Map<String, Exception> signAll(Map<String, String> documents) throws IOException {
+        final Calendar signDate = DateTimeUtil.getCurrentTimeCalendar();
+        final RevocationCache.RevocationData revocationData = revocationCache.getRevocationData(chain, crlClients, ocspClient);
+        final AppearanceTemplate template = createAppearanceTemplate(signDate);
+
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(Math.min(threadCount, documents.size()), 1));
+        try {
+            Map<String, Future<Object>> futures = new LinkedHashMap<>();
+            for (final Map.Entry<String, String> document : documents.entrySet()) {
+                futures.put(document.getKey(), executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        signDocument(document.getKey(), document.getValue(), signDate, revocationData, template);
+                        return null;
+                    }
+                }));
+            }
+            for (Map.Entry<String, Future<Object>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (ExecutionException e) {
+                    failures.put(future.getKey(), e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.IoException, e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures;
+    }
+
+    private void signDocument(String src, String dest, Calendar signDate, RevocationCache.RevocationData revocationData,
+                              AppearanceTemplate template) throws IOException, GeneralSecurityException {
+        PdfReader reader = new PdfReader(src);
+        OutputStream os = null;
+        boolean signed = false;
+        try {
+            os = new FileOutputStream(dest);
+            PdfSigner signer = new PdfSigner(reader, os, append);
+            signer.setSignDate(signDate);
+            PdfSignatureAppearance appearance = signer.getSignatureAppearance();
+            if (appearanceSetup != null) {
+                appearanceSetup.setUp(appearance);
+            }
+            if (template != null) {
+                appearance.setLayer2(template.copyTo(signer.getDocument()));
+            }
+            List<ICrlClient> crlList = new ArrayList<>(1);
+            crlList.add(revocationData);
+            signer.signDetached(externalDigest, pooledSignature, chain, crlList, revocationData, tsaClient, estimatedSize, sigtype);
+            signed = true;
+        } finally {
+            if (!signed) {
+                // signDetached closes the reader and the stream, unless it fails before
+                closeQuietly(reader);
+                closeQuietly(os);
+            }
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private AppearanceTemplate createAppearanceTemplate(Calendar signDate) throws IOException {
+        if (appearanceSetup == null) {
+            return null;
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument templateDocument = new PdfDocument(new PdfWriter(baos));
+        templateDocument.addNewPage();
+        PdfSignatureAppearance appearance = new PdfSignatureAppearance(templateDocument, new Rectangle(0, 0), 1);
+        appearanceSetup.setUp(appearance);
+        if (appearance.isInvisible()) {
+            templateDocument.close();
+            return null;
+        }
+        // the template document has a single page, the page of the actual signature does not matter for layer 2
+        appearance.setPageNumber(1);
+        appearance.setCertificate(chain[0]);
+        appearance.setSignDate(signDate);
+        appearance.getAppearance();
+        PdfFormXObject layer2 = appearance.getLayer2();
+        // keep layer 2 reachable, so that it is written
+        templateDocument.getFirstPage().getResources().addForm(layer2);
+        int layer2Number = layer2.getPdfObject().getIndirectReference().getObjNumber();
+        templateDocument.close();
+        return new AppearanceTemplate(baos.toByteArray(), layer2Number);
+    }
+
+    private static List<IExternalSignature> createSignerList(IExternalSignature externalSignature) {
+        List<IExternalSignature> signers = new ArrayList<>(1);
+        signers.add(externalSignature);
+        return signers;
+    }
+
+    /**
+     * Sets up the signature appearance of the documents of a batch, see {@link PdfSigner#getSignatureAppearance()}.
+     * The set-up shall configure every appearance in the same way. The fonts and images it sets are only used
+     * to render the template of layer 2, on the thread that starts the batch.
+     */
+    public interface IAppearanceSetup {
+
+        /**
+         * Configures the signature appearance.
+         *
+         * @param appearance the signature appearance
+         */
+        void setUp(PdfSignatureAppearance appearance);
+    }
+
+    /**
+     * A rendered layer 2, stored as a small PDF document from which it is copied into the signed documents.
+     */
+    private static class AppearanceTemplate {
+
+        private final byte[] bytes;
+
+        private final int layer2Number;
+
+        AppearanceTemplate(byte[] bytes, int layer2Number) {
+            this.bytes = bytes;
+            this.layer2Number = layer2Number;
+        }
+
+        PdfFormXObject copyTo(PdfDocument document) throws IOException {
+            PdfDocument templateDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes)));
+            PdfStream layer2 = (PdfStream) templateDocument.getPdfObject(layer2Number);
+            PdfFormXObject copy = new PdfFormXObject(layer2.copyTo(document));
+            templateDocument.close();
+            return copy;
+        }
+    }
+
+    /**
+     * Hands the private key operations to the first free signer of the pool.
+     */
+    private static class PooledSignature implements IExternalSignature {
+
+        private final String hashAlgorithm;
+
+        private final String encryptionAlgorithm;
+
+        private final BlockingQueue<IExternalSignature> signerPool;
+
+        PooledSignature(IExternalSignature signer, BlockingQueue<IExternalSignature> signerPool) {
+            this.hashAlgorithm = signer.getHashAlgorithm();
+            this.encryptionAlgorithm = signer.getEncryptionAlgorithm();
+            this.signerPool = signerPool;
+        }
+
+        @Override
+        public String getHashAlgorithm() {
+            return hashAlgorithm;
+        }
+
+        @Override
+        public String getEncryptionAlgorithm() {
+            return encryptionAlgorithm;
+        }
+
+        @Override
+        public byte[] sign(byte[] message) throws GeneralSecurityException {
+            IExternalSignature signer;
+            try {
+                signer = signerPool.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeneralSecurityException(e.getMessage(), e);
+            }
+            try {
+                return signer.sign(message);
+            } finally {
+                signerPool.add(signer);
+            }
+        }
+    }
+}
@@ -49,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.URL;
 import java.security.GeneralSecurityException;
+import java.security.PublicKey;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
@@ -67,6 +68,9 @@ public class CRLVerifier extends RootStoreVerifier {
     /** The list of CRLs to check for revocation date. */
     List<X509CRL> crls;
 
+    /** The cache of revocation data, can be null. */
+    protected RevocationCache revocationCache;
+
     /**
      * Creates a CRLVerifier instance.
      * @param verifier	the next verifier in the chain
@@ -77,6 +81,15 @@ public class CRLVerifier extends RootStoreVerifier {
         this.crls = crls;
     }
 
+    /**
+     * Sets a cache of revocation data. CRLs fetched online are then cached until their next update,
+     * and the revoked serial numbers and the signatures of CRLs are checked only once.
+     * @param revocationCache the revocation cache
+     */
+    public void setRevocationCache(RevocationCache revocationCache) {
+        this.revocationCache = revocationCache;
+    }
+
     /**
      * Verifies if a a valid CRL is found for the certificate.
      * If this method returns false, it doesn't mean the certificate isn't valid.
@@ -133,7 +146,7 @@ public class CRLVerifier extends RootStoreVerifier {
         if (crl.getIssuerX500Principal().equals(signCert.getIssuerX500Principal())
                 && signDate.after(crl.getThisUpdate()) && signDate.before(crl.getNextUpdate())) {
             // the signing certificate may not be revoked
-            if (isSignatureValid(crl, issuerCert) && crl.isRevoked(signCert)) {
+            if (isSignatureValid(crl, issuerCert) && isRevoked(crl, signCert)) {
                 throw new VerificationException(signCert, "The certificate has been revoked.");
             }
             return true;
@@ -155,8 +168,16 @@ public class CRLVerifier extends RootStoreVerifier {
             String crlurl = CertificateUtil.getCRLURL(signCert);
             if (crlurl == null)
                 return null;
+            if (revocationCache != null) {
+                X509CRL crl = revocationCache.getCrl(crlurl);
+                if (crl != null)
+                    return crl;
+            }
             LOGGER.info("Getting CRL from " + crlurl);
-            return (X509CRL) SignUtils.parseCrlFromStream(new URL(crlurl).openStream());
+            X509CRL crl = (X509CRL) SignUtils.parseCrlFromStream(new URL(crlurl).openStream());
+            if (revocationCache != null)
+                revocationCache.putCrl(crlurl, crl);
+            return crl;
         }
         catch(IOException e) {
             return null;
@@ -176,7 +197,7 @@ public class CRLVerifier extends RootStoreVerifier {
         // check if the CRL was issued by the issuer
         if (crlIssuer != null) {
             try {
-                crl.verify(crlIssuer.getPublicKey());
+                verifyCrlSignature(crl, crlIssuer.getPublicKey());
                 return true;
             } catch (GeneralSecurityException e) {
                 LOGGER.warn("CRL not issued by the same authority as the certificate that is being checked");
@@ -190,7 +211,7 @@ public class CRLVerifier extends RootStoreVerifier {
             for (X509Certificate anchor : SignUtils.getCertificates(rootStore)) {
                 try {
                     // check if the crl was signed by a trusted party (indirect CRLs)
-                    crl.verify(anchor.getPublicKey());
+                    verifyCrlSignature(crl, anchor.getPublicKey());
                     return true;
                 } catch (GeneralSecurityException e) {
                     continue;
@@ -202,4 +223,16 @@ public class CRLVerifier extends RootStoreVerifier {
         }
         return false;
     }
+
+    private boolean isRevoked(X509CRL crl, X509Certificate cert) {
+        return revocationCache != null ? revocationCache.isRevoked(crl, cert) : crl.isRevoked(cert);
+    }
+
+    private void verifyCrlSignature(X509CRL crl, PublicKey key) throws GeneralSecurityException {
+        if (revocationCache != null) {
+            revocationCache.verifyCrlSignature(crl, key);
+        } else {
+            crl.verify(key);
+        }
+    }
 }
@@ -52,8 +52,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.security.GeneralSecurityException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateParsingException;
+import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -72,6 +74,9 @@ public class CrlClientOnline implements ICrlClient {
     /** The URLs of the CRLs. */
     protected List<URL> urls = new ArrayList<>();
 
+    /** The cache of revocation data, can be null. */
+    protected RevocationCache revocationCache;
+
     /**
      * Creates a CrlClientOnline instance that will try to find
      * a single CRL by walking through the certificate chain.
@@ -112,6 +117,14 @@ public class CrlClientOnline implements ICrlClient {
         }
     }
 
+    /**
+     * Sets a cache of revocation data. The CRLs are then downloaded again only after their next update.
+     * @param revocationCache the revocation cache
+     */
+    public void setRevocationCache(RevocationCache revocationCache) {
+        this.revocationCache = revocationCache;
+    }
+
     /**
      * Adds an URL to the list of CRL URLs
      * @param url	an URL in the form of a String
@@ -166,6 +179,14 @@ public class CrlClientOnline implements ICrlClient {
         List<byte[]> ar = new ArrayList<>();
         for (URL urlt : urllist) {
             try {
+                if (revocationCache != null) {
+                    X509CRL crl = revocationCache.getCrl(urlt.toString());
+                    if (crl != null) {
+                        ar.add(crl.getEncoded());
+                        LOGGER.info("Added cached CRL of: " + urlt);
+                        continue;
+                    }
+                }
                 LOGGER.info("Checking CRL: " + urlt);
                 InputStream inp = SignUtils.getHttpResponse(urlt);
                 byte[] buf = new byte[1024];
@@ -177,7 +198,15 @@ public class CrlClientOnline implements ICrlClient {
                     bout.write(buf, 0, n);
                 }
                 inp.close();
-                ar.add(bout.toByteArray());
+                byte[] encoded = bout.toByteArray();
+                ar.add(encoded);
+                if (revocationCache != null) {
+                    try {
+                        revocationCache.putCrl(urlt.toString(), revocationCache.getCrl(encoded));
+                    } catch (GeneralSecurityException e) {
+                        LOGGER.info("CRL not cached: " + e.getMessage() + " for " + urlt);
+                    }
+                }
                 LOGGER.info("Added CRL found at: " + urlt);
             }
             catch (Exception e) {
@@ -93,6 +93,9 @@ public class LtvVerifier extends RootStoreVerifier {
     /** The document security store for the revision that is being verified */
     protected PdfDictionary dss;
 
+    /** The cache of revocation data, can be null. */
+    protected RevocationCache revocationCache;
+
     private SignatureUtil sgnUtil;
 
     /**
@@ -128,6 +131,16 @@ public class LtvVerifier extends RootStoreVerifier {
         this.option = option;
     }
 
+    /**
+     * Sets a cache of revocation data, which can be shared by the verifiers of many documents.
+     * The CRLs and OCSP responses of the Document Security Stores are then parsed only once,
+     * and the ones fetched online are cached until their next update.
+     * @param revocationCache the revocation cache
+     */
+    public void setRevocationCache(RevocationCache revocationCache) {
+        this.revocationCache = revocationCache;
+    }
+
     /**
      * Set the verifyRootCertificate to false if you can't verify the root certificate.
      */
@@ -261,10 +274,12 @@ public class LtvVerifier extends RootStoreVerifier {
         // We'll verify against a list of CRLs
         CRLVerifier crlVerifier = new CRLVerifier(rootStoreVerifier, getCRLsFromDSS());
         crlVerifier.setRootStore(rootStore);
+        crlVerifier.setRevocationCache(revocationCache);
         crlVerifier.setOnlineCheckingAllowed(latestRevision || onlineCheckingAllowed);
         // We'll verify against a list of OCSPs
         OCSPVerifier ocspVerifier = new OCSPVerifier(crlVerifier, getOCSPResponsesFromDSS());
         ocspVerifier.setRootStore(rootStore);
+        ocspVerifier.setRevocationCache(revocationCache);
         ocspVerifier.setOnlineCheckingAllowed(latestRevision || onlineCheckingAllowed);
         // We verify the chain
         return ocspVerifier.verify(signCert, issuerCert, signDate);
@@ -315,7 +330,10 @@ public class LtvVerifier extends RootStoreVerifier {
             return crls;
         for (int i = 0; i < crlarray.size(); i++) {
             PdfStream stream = crlarray.getAsStream(i);
-            crls.add((X509CRL) SignUtils.parseCrlFromStream(new ByteArrayInputStream(stream.getBytes())));
+            if (revocationCache != null)
+                crls.add(revocationCache.getCrl(stream.getBytes()));
+            else
+                crls.add((X509CRL) SignUtils.parseCrlFromStream(new ByteArrayInputStream(stream.getBytes())));
         }
         return crls;
     }
@@ -335,6 +353,12 @@ public class LtvVerifier extends RootStoreVerifier {
             return ocsps;
         for (int i = 0; i < ocsparray.size(); i++) {
             PdfStream stream = ocsparray.getAsStream(i);
+            if (revocationCache != null) {
+                BasicOCSPResp ocsp = revocationCache.getOcspResponse(stream.getBytes());
+                if (ocsp != null)
+                    ocsps.add(ocsp);
+                continue;
+            }
             OCSPResp ocspResponse = new OCSPResp(stream.getBytes());
             if (ocspResponse.getStatus() == 0)
                 try {
@@ -0,0 +1,312 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Verifies all the signatures of a document, reading and hashing the signed bytes only once.
+ * <br><br>
+ * The byte range of a signature covers the beginning of the file up to its /Contents, and the rest of its revision.
+ * All the later revisions cover this beginning as well, so a single digest runs over the file, and each signature
+ * continues from a copy of it taken at its /Contents. Only the small part of a revision after the /Contents is hashed
+ * separately per signature. Signatures with other byte ranges, or whose data is fed directly to the signature
+ * algorithm, are updated in the same pass.
+ * <br><br>
+ * The hashed signatures are then verified, see {@link PdfPKCS7#verify()}, on several threads.
+ */
+public class MultiSignatureVerifier {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PdfDocument document;
+
+    private final SignatureUtil signatureUtil;
+
+    private String provider;
+
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a verifier for the signatures of a document.
+     *
+     * @param document the document, opened for reading
+     */
+    public MultiSignatureVerifier(PdfDocument document) {
+        this.document = document;
+        this.signatureUtil = new SignatureUtil(document);
+    }
+
+    /**
+     * Sets the security provider.
+     *
+     * @param provider the provider or null for the default provider
+     * @return this verifier
+     */
+    public MultiSignatureVerifier setProvider(String provider) {
+        this.provider = provider;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads the signatures are verified on. By default it is the number of available processors.
+     *
+     * @param threadCount the number of threads
+     * @return this verifier
+     */
+    public MultiSignatureVerifier setThreadCount(int threadCount) {
+        this.threadCount = Math.max(threadCount, 1);
+        return this;
+    }
+
+    /**
+     * Verifies all the signatures of the document. {@link PdfPKCS7#verify()} returns the already computed result
+     * for the returned objects, which can be used for further verification, e.g. of the certificates.
+     *
+     * @return the signatures, in the order of {@link SignatureUtil#getSignatureNames()}
+     * @throws GeneralSecurityException if a signature cannot be verified
+     */
+    public Map<String, PdfPKCS7> verifySignatures() throws GeneralSecurityException {
+        Map<String, PdfPKCS7> signatures = hashSignatures();
+        if (threadCount == 1 || signatures.size() < 2) {
+            for (PdfPKCS7 pkcs7 : signatures.values()) {
+                pkcs7.verify();
+            }
+            return signatures;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, signatures.size()));
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>(signatures.size());
+            for (final PdfPKCS7 pkcs7 : signatures.values()) {
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws GeneralSecurityException {
+                        return pkcs7.verify();
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                future.get();
+            }
+            return signatures;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads all the signatures of the document and hashes their byte ranges in a single pass, without verifying them.
+     *
+     * @return the signatures ready to be verified, in the order of {@link SignatureUtil#getSignatureNames()}
+     */
+    public Map<String, PdfPKCS7> hashSignatures() {
+        Map<String, PdfPKCS7> signatures = new LinkedHashMap<>();
+        List<HashedSignature> hashedSignatures = new ArrayList<>();
+        Map<String, SharedDigest> sharedDigests = new HashMap<>();
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (String name : signatureUtil.getSignatureNames()) {
+            PdfDictionary v = signatureUtil.getSignatureDictionary(name);
+            PdfPKCS7 pkcs7 = signatureUtil.readSignature(v, provider);
+            PdfArray byteRange = v.getAsArray(PdfName.ByteRange);
+            HashedSignature signature = new HashedSignature(pkcs7, SignatureUtil.asLongArray(byteRange));
+            MessageDigest messageDigest = pkcs7.getMessageDigest();
+            long[] range = signature.range;
+            if (messageDigest != null && range.length == 4 && range[0] == 0 && isCloneable(messageDigest)) {
+                SharedDigest sharedDigest = sharedDigests.get(messageDigest.getAlgorithm());
+                if (sharedDigest == null) {
+                    sharedDigest = new SharedDigest(cloneDigest(messageDigest));
+                    sharedDigests.put(messageDigest.getAlgorithm(), sharedDigest);
+                }
+                sharedDigest.end = Math.max(sharedDigest.end, range[1]);
+                signature.sharedDigest = sharedDigest;
+            }
+            for (int k = 0; k < range.length; k += 2) {
+                boundaries.add(range[k]);
+                boundaries.add(range[k] + range[k + 1]);
+            }
+            hashedSignatures.add(signature);
+            signatures.put(name, pkcs7);
+        }
+
+        IRandomAccessSource source = document.getReader().getSafeFile().createSourceView();
+        try {
+            byte[] buf = new byte[BUFFER_SIZE];
+            List<SharedDigest> sharedConsumers = new ArrayList<>();
+            List<PdfPKCS7> consumers = new ArrayList<>();
+            Long start = boundaries.isEmpty() ? null : boundaries.first();
+            while (start != null) {
+                Long end = boundaries.higher(start);
+                sharedConsumers.clear();
+                consumers.clear();
+                for (HashedSignature signature : hashedSignatures) {
+                    if (signature.sharedDigest != null) {
+                        if (signature.range[1] == start) {
+                            // the signature leaves the shared digest at its /Contents
+                            signature.pkcs7.setMessageDigest(cloneDigest(signature.sharedDigest.digest));
+                        }
+                        if (end != null && start >= signature.range[2] && end <= signature.range[2] + signature.range[3]) {
+                            consumers.add(signature.pkcs7);
+                        }
+                    } else if (end != null && signature.covers(start, end)) {
+                        consumers.add(signature.pkcs7);
+                    }
+                }
+                if (end == null) {
+                    break;
+                }
+                for (SharedDigest sharedDigest : sharedDigests.values()) {
+                    if (start < sharedDigest.end) {
+                        sharedConsumers.add(sharedDigest);
+                    }
+                }
+                if (!sharedConsumers.isEmpty() || !consumers.isEmpty()) {
+                    long position = start;
+                    while (position < end) {
+                        int rd = source.get(position, buf, 0, (int) Math.min(buf.length, end - position));
+                        if (rd <= 0) {
+                            break;
+                        }
+                        for (SharedDigest sharedDigest : sharedConsumers) {
+                            sharedDigest.digest.update(buf, 0, rd);
+                        }
+                        for (PdfPKCS7 pkcs7 : consumers) {
+                            pkcs7.update(buf, 0, rd);
+                        }
+                        position += rd;
+                    }
+                }
+                start = end;
+            }
+        } catch (IOException | SignatureException e) {
+            throw new PdfException(e);
+        } finally {
+            try {
+                source.close();
+            } catch (IOException e) {
+                throw new PdfException(e);
+            }
+        }
+        return signatures;
+    }
+
+    private static boolean isCloneable(MessageDigest messageDigest) {
+        try {
+            messageDigest.clone();
+            return true;
+        } catch (CloneNotSupportedException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest messageDigest) {
+        try {
+            return (MessageDigest) messageDigest.clone();
+        } catch (CloneNotSupportedException e) {
+            // cloneability is checked before a digest is shared
+            throw new PdfException(e);
+        }
+    }
+
+    private static class SharedDigest {
+        final MessageDigest digest;
+        // the position up to which the digest is needed, the last /Contents among its signatures
+        long end;
+
+        SharedDigest(MessageDigest digest) {
+            this.digest = digest;
+        }
+    }
+
+    private static class HashedSignature {
+        final PdfPKCS7 pkcs7;
+        final long[] range;
+        SharedDigest sharedDigest;
+
+        HashedSignature(PdfPKCS7 pkcs7, long[] range) {
+            this.pkcs7 = pkcs7;
+            this.range = range;
+        }
+
+        boolean covers(long start, long end) {
+            for (int k = 0; k < range.length; k += 2) {
+                if (start >= range[k] && end <= range[k] + range[k + 1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
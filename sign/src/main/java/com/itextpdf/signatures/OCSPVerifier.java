@@ -76,6 +76,9 @@ public class OCSPVerifier extends RootStoreVerifier {
     /** The list of OCSP responses. */
     protected List<BasicOCSPResp> ocsps;
 
+    /** The cache of revocation data, can be null. */
+    protected RevocationCache revocationCache;
+
     /**
      * Creates an OCSPVerifier instance.
      * @param verifier	the next verifier in the chain
@@ -86,6 +89,14 @@ public class OCSPVerifier extends RootStoreVerifier {
         this.ocsps = ocsps;
     }
 
+    /**
+     * Sets a cache of revocation data. OCSP responses fetched online are then cached until their next update.
+     * @param revocationCache the revocation cache
+     */
+    public void setRevocationCache(RevocationCache revocationCache) {
+        this.revocationCache = revocationCache;
+    }
+
     /**
      * Verifies if a a valid OCSP response is found for the certificate.
      * If this method returns false, it doesn't mean the certificate isn't valid.
@@ -264,6 +275,7 @@ public class OCSPVerifier extends RootStoreVerifier {
             if (crl != null && crl instanceof X509CRL) {
                 CRLVerifier crlVerifier = new CRLVerifier(null, null);
                 crlVerifier.setRootStore(rootStore);
+                crlVerifier.setRevocationCache(revocationCache);
                 crlVerifier.setOnlineCheckingAllowed(onlineCheckingAllowed);
                 crlVerifier.verify((X509CRL)crl, responderCert, issuerCert, DateTimeUtil.getCurrentTimeDate());
                 return;
@@ -318,10 +330,16 @@ public class OCSPVerifier extends RootStoreVerifier {
         if (signCert == null && issuerCert == null) {
             return null;
         }
-        OcspClientBouncyCastle ocsp = new OcspClientBouncyCastle(null);
-        BasicOCSPResp ocspResp = ocsp.getBasicOCSPResp(signCert, issuerCert, null);
+        BasicOCSPResp ocspResp = revocationCache != null ? revocationCache.getOcspResponse(signCert, issuerCert) : null;
         if (ocspResp == null) {
-            return null;
+            OcspClientBouncyCastle ocsp = new OcspClientBouncyCastle(null);
+            ocspResp = ocsp.getBasicOCSPResp(signCert, issuerCert, null);
+            if (ocspResp == null) {
+                return null;
+            }
+            if (revocationCache != null) {
+                revocationCache.putOcspResponse(signCert, issuerCert, ocspResp);
+            }
         }
         SingleResp[] resps = ocspResp.getResponses();
         for (SingleResp resp : resps) {
@@ -656,6 +656,26 @@ public class PdfPKCS7 {
             sig.update(buf, off, len);
     }
 
+    /**
+     * Gets the message digest that {@link #update(byte[], int, int)} feeds, or null if the data
+     * is fed directly to the signature.
+     *
+     * @return the message digest of the signed data
+     */
+    MessageDigest getMessageDigest() {
+        return RSAdata != null || digestAttr != null || isTsp ? messageDigest : null;
+    }
+
+    /**
+     * Replaces the message digest that {@link #update(byte[], int, int)} feeds, e.g. by a digest
+     * that has already been updated with a part of the signed data.
+     *
+     * @param messageDigest a digest of the same algorithm as the one returned by {@link #getMessageDigest()}
+     */
+    void setMessageDigest(MessageDigest messageDigest) {
+        this.messageDigest = messageDigest;
+    }
+
     // adbe.x509.rsa_sha1 (PKCS#1)
 
     /**
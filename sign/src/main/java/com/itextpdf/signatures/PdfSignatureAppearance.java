@@ -841,6 +841,17 @@ public class PdfSignatureAppearance {
         return this;
     }
 
+    /**
+     * Sets an already rendered layer 2, e.g. a template shared by many documents. The description
+     * and the images are then not rendered again by {@link #getAppearance()}.
+     *
+     * @param n2 the layer 2, which must belong to the document of this appearance
+     */
+    PdfSignatureAppearance setLayer2(PdfFormXObject n2) {
+        this.n2 = n2;
+        return this;
+    }
+
     /**
      * Set the field name of the appearance.
      *
@@ -51,6 +51,7 @@ import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.RASInputStream;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.source.WindowRandomAccessSource;
 import com.itextpdf.io.util.DateTimeUtil;
 import com.itextpdf.io.util.FileUtil;
 import com.itextpdf.io.util.StreamUtil;
@@ -61,6 +62,8 @@ import com.itextpdf.kernel.pdf.annot.PdfAnnotation;
 import com.itextpdf.kernel.pdf.annot.PdfWidgetAnnotation;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.PrivateKey;
@@ -161,6 +164,21 @@ public class PdfSigner {
      */
     protected File tempFile;
 
+    /**
+     * Seekable channel the document is written to directly (can be null).
+     */
+    protected SeekableByteChannel outputChannel;
+
+    /**
+     * The position in {@link #outputChannel} at which the document starts.
+     */
+    protected long outputChannelOffset;
+
+    /**
+     * The length of the document written to {@link #outputChannel}, known once the document is closed.
+     */
+    protected long outputChannelLength;
+
     /**
      * Name and content of keys that can only be added in the close() method.
      */
@@ -213,11 +231,7 @@ public class PdfSigner {
      * @throws IOException
      */
     public PdfSigner(PdfReader reader, OutputStream outputStream, String path, boolean append) throws IOException {
-        StampingProperties properties = new StampingProperties()
-                .preserveEncryption();
-        if (append) {
-            properties.useAppendMode();
-        }
+        StampingProperties properties = createStampingProperties(append);
         if (path == null) {
             temporaryOS = new ByteArrayOutputStream();
             document = new PdfDocument(reader, new PdfWriter(temporaryOS), properties);
@@ -227,12 +241,32 @@ public class PdfSigner {
         }
 
         originalOS = outputStream;
-        signDate = DateTimeUtil.getCurrentTimeCalendar();
-        fieldName = getNewSigFieldName();
-        appearance = new PdfSignatureAppearance(document, new Rectangle(0, 0), 1);
-        appearance.setSignDate(signDate);
+        initSignature();
+    }
 
-        closed = false;
+    /**
+     * Creates a PdfSigner instance that writes the signed PDF file directly to a seekable channel, e.g.
+     * a {@link java.nio.channels.FileChannel}. Neither the document nor a temporary copy of it is held
+     * in memory: the signed byte ranges are read back from the channel when they are hashed and the
+     * /ByteRange and /Contents placeholders are patched in place.
+     * <br><br>
+     * The document is written starting from the current position of the channel, which has to be
+     * readable as well as writable. The channel is not truncated: any bytes left after the end of the
+     * document, e.g. from a longer file that was opened without truncation, are neither part of the
+     * document nor covered by the signature. The channel is closed when signing is finished.
+     *
+     * @param reader PdfReader that reads the PDF file
+     * @param outputChannel seekable channel to write the signed PDF file to
+     * @param append boolean to indicate whether the signing should happen in append mode or not
+     * @throws IOException
+     */
+    public PdfSigner(PdfReader reader, SeekableByteChannel outputChannel, boolean append) throws IOException {
+        this.outputChannel = outputChannel;
+        this.outputChannelOffset = outputChannel.position();
+        PdfWriter writer = new PdfWriter(Channels.newOutputStream(outputChannel));
+        writer.setCloseStream(false);
+        document = new PdfDocument(reader, writer, createStampingProperties(append));
+        initSignature();
     }
 
     /**
@@ -829,7 +863,11 @@ public class PdfSigner {
             document.getCatalog().put(PdfName.Perms, docmdp); // TODO: setModified?
         }
 
+        PdfWriter writer = document.getWriter();
         document.close();
+        if (outputChannel != null) {
+            outputChannelLength = writer.getCurrentPos();
+        }
 
         range = new long[exclusionLocations.size() * 2];
         long byteRangePosition = exclusionLocations.get(PdfName.ByteRange).getPosition();
@@ -844,31 +882,27 @@ public class PdfSigner {
         for (int k = 3; k < range.length - 2; k += 2)
             range[k] -= range[k - 1];
 
-        if (tempFile == null) {
+        if (outputChannel != null) {
+            try {
+                range[range.length - 1] = outputChannelLength - range[range.length - 2];
+                writeToChannel(byteRangePosition, getByteRangeBytes());
+            } catch (IOException e) {
+                try { outputChannel.close(); } catch (Exception ee) { }
+                throw e;
+            }
+        } else if (tempFile == null) {
             bout = temporaryOS.toByteArray();
             range[range.length - 1] = bout.length - range[range.length - 2];
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            PdfOutputStream os = new PdfOutputStream(bos);
-            os.write('[');
-            for (int k = 0; k < range.length; ++k) {
-                os.writeLong(range[k]).write(' ');
-            }
-            os.write(']');
-            System.arraycopy(bos.toByteArray(), 0, bout, (int) byteRangePosition, bos.size());
+            byte[] byteRange = getByteRangeBytes();
+            System.arraycopy(byteRange, 0, bout, (int) byteRangePosition, byteRange.length);
         } else {
             try {
                 raf = FileUtil.getRandomAccessFile(tempFile);
                 long len = raf.length();
                 range[range.length - 1] = len - range[range.length - 2];
-                ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                PdfOutputStream os = new PdfOutputStream(bos);
-                os.write('[');
-                for (int k = 0; k < range.length; ++k) {
-                    os.writeLong(range[k]).write(' ');
-                }
-                os.write(']');
+                byte[] byteRange = getByteRangeBytes();
                 raf.seek(byteRangePosition);
-                raf.write(bos.toByteArray(), 0, (int) bos.size());
+                raf.write(byteRange, 0, byteRange.length);
             }
             catch (IOException e) {
                 try { raf.close(); } catch (Exception ee) { }
@@ -916,7 +950,9 @@ public class PdfSigner {
                 os.write(obj);
                 if (bous.size() > lit.getBytesCount())
                     throw new IllegalArgumentException("The key is too big");
-                if (tempFile == null) {
+                if (outputChannel != null) {
+                    writeToChannel(lit.getPosition(), bous.toByteArray());
+                } else if (tempFile == null) {
                     System.arraycopy(bous.toByteArray(), 0, bout, (int) lit.getPosition(), bous.size());
                 } else {
                     raf.seek(lit.getPosition());
@@ -925,7 +961,9 @@ public class PdfSigner {
             }
             if (update.size() != exclusionLocations.size())
                 throw new IllegalArgumentException("The update dictionary has less keys than required");
-            if (tempFile == null) {
+            if (outputChannel != null) {
+                // the signed document is already in place
+            } else if (tempFile == null) {
                 originalOS.write(bout, 0, bout.length);
             } else {
                 if (originalOS != null) {
@@ -943,6 +981,13 @@ public class PdfSigner {
             }
         }
         finally {
+            if (outputChannel != null) {
+                try {
+                    outputChannel.close();
+                } catch (Exception ignored) {
+                }
+            }
+
             if (tempFile != null) {
                 raf.close();
 
@@ -968,9 +1013,62 @@ public class PdfSigner {
      */
     protected IRandomAccessSource getUnderlyingSource() throws IOException {
         RandomAccessSourceFactory fac = new RandomAccessSourceFactory();
+        if (outputChannel != null) {
+            return new WindowRandomAccessSource(fac.createSource(outputChannel), outputChannelOffset, outputChannelLength);
+        }
         return raf == null ? fac.createSource(bout) : fac.createSource(raf);
     }
 
+    /**
+     * Gets the serialized /ByteRange array, once the {@link #range} is known.
+     *
+     * @return the bytes of the /ByteRange array
+     * @throws IOException on error
+     */
+    private byte[] getByteRangeBytes() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        PdfOutputStream os = new PdfOutputStream(bos);
+        os.write('[');
+        for (int k = 0; k < range.length; ++k) {
+            os.writeLong(range[k]).write(' ');
+        }
+        os.write(']');
+        return bos.toByteArray();
+    }
+
+    /**
+     * Overwrites the bytes of the document in {@link #outputChannel} at the given position.
+     *
+     * @param position position in the document
+     * @param bytes the bytes to be written
+     * @throws IOException on error
+     */
+    private void writeToChannel(long position, byte[] bytes) throws IOException {
+        outputChannel.position(outputChannelOffset + position);
+        java.nio.ByteBuffer buffer = java.nio.ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            outputChannel.write(buffer);
+        }
+    }
+
+    private static StampingProperties createStampingProperties(boolean append) {
+        StampingProperties properties = new StampingProperties()
+                .preserveEncryption();
+        if (append) {
+            properties.useAppendMode();
+        }
+        return properties;
+    }
+
+    private void initSignature() {
+        signDate = DateTimeUtil.getCurrentTimeCalendar();
+        fieldName = getNewSigFieldName();
+        appearance = new PdfSignatureAppearance(document, new Rectangle(0, 0), 1);
+        appearance.setSignDate(signDate);
+
+        closed = false;
+    }
+
     /**
      * Adds keys to the signature dictionary that define the certification level and the permissions.
      * This method is only used for Certifying signatures.
@@ -0,0 +1,560 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.signatures;
+
+import com.itextpdf.io.util.DateTimeUtil;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPException;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.security.auth.x500.X500Principal;
+
+/**
+ * A size-bounded cache of revocation data, meant to be shared by the verifiers of many documents, see
+ * {@link LtvVerifier#setRevocationCache(RevocationCache)}.
+ * <ul>
+ *     <li>CRLs and OCSP responses, e.g. the ones of a Document Security Store, are parsed only once per encoding.</li>
+ *     <li>The revoked serial numbers of a CRL are indexed in a hash set, and the verification of the signature of
+ *     a CRL by a key is remembered.</li>
+ *     <li>CRLs fetched online are cached by URL, and OCSP responses fetched online by the issuer and the serial
+ *     number of the certificate, until their next update.</li>
+ *     <li>The CRL and OCSP data that is embedded into signatures is fetched once per certificate chain and reused
+ *     until its time to live expires, see {@link #getRevocationData} and {@link BatchSigner#setRevocationCache}.</li>
+ * </ul>
+ * When the cache is full, the least recently used entries are dropped. The cache is thread safe.
+ */
+public class RevocationCache {
+
+    /** The default maximum number of entries of each kind. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+    /** The default time to live of the revocation data of a chain, one hour, in milliseconds. */
+    public static final long DEFAULT_REVOCATION_DATA_TIME_TO_LIVE = 60 * 60 * 1000;
+
+    private final Map<ByteBuffer, CachedCrl> crlsByEncoding;
+
+    private final Map<IdentityKey, CachedCrl> crlsByObject;
+
+    private final Map<String, CachedCrl> crlsByUrl;
+
+    private final Map<ByteBuffer, BasicOCSPResp> ocspsByEncoding;
+
+    private final Map<CertificateKey, CachedOcsp> ocspsByCertificate;
+
+    private final Map<List<Certificate>, CachedRevocationData> revocationDataByChain;
+
+    private volatile long revocationDataTimeToLive = DEFAULT_REVOCATION_DATA_TIME_TO_LIVE;
+
+    /**
+     * Creates a cache with the {@link #DEFAULT_MAXIMUM_SIZE default maximum size}.
+     */
+    public RevocationCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of CRLs, as well as of OCSP responses, that are kept
+     */
+    public RevocationCache(int maximumSize) {
+        crlsByEncoding = new BoundedMap<>(maximumSize);
+        crlsByObject = new BoundedMap<>(maximumSize);
+        crlsByUrl = new BoundedMap<>(maximumSize);
+        ocspsByEncoding = new BoundedMap<>(maximumSize);
+        ocspsByCertificate = new BoundedMap<>(maximumSize);
+        revocationDataByChain = new BoundedMap<>(maximumSize);
+    }
+
+    /**
+     * Sets the time to live of the revocation data of a chain, see {@link #getRevocationData}. It applies to
+     * the data that is already cached as well. By default it is {@link #DEFAULT_REVOCATION_DATA_TIME_TO_LIVE}.
+     *
+     * @param timeToLive the time to live, in milliseconds
+     * @return this cache
+     */
+    public RevocationCache setRevocationDataTimeToLive(long timeToLive) {
+        this.revocationDataTimeToLive = timeToLive;
+        return this;
+    }
+
+    /**
+     * Gets the CRL and OCSP data of a chain that is embedded into signatures, fetching it if it is not cached
+     * yet or if its time to live has expired. Concurrent requests for the same chain fetch the data only once.
+     * The data is looked up the same way as in {@link PdfSigner#signDetached}: the CRLs of the first certificate
+     * that has any, and the OCSP response for the signing certificate.
+     *
+     * @param chain the certificate chain
+     * @param crlClients the CRL clients, can be null
+     * @param ocspClient the OCSP client, can be null
+     * @return the revocation data of the chain
+     */
+    public RevocationData getRevocationData(Certificate[] chain, Collection<ICrlClient> crlClients, IOcspClient ocspClient) {
+        List<Certificate> key = Arrays.asList(chain);
+        CachedRevocationData cachedData;
+        synchronized (this) {
+            cachedData = revocationDataByChain.get(key);
+            if (cachedData == null) {
+                cachedData = new CachedRevocationData();
+                revocationDataByChain.put(key, cachedData);
+            }
+        }
+        synchronized (cachedData) {
+            long now = System.currentTimeMillis();
+            if (cachedData.data == null || now >= cachedData.fetchTime + revocationDataTimeToLive) {
+                cachedData.data = fetchRevocationData(chain, crlClients, ocspClient);
+                cachedData.fetchTime = now;
+            }
+            return cachedData.data;
+        }
+    }
+
+    /**
+     * Removes the revocation data of a chain, so that it is fetched again on the next request.
+     *
+     * @param chain the certificate chain
+     */
+    public synchronized void invalidateRevocationData(Certificate[] chain) {
+        revocationDataByChain.remove(Arrays.asList(chain));
+    }
+
+    /**
+     * Gets the CRL of an encoding, parsing it only if it is not cached.
+     *
+     * @param encoded the encoded CRL
+     * @return the CRL
+     * @throws GeneralSecurityException if the CRL cannot be parsed
+     */
+    public X509CRL getCrl(byte[] encoded) throws GeneralSecurityException {
+        ByteBuffer key = getEncodingKey(encoded);
+        synchronized (this) {
+            CachedCrl cachedCrl = crlsByEncoding.get(key);
+            if (cachedCrl != null) {
+                return cachedCrl.crl;
+            }
+        }
+        X509CRL crl = (X509CRL) SignUtils.parseCrlFromStream(new ByteArrayInputStream(encoded));
+        CachedCrl cachedCrl = new CachedCrl(crl);
+        synchronized (this) {
+            crlsByEncoding.put(key, cachedCrl);
+            crlsByObject.put(new IdentityKey(crl), cachedCrl);
+        }
+        return crl;
+    }
+
+    /**
+     * Gets a CRL that was fetched online from a URL, if it is cached and has not reached its next update.
+     *
+     * @param url the URL of the CRL
+     * @return the CRL, or null if there is no valid CRL in the cache
+     */
+    public synchronized X509CRL getCrl(String url) {
+        CachedCrl cachedCrl = crlsByUrl.get(url);
+        if (cachedCrl == null) {
+            return null;
+        }
+        if (cachedCrl.crl.getNextUpdate() == null || !DateTimeUtil.getCurrentTimeDate().before(cachedCrl.crl.getNextUpdate())) {
+            crlsByUrl.remove(url);
+            return null;
+        }
+        return cachedCrl.crl;
+    }
+
+    /**
+     * Caches a CRL that was fetched online from a URL. It is kept until its next update.
+     *
+     * @param url the URL of the CRL
+     * @param crl the CRL
+     */
+    public synchronized void putCrl(String url, X509CRL crl) {
+        crlsByUrl.put(url, getCachedCrl(crl));
+    }
+
+    /**
+     * Checks if a certificate is on a CRL. The serial numbers of the CRL are indexed on the first call.
+     *
+     * @param crl the CRL
+     * @param cert the certificate
+     * @return true if the certificate is revoked
+     */
+    public boolean isRevoked(X509CRL crl, X509Certificate cert) {
+        CachedCrl cachedCrl;
+        synchronized (this) {
+            cachedCrl = getCachedCrl(crl);
+        }
+        Set<BigInteger> revokedSerialNumbers = cachedCrl.getRevokedSerialNumbers();
+        if (revokedSerialNumbers == null || !crl.getIssuerX500Principal().equals(cert.getIssuerX500Principal())) {
+            // indirect CRLs list the issuers of their entries, leave them to the CRL itself
+            return crl.isRevoked(cert);
+        }
+        return revokedSerialNumbers.contains(cert.getSerialNumber());
+    }
+
+    /**
+     * Verifies the signature of a CRL. A successful verification by a key is remembered.
+     *
+     * @param crl the CRL
+     * @param key the public key of the presumed issuer
+     * @throws GeneralSecurityException if the CRL was not signed by the key
+     */
+    public void verifyCrlSignature(X509CRL crl, PublicKey key) throws GeneralSecurityException {
+        CachedCrl cachedCrl;
+        synchronized (this) {
+            cachedCrl = getCachedCrl(crl);
+            if (cachedCrl.verifiedKeys.contains(key)) {
+                return;
+            }
+        }
+        crl.verify(key);
+        synchronized (this) {
+            cachedCrl.verifiedKeys.add(key);
+        }
+    }
+
+    /**
+     * Gets the basic OCSP response of an encoded OCSP response, parsing it only if it is not cached.
+     *
+     * @param encoded the encoded OCSP response
+     * @return the basic OCSP response, or null if the response was not successful
+     * @throws IOException if the response cannot be parsed
+     * @throws GeneralSecurityException if the response cannot be parsed
+     */
+    public BasicOCSPResp getOcspResponse(byte[] encoded) throws IOException, GeneralSecurityException {
+        ByteBuffer key = getEncodingKey(encoded);
+        synchronized (this) {
+            BasicOCSPResp basicResponse = ocspsByEncoding.get(key);
+            if (basicResponse != null) {
+                return basicResponse;
+            }
+        }
+        OCSPResp ocspResponse = new OCSPResp(encoded);
+        if (ocspResponse.getStatus() != 0) {
+            return null;
+        }
+        BasicOCSPResp basicResponse;
+        try {
+            basicResponse = (BasicOCSPResp) ocspResponse.getResponseObject();
+        } catch (OCSPException e) {
+            throw new GeneralSecurityException(e.toString());
+        }
+        synchronized (this) {
+            ocspsByEncoding.put(key, basicResponse);
+        }
+        return basicResponse;
+    }
+
+    /**
+     * Gets an OCSP response that was fetched online for a certificate, if it is cached and has not reached
+     * its next update.
+     *
+     * @param cert the certificate
+     * @param issuerCert its issuer
+     * @return the OCSP response, or null if there is no valid response in the cache
+     */
+    public synchronized BasicOCSPResp getOcspResponse(X509Certificate cert, X509Certificate issuerCert) {
+        CertificateKey key = new CertificateKey(cert);
+        CachedOcsp cachedOcsp = ocspsByCertificate.get(key);
+        if (cachedOcsp == null) {
+            return null;
+        }
+        if (!DateTimeUtil.getCurrentTimeDate().before(cachedOcsp.nextUpdate)) {
+            ocspsByCertificate.remove(key);
+            return null;
+        }
+        return cachedOcsp.response;
+    }
+
+    /**
+     * Caches an OCSP response that was fetched online for a certificate. It is kept until the next update of
+     * the response for the certificate, or for 180 seconds if it has none.
+     *
+     * @param cert the certificate
+     * @param issuerCert its issuer
+     * @param response the OCSP response
+     */
+    public synchronized void putOcspResponse(X509Certificate cert, X509Certificate issuerCert, BasicOCSPResp response) {
+        for (SingleResp singleResp : response.getResponses()) {
+            if (cert.getSerialNumber().equals(singleResp.getCertID().getSerialNumber())) {
+                Date nextUpdate = singleResp.getNextUpdate();
+                if (nextUpdate == null) {
+                    nextUpdate = SignUtils.add180Sec(singleResp.getThisUpdate());
+                }
+                ocspsByCertificate.put(new CertificateKey(cert), new CachedOcsp(response, nextUpdate));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries of the cache.
+     */
+    public synchronized void clear() {
+        crlsByEncoding.clear();
+        crlsByObject.clear();
+        crlsByUrl.clear();
+        ocspsByEncoding.clear();
+        ocspsByCertificate.clear();
+        revocationDataByChain.clear();
+    }
+
+    private CachedCrl getCachedCrl(X509CRL crl) {
+        IdentityKey key = new IdentityKey(crl);
+        CachedCrl cachedCrl = crlsByObject.get(key);
+        if (cachedCrl == null) {
+            cachedCrl = new CachedCrl(crl);
+            crlsByObject.put(key, cachedCrl);
+        }
+        return cachedCrl;
+    }
+
+    private static RevocationData fetchRevocationData(Certificate[] chain, Collection<ICrlClient> crlClients, IOcspClient ocspClient) {
+        Collection<byte[]> crlBytes = null;
+        for (int i = 0; crlBytes == null && i < chain.length; i++) {
+            crlBytes = fetchCrls((X509Certificate) chain[i], crlClients);
+        }
+        byte[] ocspBytes = null;
+        if (chain.length >= 2 && ocspClient != null) {
+            ocspBytes = ocspClient.getEncoded((X509Certificate) chain[0], (X509Certificate) chain[1], null);
+        }
+        return new RevocationData(crlBytes, ocspBytes);
+    }
+
+    private static Collection<byte[]> fetchCrls(X509Certificate cert, Collection<ICrlClient> crlClients) {
+        if (crlClients == null)
+            return null;
+        List<byte[]> crlBytes = new ArrayList<>();
+        for (ICrlClient cc : crlClients) {
+            if (cc == null)
+                continue;
+            Collection<byte[]> b = cc.getEncoded(cert, null);
+            if (b == null)
+                continue;
+            crlBytes.addAll(b);
+        }
+        return crlBytes.size() == 0 ? null : crlBytes;
+    }
+
+    private static ByteBuffer getEncodingKey(byte[] encoded) throws GeneralSecurityException {
+        return ByteBuffer.wrap(DigestAlgorithms.getMessageDigest(DigestAlgorithms.SHA256, null).digest(encoded));
+    }
+
+    private static class CachedCrl {
+        final X509CRL crl;
+        final Set<PublicKey> verifiedKeys = new HashSet<>();
+        private Set<BigInteger> revokedSerialNumbers;
+        private boolean indexed;
+
+        CachedCrl(X509CRL crl) {
+            this.crl = crl;
+        }
+
+        // null for indirect CRLs
+        synchronized Set<BigInteger> getRevokedSerialNumbers() {
+            if (!indexed) {
+                Set<? extends X509CRLEntry> entries = crl.getRevokedCertificates();
+                Set<BigInteger> serialNumbers = new HashSet<>();
+                if (entries != null) {
+                    for (X509CRLEntry entry : entries) {
+                        if (entry.getCertificateIssuer() != null) {
+                            serialNumbers = null;
+                            break;
+                        }
+                        serialNumbers.add(entry.getSerialNumber());
+                    }
+                }
+                revokedSerialNumbers = serialNumbers;
+                indexed = true;
+            }
+            return revokedSerialNumbers;
+        }
+    }
+
+    private static class CachedOcsp {
+        final BasicOCSPResp response;
+        final Date nextUpdate;
+
+        CachedOcsp(BasicOCSPResp response, Date nextUpdate) {
+            this.response = response;
+            this.nextUpdate = nextUpdate;
+        }
+    }
+
+    private static class CachedRevocationData {
+        RevocationData data;
+        long fetchTime;
+    }
+
+    /**
+     * The revocation data of a certificate chain. It serves the cached data as a CRL and an OCSP client,
+     * so it can be passed as such to {@link PdfSigner#signDetached}.
+     */
+    public static class RevocationData implements ICrlClient, IOcspClient {
+
+        private final Collection<byte[]> crls;
+
+        private final byte[] ocspResponse;
+
+        RevocationData(Collection<byte[]> crls, byte[] ocspResponse) {
+            this.crls = crls;
+            this.ocspResponse = ocspResponse;
+        }
+
+        /**
+         * Gets the encoded CRLs of the chain, or null if there are none.
+         *
+         * @return the encoded CRLs
+         */
+        public Collection<byte[]> getCrls() {
+            return crls;
+        }
+
+        /**
+         * Gets the encoded OCSP response for the signing certificate, or null if there is none.
+         *
+         * @return the encoded OCSP response
+         */
+        public byte[] getOcspResponse() {
+            return ocspResponse;
+        }
+
+        /**
+         * {@inheritDoc}
+         * The cached CRLs are returned for any certificate.
+         */
+        @Override
+        public Collection<byte[]> getEncoded(X509Certificate checkCert, String url) {
+            return crls;
+        }
+
+        /**
+         * {@inheritDoc}
+         * The cached OCSP response is returned for any certificate.
+         */
+        @Override
+        public byte[] getEncoded(X509Certificate checkCert, X509Certificate issuerCert, String url) {
+            return ocspResponse;
+        }
+    }
+
+    private static class CertificateKey {
+        private final X500Principal issuer;
+        private final BigInteger serialNumber;
+
+        CertificateKey(X509Certificate cert) {
+            this.issuer = cert.getIssuerX500Principal();
+            this.serialNumber = cert.getSerialNumber();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CertificateKey)) {
+                return false;
+            }
+            CertificateKey other = (CertificateKey) o;
+            return issuer.equals(other.issuer) && serialNumber.equals(other.serialNumber);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * issuer.hashCode() + serialNumber.hashCode();
+        }
+    }
+
+    /**
+     * Compares CRLs by identity, as their equality is defined on their, possibly large, encodings.
+     */
+    private static class IdentityKey {
+        private final Object object;
+
+        IdentityKey(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+
+    private static class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 5348230186385429071L;
+
+        private final int maximumSize;
+
+        BoundedMap(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
@@ -115,6 +115,20 @@ public class SignatureUtil {
         PdfDictionary v = getSignatureDictionary(name);
         if (v == null)
             return null;
+        PdfPKCS7 pk = readSignature(v, provider);
+        updateByteRange(pk, v);
+        return pk;
+    }
+
+    /**
+     * Reads a signature without hashing its byte range, the caller shall feed the signed bytes
+     * to {@link PdfPKCS7#update(byte[], int, int)} before verifying it.
+     *
+     * @param v the signature dictionary
+     * @param provider the provider or null for the default provider
+     * @return PdfPKCS7 object that still has to be updated with the signed bytes
+     */
+    PdfPKCS7 readSignature(PdfDictionary v, String provider) {
         try {
             PdfName sub = v.getAsName(PdfName.SubFilter);
             PdfString contents = v.getAsString(PdfName.Contents);
@@ -127,7 +141,6 @@ public class SignatureUtil {
             }
             else
                 pk = new PdfPKCS7(PdfEncodings.convertToBytes(contents.getValue(), null), sub, provider);
-            updateByteRange(pk, v);
             PdfString str = v.getAsString(PdfName.M);
             if (str != null)
                 pk.setSignDate(PdfDate.decode(str.toString()));
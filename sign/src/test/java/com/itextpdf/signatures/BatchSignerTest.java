@@ -0,0 +1,162 @@
+package com.itextpdf.signatures;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class BatchSignerTest {
+
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/signatures/";
+    public static final String destinationFolder = "./target/test/com/itextpdf/signatures/BatchSignerTest/";
+    public static final String keystorePath = "./src/test/resources/com/itextpdf/signatures/ks";
+    public static final char[] password = "password".toCharArray();
+
+    private BouncyCastleProvider provider;
+    private Certificate[] chain;
+    private PrivateKey pk;
+    private byte[] crl;
+
+    @Before
+    public void init() throws GeneralSecurityException, IOException, OperatorCreationException {
+        provider = new BouncyCastleProvider();
+        Security.addProvider(provider);
+        KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
+        ks.load(new FileInputStream(keystorePath), password);
+        String alias = ks.aliases().nextElement();
+        pk = (PrivateKey) ks.getKey(alias, password);
+        chain = ks.getCertificateChain(alias);
+
+        X500Name issuer = new X500Name(((X509Certificate) chain[0]).getIssuerX500Principal().getName());
+        X509v2CRLBuilder crlBuilder = new X509v2CRLBuilder(issuer, new Date());
+        crl = crlBuilder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(provider).build(pk)).getEncoded();
+
+        new File(destinationFolder).mkdirs();
+    }
+
+    @Test
+    public void signBatchTest() throws GeneralSecurityException, IOException {
+        CountingCrlClient crlClient = new CountingCrlClient(crl);
+        List<IExternalSignature> signers = new ArrayList<>();
+        signers.add(new PrivateKeySignature(pk, DigestAlgorithms.SHA256, provider.getName()));
+        signers.add(new PrivateKeySignature(pk, DigestAlgorithms.SHA256, provider.getName()));
+
+        BatchSigner batchSigner = new BatchSigner(chain, signers, new BouncyCastleDigest(), PdfSigner.CryptoStandard.CADES)
+                .setCrlClients(Collections.<ICrlClient>singletonList(crlClient))
+                .setThreadCount(3)
+                .setAppearanceSetup(new BatchSigner.IAppearanceSetup() {
+                    @Override
+                    public void setUp(PdfSignatureAppearance appearance) {
+                        appearance.setReason("Test 1")
+                                .setLocation("TestCity")
+                                .setPageRect(new Rectangle(36, 648, 200, 100));
+                    }
+                });
+
+        Map<String, String> documents = createBatch("batch1_", 5);
+        Map<String, Exception> failures = batchSigner.signAll(documents);
+        Assert.assertTrue(failures.toString(), failures.isEmpty());
+        failures = batchSigner.signAll(createBatch("batch2_", 3));
+        Assert.assertTrue(failures.toString(), failures.isEmpty());
+
+        Assert.assertEquals(1, crlClient.getCount());
+        for (String dest : documents.values()) {
+            PdfDocument pdfDocument = new PdfDocument(new PdfReader(dest));
+            SignatureUtil signatureUtil = new SignatureUtil(pdfDocument);
+            List<String> names = signatureUtil.getSignatureNames();
+            Assert.assertEquals(1, names.size());
+            PdfPKCS7 pkcs7 = signatureUtil.verifySignature(names.get(0), provider.getName());
+            Assert.assertTrue(pkcs7.verify());
+            Assert.assertEquals("Test 1", pkcs7.getReason());
+            Assert.assertEquals(1, pkcs7.getCRLs().size());
+            pdfDocument.close();
+        }
+    }
+
+    @Test
+    public void revocationDataExpiryTest() throws GeneralSecurityException, IOException {
+        CountingCrlClient crlClient = new CountingCrlClient(crl);
+        BatchSigner batchSigner = new BatchSigner(chain, new PrivateKeySignature(pk, DigestAlgorithms.SHA256, provider.getName()),
+                new BouncyCastleDigest(), PdfSigner.CryptoStandard.CMS)
+                .setCrlClients(Collections.<ICrlClient>singletonList(crlClient))
+                .setRevocationCache(new RevocationCache().setRevocationDataTimeToLive(0));
+
+        Assert.assertTrue(batchSigner.signAll(createBatch("expiry1_", 2)).isEmpty());
+        Assert.assertTrue(batchSigner.signAll(createBatch("expiry2_", 2)).isEmpty());
+        Assert.assertEquals(2, crlClient.getCount());
+    }
+
+    @Test
+    public void failedDocumentTest() throws IOException {
+        BatchSigner batchSigner = new BatchSigner(chain, new PrivateKeySignature(pk, DigestAlgorithms.SHA256, provider.getName()),
+                new BouncyCastleDigest(), PdfSigner.CryptoStandard.CMS);
+
+        Map<String, String> documents = createBatch("failed_", 2);
+        documents.put(sourceFolder + "notExisting.pdf", destinationFolder + "failed_notExisting.pdf");
+        Map<String, Exception> failures = batchSigner.signAll(documents);
+        Assert.assertEquals(1, failures.size());
+        Assert.assertTrue(failures.containsKey(sourceFolder + "notExisting.pdf"));
+    }
+
+    private static Map<String, String> createBatch(String prefix, int size) throws IOException {
+        Map<String, String> documents = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String src = destinationFolder + prefix + "src" + i + ".pdf";
+            Files.copy(Paths.get(sourceFolder + "simpleDocument.pdf"), Paths.get(src), StandardCopyOption.REPLACE_EXISTING);
+            documents.put(src, destinationFolder + prefix + i + ".pdf");
+        }
+        return documents;
+    }
+
+    private static class CountingCrlClient implements ICrlClient {
+
+        private final byte[] crl;
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingCrlClient(byte[] crl) {
+            this.crl = crl;
+        }
+
+        @Override
+        public Collection<byte[]> getEncoded(X509Certificate checkCert, String url) {
+            count.incrementAndGet();
+            return Collections.singletonList(crl);
+        }
+
+        int getCount() {
+            return count.get();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.itextpdf.signatures;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class MultiSignatureVerifierTest {
+
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/signatures/";
+    public static final String destinationFolder = "./target/test/com/itextpdf/signatures/MultiSignatureVerifierTest/";
+    public static final String keystorePath = "./src/test/resources/com/itextpdf/signatures/ks";
+    public static final char[] password = "password".toCharArray();
+
+    private BouncyCastleProvider provider;
+    private Certificate[] chain;
+    private PrivateKey pk;
+
+    @Before
+    public void init() throws GeneralSecurityException, IOException {
+        provider = new BouncyCastleProvider();
+        Security.addProvider(provider);
+        KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
+        ks.load(new FileInputStream(keystorePath), password);
+        String alias = ks.aliases().nextElement();
+        pk = (PrivateKey) ks.getKey(alias, password);
+        chain = ks.getCertificateChain(alias);
+
+        new File(destinationFolder).mkdirs();
+    }
+
+    @Test
+    public void verifySeveralSignaturesTest() throws GeneralSecurityException, IOException {
+        String dest = destinationFolder + "threeSignatures.pdf";
+        createMultiSignedDocument(dest, 3);
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(dest));
+        Map<String, PdfPKCS7> signatures = new MultiSignatureVerifier(pdfDocument)
+                .setProvider(provider.getName())
+                .setThreadCount(2)
+                .verifySignatures();
+        SignatureUtil signatureUtil = new SignatureUtil(pdfDocument);
+        Assert.assertEquals(signatureUtil.getSignatureNames(), new ArrayList<>(signatures.keySet()));
+        for (Map.Entry<String, PdfPKCS7> signature : signatures.entrySet()) {
+            Assert.assertTrue(signature.getKey(), signature.getValue().verify());
+            Assert.assertTrue(signatureUtil.verifySignature(signature.getKey(), provider.getName()).verify());
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void modifiedFirstRevisionTest() throws GeneralSecurityException, IOException {
+        String dest = destinationFolder + "modifiedFirstRevision.pdf";
+        createMultiSignedDocument(dest, 3);
+
+        // a byte of the first revision is covered by every signature
+        byte[] bytes = Files.readAllBytes(Paths.get(dest));
+        bytes[10] = (byte) (bytes[10] == '0' ? '1' : '0');
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes)));
+        Map<String, PdfPKCS7> signatures = new MultiSignatureVerifier(pdfDocument)
+                .setProvider(provider.getName())
+                .verifySignatures();
+        Assert.assertEquals(3, signatures.size());
+        for (PdfPKCS7 pkcs7 : signatures.values()) {
+            Assert.assertFalse(pkcs7.verify());
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void modifiedLastRevisionTest() throws GeneralSecurityException, IOException {
+        String dest = destinationFolder + "modifiedLastRevision.pdf";
+        createMultiSignedDocument(dest, 3);
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(dest));
+        List<String> names = new SignatureUtil(pdfDocument).getSignatureNames();
+        pdfDocument.close();
+
+        // the last byte of the file is only covered by the last signature
+        byte[] bytes = Files.readAllBytes(Paths.get(dest));
+        bytes[bytes.length - 2] = (byte) (bytes[bytes.length - 2] == ' ' ? '\t' : ' ');
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes)));
+        Map<String, PdfPKCS7> signatures = new MultiSignatureVerifier(pdfDocument)
+                .setProvider(provider.getName())
+                .verifySignatures();
+        Assert.assertTrue(signatures.get(names.get(0)).verify());
+        Assert.assertTrue(signatures.get(names.get(1)).verify());
+        Assert.assertFalse(signatures.get(names.get(2)).verify());
+        pdfDocument.close();
+    }
+
+    private void createMultiSignedDocument(String dest, int signatureCount) throws GeneralSecurityException, IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(sourceFolder + "simpleDocument.pdf"));
+        for (int i = 0; i < signatureCount; i++) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PdfSigner signer = new PdfSigner(new PdfReader(new ByteArrayInputStream(bytes)), baos, true);
+            signer.setFieldName("Signature" + (i + 1));
+            PdfSigner.CryptoStandard sigtype = i % 2 == 0 ? PdfSigner.CryptoStandard.CADES : PdfSigner.CryptoStandard.CMS;
+            IExternalSignature pks = new PrivateKeySignature(pk, i == 1 ? DigestAlgorithms.SHA512 : DigestAlgorithms.SHA256, provider.getName());
+            signer.signDetached(new BouncyCastleDigest(), pks, chain, null, null, null, 0, sigtype);
+            bytes = baos.toByteArray();
+        }
+        FileOutputStream fos = new FileOutputStream(dest);
+        fos.write(bytes);
+        fos.close();
+    }
+}
@@ -0,0 +1,159 @@
+package com.itextpdf.signatures;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class RevocationCacheTest {
+
+    public static final String keystorePath = "./src/test/resources/com/itextpdf/signatures/ks";
+    public static final char[] password = "password".toCharArray();
+
+    private BouncyCastleProvider provider;
+    private X509Certificate cert;
+    private PrivateKey pk;
+
+    @Before
+    public void init() throws GeneralSecurityException, IOException {
+        provider = new BouncyCastleProvider();
+        Security.addProvider(provider);
+        KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
+        ks.load(new FileInputStream(keystorePath), password);
+        String alias = ks.aliases().nextElement();
+        pk = (PrivateKey) ks.getKey(alias, password);
+        cert = (X509Certificate) ks.getCertificateChain(alias)[0];
+    }
+
+    @Test
+    public void parseCrlOnceTest() throws GeneralSecurityException, OperatorCreationException, IOException {
+        byte[] encoded = createCrl(new Date(System.currentTimeMillis() + 3600000), BigInteger.TEN);
+        RevocationCache cache = new RevocationCache();
+        X509CRL crl = cache.getCrl(encoded);
+        Assert.assertSame(crl, cache.getCrl(encoded.clone()));
+        Assert.assertNotSame(crl, cache.getCrl(createCrl(new Date(System.currentTimeMillis() + 3600000), BigInteger.ONE)));
+    }
+
+    @Test
+    public void maximumSizeTest() throws GeneralSecurityException, OperatorCreationException, IOException {
+        RevocationCache cache = new RevocationCache(1);
+        X509CRL crl = cache.getCrl(createCrl(new Date(System.currentTimeMillis() + 3600000), BigInteger.TEN));
+        cache.putCrl("http://localhost/1.crl", crl);
+        cache.putCrl("http://localhost/2.crl", crl);
+        Assert.assertNull(cache.getCrl("http://localhost/1.crl"));
+        Assert.assertSame(crl, cache.getCrl("http://localhost/2.crl"));
+    }
+
+    @Test
+    public void isRevokedTest() throws GeneralSecurityException, OperatorCreationException, IOException {
+        RevocationCache cache = new RevocationCache();
+        X509CRL revokingCrl = cache.getCrl(createCrl(new Date(System.currentTimeMillis() + 3600000), cert.getSerialNumber()));
+        X509CRL otherCrl = cache.getCrl(createCrl(new Date(System.currentTimeMillis() + 3600000), BigInteger.TEN));
+        Assert.assertTrue(cache.isRevoked(revokingCrl, cert));
+        Assert.assertFalse(cache.isRevoked(otherCrl, cert));
+        Assert.assertEquals(revokingCrl.isRevoked(cert), cache.isRevoked(revokingCrl, cert));
+    }
+
+    @Test
+    public void verifyCrlSignatureTest() throws GeneralSecurityException, OperatorCreationException, IOException {
+        RevocationCache cache = new RevocationCache();
+        X509CRL crl = cache.getCrl(createCrl(new Date(System.currentTimeMillis() + 3600000), BigInteger.TEN));
+        cache.verifyCrlSignature(crl, cert.getPublicKey());
+        cache.verifyCrlSignature(crl, cert.getPublicKey());
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(1024);
+        try {
+            cache.verifyCrlSignature(crl, keyPairGenerator.generateKeyPair().getPublic());
+            Assert.fail("The CRL was not signed by this key");
+        } catch (GeneralSecurityException expected) {
+        }
+    }
+
+    @Test
+    public void onlineCrlExpiryTest() throws GeneralSecurityException, OperatorCreationException, IOException {
+        RevocationCache cache = new RevocationCache();
+        X509CRL validCrl = cache.getCrl(createCrl(new Date(System.currentTimeMillis() + 3600000), BigInteger.TEN));
+        X509CRL expiredCrl = cache.getCrl(createCrl(new Date(System.currentTimeMillis() - 1000), BigInteger.TEN));
+        cache.putCrl("http://localhost/valid.crl", validCrl);
+        cache.putCrl("http://localhost/expired.crl", expiredCrl);
+        Assert.assertSame(validCrl, cache.getCrl("http://localhost/valid.crl"));
+        Assert.assertNull(cache.getCrl("http://localhost/expired.crl"));
+        Assert.assertNull(cache.getCrl("http://localhost/unknown.crl"));
+    }
+
+    @Test
+    public void crlVerifierWithCacheTest() throws GeneralSecurityException, OperatorCreationException, IOException {
+        RevocationCache cache = new RevocationCache();
+        X509CRL crl = cache.getCrl(createCrl(new Date(System.currentTimeMillis() + 3600000), cert.getSerialNumber()));
+        CRLVerifier verifier = new CRLVerifier(null, null);
+        verifier.setRevocationCache(cache);
+        try {
+            verifier.verify(crl, cert, cert, new Date(System.currentTimeMillis() - 1000));
+            Assert.fail("The certificate is revoked");
+        } catch (VerificationException expected) {
+        }
+    }
+
+    @Test
+    public void revocationDataPerChainTest() throws GeneralSecurityException, OperatorCreationException, IOException {
+        final byte[] encoded = createCrl(new Date(System.currentTimeMillis() + 3600000), BigInteger.TEN);
+        final int[] fetches = new int[1];
+        ICrlClient crlClient = new ICrlClient() {
+            @Override
+            public Collection<byte[]> getEncoded(X509Certificate checkCert, String url) {
+                fetches[0]++;
+                return Collections.singletonList(encoded);
+            }
+        };
+        Certificate[] chain = {cert};
+        RevocationCache cache = new RevocationCache();
+
+        RevocationCache.RevocationData data = cache.getRevocationData(chain, Collections.singletonList(crlClient), null);
+        Assert.assertSame(encoded, data.getCrls().iterator().next());
+        Assert.assertNull(data.getOcspResponse());
+        Assert.assertSame(data, cache.getRevocationData(chain, Collections.singletonList(crlClient), null));
+        Assert.assertEquals(1, fetches[0]);
+
+        cache.invalidateRevocationData(chain);
+        Assert.assertNotSame(data, cache.getRevocationData(chain, Collections.singletonList(crlClient), null));
+        Assert.assertEquals(2, fetches[0]);
+
+        cache.setRevocationDataTimeToLive(0);
+        cache.getRevocationData(chain, Collections.singletonList(crlClient), null);
+        Assert.assertEquals(3, fetches[0]);
+    }
+
+    private byte[] createCrl(Date nextUpdate, BigInteger revokedSerialNumber) throws OperatorCreationException, IOException {
+        X500Name issuer = X500Name.getInstance(cert.getIssuerX500Principal().getEncoded());
+        Date thisUpdate = new Date(System.currentTimeMillis() - 3600000);
+        X509v2CRLBuilder crlBuilder = new X509v2CRLBuilder(issuer, thisUpdate);
+        crlBuilder.setNextUpdate(nextUpdate);
+        crlBuilder.addCRLEntry(revokedSerialNumber, thisUpdate, CRLReason.keyCompromise);
+        return crlBuilder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(provider).build(pk)).getEncoded();
+    }
+}
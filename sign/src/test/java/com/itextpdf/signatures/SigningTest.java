@@ -1,6 +1,7 @@
 package com.itextpdf.signatures;
 
 import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.annotations.type.IntegrationTest;
@@ -9,6 +10,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -118,6 +122,62 @@ public class SigningTest {
                 PdfSigner.CryptoStandard.CADES, "Test 1", "TestCity", null, true);
     }
 
+    @Test
+    public void signingToFileChannelTest() throws GeneralSecurityException, IOException {
+        String src = sourceFolder + "simpleDocument.pdf";
+        String fileName = "simpleSignatureFileChannel.pdf";
+        String dest = destinationFolder + fileName;
+
+        FileChannel channel = FileChannel.open(Paths.get(dest), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PdfSigner signer = new PdfSigner(new PdfReader(src), channel, false);
+        signer.getSignatureAppearance()
+                .setReason("Test 1")
+                .setLocation("TestCity")
+                .setPageRect(new Rectangle(36, 648, 200, 100));
+        signer.setFieldName("Signature1");
+        IExternalSignature pks = new PrivateKeySignature(pk, DigestAlgorithms.SHA256, provider.getName());
+        signer.signDetached(new BouncyCastleDigest(), pks, chain, null, null, null, 0, PdfSigner.CryptoStandard.CADES);
+        Assert.assertFalse(channel.isOpen());
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(dest));
+        SignatureUtil signatureUtil = new SignatureUtil(pdfDocument);
+        Assert.assertTrue(signatureUtil.signatureCoversWholeDocument("Signature1"));
+        Assert.assertTrue(signatureUtil.verifySignature("Signature1", provider.getName()).verify());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void signingToFileChannelWithTrailingBytesTest() throws GeneralSecurityException, IOException {
+        String src = sourceFolder + "simpleDocument.pdf";
+        String dest = destinationFolder + "simpleSignatureFileChannelTrailingBytes.pdf";
+
+        byte[] junk = new byte[(int) new File(src).length() + 100000];
+        Arrays.fill(junk, (byte) 'x');
+        FileOutputStream junkStream = new FileOutputStream(dest);
+        junkStream.write(junk);
+        junkStream.close();
+
+        FileChannel channel = FileChannel.open(Paths.get(dest), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PdfSigner signer = new PdfSigner(new PdfReader(src), channel, false);
+        signer.setFieldName("Signature1");
+        IExternalSignature pks = new PrivateKeySignature(pk, DigestAlgorithms.SHA256, provider.getName());
+        signer.signDetached(new BouncyCastleDigest(), pks, chain, null, null, null, 0, PdfSigner.CryptoStandard.CADES);
+        long[] range = signer.range;
+        long documentLength = range[range.length - 2] + range[range.length - 1];
+        Assert.assertTrue(documentLength < junk.length);
+
+        channel = FileChannel.open(Paths.get(dest), StandardOpenOption.WRITE);
+        channel.truncate(documentLength);
+        channel.close();
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(dest));
+        SignatureUtil signatureUtil = new SignatureUtil(pdfDocument);
+        Assert.assertTrue(signatureUtil.signatureCoversWholeDocument("Signature1"));
+        Assert.assertTrue(signatureUtil.verifySignature("Signature1", provider.getName()).verify());
+        pdfDocument.close();
+    }
+
     protected void sign(String src, String name, String dest,
                      Certificate[] chain, PrivateKey pk,
                      String digestAlgorithm, String provider, PdfSigner.CryptoStandard subfilter,